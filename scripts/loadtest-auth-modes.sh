@@ -0,0 +1,23 @@
+#!/usr/bin/env bash
+# 인증 방식별 부하 테스트 (app.security.auth-mode=session / token)
+#
+#   scripts/loadtest-auth-modes.sh [세션 저장소=redis] [동시 사용자=32] [측정 시간(초)=60]
+#
+# 같은 조건으로 두 방식을 차례로 실행하고 결과를 target/loadtest/auth-<방식>.json 에 남긴다.
+# 세션 저장소가 redis 면 spring.data.redis.* (기본 localhost:6379) 의 Redis 가 떠 있어야 한다.
+# 결과 JSON 의 비교 항목은 docs/auth-mode-loadtest.md 참고
+set -euo pipefail
+
+store="${1:-redis}"
+users="${2:-32}"
+duration="${3:-60}"
+
+for mode in session token; do
+  echo "== auth-mode=${mode}, session-store=${store}, users=${users}, duration=${duration}s" >&2
+  mvn -B -q -Ploadtest verify -DskipTests \
+    -Dloadtest.session-store="$store" \
+    -Dloadtest.auth-mode="$mode" \
+    -Dloadtest.users="$users" \
+    -Dloadtest.duration-seconds="$duration" \
+    -Dloadtest.output="target/loadtest/auth-${mode}.json"
+done
@@ -0,0 +1,50 @@
+#!/usr/bin/env bash
+# 동시 세션 제어 레지스트리별 Redis 명령 수 비교 (app.session.registry.cache.enabled=true / false)
+#
+#   scripts/loadtest-commandstats.sh [동시 사용자=32] [측정 시간(초)=60]
+#   REDIS_CLI="redis-cli -h 10.0.0.5" scripts/loadtest-commandstats.sh
+#
+# 레지스트리마다 부하 테스트(-Ploadtest, 세션 저장소 redis) 전후로 INFO commandstats 를 받아
+# 명령별 호출 수 / 시간(usec) 차이를 target/loadtest/commandstats-cache-<true|false>.txt 에 남긴다.
+# 같은 Redis 를 다른 곳에서 쓰고 있으면 그 명령도 섞이므로 전용 Redis 로 실행한다.
+set -euo pipefail
+
+users="${1:-32}"
+duration="${2:-60}"
+redis_cli="${REDIS_CLI:-redis-cli}"
+mkdir -p target/loadtest
+
+commandstats() {
+  $redis_cli INFO commandstats | tr -d '\r' | grep '^cmdstat_'
+}
+
+# 전후 스냅샷 → "명령 호출수 usec" (호출수 많은 순)
+diff_commandstats() {
+  awk -F'[:,=]' '
+    NR == FNR { calls[$1] = $3; usec[$1] = $5; next }
+    { d = $3 - calls[$1]; if (d > 0) printf "%-28s %10d %14d\n", substr($1, 9), d, $5 - usec[$1] }
+  ' "$1" "$2" | sort -k2,2nr
+}
+
+for cache in true false; do
+  echo "== app.session.registry.cache.enabled=${cache}, users=${users}, duration=${duration}s" >&2
+  before=$(mktemp)
+  after=$(mktemp)
+  commandstats > "$before"
+
+  mvn -B -q -Ploadtest verify -DskipTests \
+    -Dloadtest.session-store=redis \
+    -Dloadtest.users="$users" \
+    -Dloadtest.duration-seconds="$duration" \
+    -Dloadtest.output="target/loadtest/registry-cache-${cache}.json" \
+    -Dexec.args="--app.session.registry.cache.enabled=${cache}"
+
+  commandstats > "$after"
+  output="target/loadtest/commandstats-cache-${cache}.txt"
+  {
+    printf "%-28s %10s %14s\n" command calls usec
+    diff_commandstats "$before" "$after"
+  } > "$output"
+  rm -f "$before" "$after"
+  cat "$output"
+done
@@ -0,0 +1,66 @@
+#!/usr/bin/env bash
+# 컨테이너 시작 시간 / 첫 요청까지 걸린 시간 측정
+#
+#   scripts/measure-startup.sh <이미지> [반복 횟수=5]
+#   CPUS=1 scripts/measure-startup.sh springmvc:cds      (CPU 제한, 기본 2)
+#
+# - startup: 로그의 "Started SpringmvcApplication in X seconds" (JVM 시작 ~ 컨텍스트 준비 완료)
+# - first-request: docker run 직후부터 GET /login 이 처음 200 을 돌려줄 때까지 (컨테이너 생성 포함)
+# 세 이미지를 같은 조건으로 비교하기 위해 Redis 컨테이너를 함께 띄워 기본 세션 저장소(redis)로 실행한다.
+# (AOT 이미지는 app.session.store=redis 로 고정되어 memory 로 바꿀 수 없다)
+# 마지막 줄은 docs/container-startup.md 결과 표의 한 행 형식 (| 이미지 | startup | first-request |)
+set -euo pipefail
+
+image="${1:?이미지 이름을 지정하세요}"
+runs="${2:-5}"
+cpus="${CPUS:-2}"
+port=18080
+timeout_seconds=120
+network=springmvc-startup
+redis=springmvc-startup-redis
+
+now_millis() {
+  date +%s%3N
+}
+
+cleanup() {
+  docker rm -f "$redis" > /dev/null 2>&1 || true
+  docker network rm "$network" > /dev/null 2>&1 || true
+}
+trap cleanup EXIT
+
+docker network create "$network" > /dev/null 2>&1 || true
+docker run -d --rm --name "$redis" --network "$network" redis:7-alpine > /dev/null
+until docker exec "$redis" redis-cli ping > /dev/null 2>&1; do
+  sleep 0.1
+done
+
+total_startup=0
+total_first=0
+for i in $(seq 1 "$runs"); do
+  docker exec "$redis" redis-cli flushall > /dev/null
+
+  start=$(now_millis)
+  container=$(docker run -d --rm --network "$network" --cpus "$cpus" -p "${port}:8080" \
+    -e SPRING_DATA_REDIS_HOST="$redis" "$image")
+  deadline=$(( start + timeout_seconds * 1000 ))
+  until [ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:${port}/login")" = "200" ]; do
+    if [ "$(now_millis)" -gt "$deadline" ] || ! docker inspect "$container" > /dev/null 2>&1; then
+      echo "run ${i}: ${timeout_seconds}s 안에 /login 이 200 을 돌려주지 않음" >&2
+      docker logs "$container" 2>&1 | tail -20 >&2 || true
+      docker rm -f "$container" > /dev/null 2>&1 || true
+      exit 1
+    fi
+    sleep 0.05
+  done
+  first=$(( $(now_millis) - start ))
+  startup=$(docker logs "$container" 2>&1 | sed -n 's/.*Started SpringmvcApplication in \([0-9.]*\) seconds.*/\1/p' | head -1)
+  startup_millis=$(awk -v s="$startup" 'BEGIN { printf "%d", s * 1000 }')
+  docker stop "$container" > /dev/null
+
+  echo "run ${i}: startup=${startup_millis}ms first-request=${first}ms" >&2
+  total_startup=$(( total_startup + startup_millis ))
+  total_first=$(( total_first + first ))
+done
+
+echo "| ${image} | $(( total_startup / runs )) ms | $(( total_first / runs )) ms |"
@@ -0,0 +1,27 @@
+package com.example.springmvc.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 동시 접근 중 실패 횟수 (결과표에 보조 지표로 함께 출력됨)
+ *
+ * 읽기(복사 / 순회)와 쓰기가 겹칠 때 ConcurrentModificationException 이 나면 벤치마크가 중단되지 않도록 잡아서 센다.
+ * - MemberRepository: 동기화 없는 HashMap → 경합 벤치마크에서 0 보다 클 수 있다
+ * - ItemRepository: ConcurrentHashMap + 상품 단위 복사 후 교체(재고 예약 도입 이후)
+ *   → 순회 중 쓰기가 있어도 예외가 나지 않으므로 항상 0 이어야 한다 (0 이 아니면 회귀)
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class ContentionCounters {
+
+    public long concurrentModifications;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        concurrentModifications = 0;
+    }
+}
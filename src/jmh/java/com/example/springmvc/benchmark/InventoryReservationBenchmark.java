@@ -0,0 +1,90 @@
+package com.example.springmvc.benchmark;
+
+import com.example.springmvc.domain.item.InventoryReservations;
+import com.example.springmvc.domain.item.Item;
+import com.example.springmvc.domain.item.ItemChangeLog;
+import com.example.springmvc.domain.item.ItemRepository;
+import com.example.springmvc.domain.item.Reservation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 인기 상품 하나(hot SKU)에 예약이 몰릴 때의 처리량
+ *
+ * - reserveRelease: InventoryReservations (CAS 카운터) 로 1개 예약 후 바로 해제
+ * - lockedReserveRelease: 같은 일을 상품 단위 락(synchronized)으로 할 때 (비교 기준)
+ * 스레드 수별로 비교한다: mvn -Pbenchmark verify -Djmh.args="InventoryReservationBenchmark -t 1,2,4,8"
+ * (-t 는 아래 @Threads 값을 덮어쓴다)
+ *
+ * 수량이 충분히 크므로 예약은 실패하지 않는다 → 순수한 차감 / 복구 경합만 잰다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Threads(4)
+@State(Scope.Benchmark)
+public class InventoryReservationBenchmark {
+
+    private static final int HOT_STOCK = 1_000_000_000;
+
+    private ItemRepository repository;
+    private InventoryReservations reservations;
+    private Long hotItemId;
+
+    private final Object lock = new Object();
+    private int lockedAvailable;
+    private int lockedReserved;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = new ItemRepository(event -> { }, new SimpleMeterRegistry(), new ItemChangeLog(1024));
+        repository.clearStore();
+        hotItemId = repository.save(new Item("hot-item", 10000, HOT_STOCK)).getId();
+        reservations = new InventoryReservations(repository, 600, 3600, 500);
+        lockedAvailable = HOT_STOCK;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        reservations.destroy();
+        repository.clearStore();
+    }
+
+    @Benchmark
+    public boolean reserveRelease() {
+        Reservation reservation = reservations.reserve(hotItemId, 1, null);
+        return reservation != null && reservations.release(reservation.getId());
+    }
+
+    @Benchmark
+    public boolean lockedReserveRelease() {
+        synchronized (lock) {
+            if (lockedAvailable < 1) {
+                return false;
+            }
+            lockedAvailable--;
+            lockedReserved++;
+        }
+        synchronized (lock) {
+            lockedReserved--;
+            lockedAvailable++;
+        }
+        return true;
+    }
+}
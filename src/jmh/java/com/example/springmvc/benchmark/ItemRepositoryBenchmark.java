@@ -0,0 +1,148 @@
+package com.example.springmvc.benchmark;
+
+import com.example.springmvc.domain.item.Item;
+import com.example.springmvc.domain.item.ItemChangeLog;
+import com.example.springmvc.domain.item.ItemRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ItemRepository 벤치마크
+ *
+ * - 읽기: findById, findAll (전체 복사 비용 → storeSize 에 비례)
+ * - 쓰기: save (배치 단위 SingleShot), update
+ * - 혼합(mixed): findById 3 : findAll 1 : update 1 스레드
+ * - 경합(contention): findAll 과 save 가 동시에 → ContentionCounters 로 실패 횟수 확인
+ *
+ * 스레드 수는 -t 옵션으로 바꿔 가며 실행한다 (그룹 벤치마크는 @GroupThreads 비율 유지).
+ * 저장소가 static 이므로 Trial / Iteration 시작마다 비우고 storeSize 만큼 다시 채운다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class ItemRepositoryBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int storeSize;
+
+    private ItemRepository repository;
+    private long firstId;
+    private Item updateParam;
+
+    @Setup(Level.Trial)
+    public void createRepository() {
+        repository = new ItemRepository(event -> { }, new SimpleMeterRegistry(), new ItemChangeLog(1024));
+        updateParam = newItem(-1);
+    }
+
+    @Setup(Level.Iteration)
+    public void fillStore() {
+        repository.clearStore();
+        firstId = repository.save(newItem(0)).getId();
+        for (int i = 1; i < storeSize; i++) {
+            repository.save(newItem(i));
+        }
+    }
+
+    @Benchmark
+    public Item findById() {
+        return repository.findById(randomId());
+    }
+
+    @Benchmark
+    public List<Item> findAll() {
+        return repository.findAll();
+    }
+
+    @Benchmark
+    public void update() {
+        repository.update(randomId(), updateParam, null);
+    }
+
+    /**
+     * 저장소가 계속 커지지 않도록 정해진 건수(batchSize)만 저장하고 그 시간을 잰다
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 5, batchSize = 10_000)
+    @Measurement(iterations = 20, batchSize = 10_000)
+    public Item save() {
+        return repository.save(newItem(0));
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public Item mixedFindById() {
+        return repository.findById(randomId());
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public List<Item> mixedFindAll() {
+        return repository.findAll();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public void mixedUpdate() {
+        repository.update(randomId(), updateParam, null);
+    }
+
+    @Benchmark
+    @Group("contention")
+    @GroupThreads(2)
+    @Measurement(iterations = 5, time = 1)
+    public List<Item> contentionFindAll(ContentionCounters counters) {
+        try {
+            return repository.findAll();
+        } catch (ConcurrentModificationException e) {
+            counters.concurrentModifications++;
+            return null;
+        }
+    }
+
+    @Benchmark
+    @Group("contention")
+    @GroupThreads(1)
+    @Measurement(iterations = 5, time = 1)
+    public Item contentionSave() {
+        return repository.save(newItem(0));
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(firstId, firstId + storeSize);
+    }
+
+    private static Item newItem(int index) {
+        Item item = new Item("item-" + index, 10000, 10);
+        item.setOpen(true);
+        item.setRegions(List.of("SEOUL"));
+        item.setDeliveryCode("FAST");
+        return item;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.springmvc.benchmark;
+
+import com.example.springmvc.domain.member.Member;
+import com.example.springmvc.domain.member.MemberRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ConcurrentModificationException;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MemberRepository 벤치마크
+ *
+ * - findByLoginId: 전체 회원을 순회하는 선형 탐색 → storeSize 에 비례 (로그인 / 가입 경로)
+ *   - hit: 존재하는 loginId, miss: 없는 loginId (항상 끝까지 순회)
+ * - findById: 키 조회 (비교 기준)
+ * - save: 배치 단위 SingleShot
+ * - 경합(contention): 로그인 조회와 가입이 동시에 → ContentionCounters 로 실패 횟수 확인
+ *
+ * 이벤트 발행(MemberChangedEvent)은 빈 발행기로 바꿔 저장소 자체 비용만 잰다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class MemberRepositoryBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int storeSize;
+
+    private MemberRepository repository;
+    private long firstId;
+
+    @Setup(Level.Trial)
+    public void createRepository() {
+        repository = new MemberRepository(event -> { }, new SimpleMeterRegistry());
+    }
+
+    @Setup(Level.Iteration)
+    public void fillStore() {
+        repository.clearStore();
+        firstId = repository.save(newMember(0)).getId();
+        for (int i = 1; i < storeSize; i++) {
+            repository.save(newMember(i));
+        }
+    }
+
+    @Benchmark
+    public Optional<Member> findByLoginIdHit() {
+        return repository.findByLoginId("member-" + ThreadLocalRandom.current().nextInt(storeSize));
+    }
+
+    @Benchmark
+    public Optional<Member> findByLoginIdMiss() {
+        return repository.findByLoginId("unknown-" + ThreadLocalRandom.current().nextInt(storeSize));
+    }
+
+    @Benchmark
+    public Member findById() {
+        return repository.findById(ThreadLocalRandom.current().nextLong(firstId, firstId + storeSize));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 5, batchSize = 10_000)
+    @Measurement(iterations = 20, batchSize = 10_000)
+    public Member save() {
+        return repository.save(newMember(ThreadLocalRandom.current().nextInt()));
+    }
+
+    @Benchmark
+    @Group("contention")
+    @GroupThreads(3)
+    @Measurement(iterations = 5, time = 1)
+    public Optional<Member> contentionFindByLoginId(ContentionCounters counters) {
+        try {
+            return repository.findByLoginId("member-" + ThreadLocalRandom.current().nextInt(storeSize));
+        } catch (ConcurrentModificationException e) {
+            counters.concurrentModifications++;
+            return Optional.empty();
+        }
+    }
+
+    @Benchmark
+    @Group("contention")
+    @GroupThreads(1)
+    @Measurement(iterations = 5, time = 1)
+    public Member contentionSave() {
+        return repository.save(newMember(ThreadLocalRandom.current().nextInt()));
+    }
+
+    private static Member newMember(int index) {
+        Member member = new Member();
+        member.setLoginId("member-" + index);
+        member.setName("회원" + index);
+        member.setPassword("{bcrypt}$2a$10$abcdefghijklmnopqrstuv");
+        return member;
+    }
+}
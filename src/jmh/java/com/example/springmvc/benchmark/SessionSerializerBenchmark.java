@@ -0,0 +1,91 @@
+package com.example.springmvc.benchmark;
+
+import com.example.springmvc.domain.member.Member;
+import com.example.springmvc.security.CustomUserDetails;
+import com.example.springmvc.session.CompactSessionRedisSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import org.springframework.security.web.csrf.DefaultCsrfToken;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 세션 속성 직렬화기 벤치마크 (app.session.serializer=compact / jdk)
+ *
+ * - 로그인 세션에 실제로 들어가는 속성 세 가지: SecurityContext, CSRF 토큰, 접근 시각(Long)
+ * - serialize / deserialize: 속성 하나를 쓰고 읽는 비용 (요청마다 바뀐 속성만 Redis 에 쓴다)
+ * - 크기: 트라이얼 시작 시 serialize 결과 바이트 수를 출력한다 (값이 고정이므로 한 번이면 충분)
+ *
+ * jdk 도 CompactSessionRedisSerializer(writeCompact=false) 로 만든다 → 운영의 jdk 모드와 같은 경로
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class SessionSerializerBenchmark {
+
+    @Param({"compact", "jdk"})
+    public String serializer;
+
+    @Param({"securityContext", "csrfToken", "long"})
+    public String attribute;
+
+    private RedisSerializer<Object> redisSerializer;
+    private Object value;
+    private byte[] serialized;
+
+    @Setup(Level.Trial)
+    public void createSerializer() {
+        redisSerializer = new CompactSessionRedisSerializer(new JdkSerializationRedisSerializer(),
+                "compact".equals(serializer));
+        value = switch (attribute) {
+            case "securityContext" -> securityContext();
+            case "csrfToken" -> new DefaultCsrfToken("X-CSRF-TOKEN", "_csrf", UUID.randomUUID().toString());
+            default -> System.currentTimeMillis();
+        };
+        serialized = redisSerializer.serialize(value);
+        System.out.printf("%n[size] serializer=%s, attribute=%s → %d bytes%n", serializer, attribute, serialized.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return redisSerializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return redisSerializer.deserialize(serialized);
+    }
+
+    private static SecurityContextImpl securityContext() {
+        Member member = new Member();
+        member.setId(1L);
+        member.setLoginId("test");
+        member.setName("테스터");
+        member.setPassword("{bcrypt}$2a$10$abcdefghijklmnopqrstuv");
+        CustomUserDetails principal = new CustomUserDetails(member);
+
+        UsernamePasswordAuthenticationToken authentication =
+                UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities());
+        authentication.setDetails(new WebAuthenticationDetails("127.0.0.1", UUID.randomUUID().toString()));
+        return new SecurityContextImpl(authentication);
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.springmvc.benchmark;
+
+import com.example.springmvc.session.CompactSessionRedisSerializer;
+import com.example.springmvc.session.ShardedMapSessionRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.Session;
+import org.springframework.session.data.redis.RedisIndexedSessionRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 세션 저장소 벤치마크 (app.session.store=memory / redis)
+ *
+ * - findById: 세션 조회 (요청마다)
+ * - touch: 조회 + 접근시간 갱신 + 저장 (속성 변경 없는 일반 요청)
+ * - updateAttribute: 조회 + 속성 하나 변경 + 저장 (장바구니 등)
+ * - 저장소 앞의 L1 캐시(NearCacheSessionRepository) 없이 저장소 자체 비용만 잰다
+ *
+ * store=redis 는 실제 Redis 가 필요하다 (-p redis=host:port, 기본 localhost:6379).
+ * 연결할 수 없으면 그 조합만 실패로 끝난다 → Redis 없이 돌릴 때는 -p store=memory
+ *   mvn -Pbenchmark verify -Djmh.args="SessionStoreBenchmark -t 4 -p redis=localhost:6379"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class SessionStoreBenchmark {
+
+    private static final String NAMESPACE = "springmvc:benchmark";
+
+    @Param({"memory", "redis"})
+    public String store;
+
+    @Param({"10000"})
+    public int sessionCount;
+
+    @Param({"localhost:6379"})
+    public String redis;
+
+    private LettuceConnectionFactory connectionFactory;
+    private FindByIndexNameSessionRepository<? extends Session> repository;
+    private String[] sessionIds;
+
+    @Setup(Level.Trial)
+    public void createSessions() {
+        repository = "redis".equals(store) ? redisRepository() : new ShardedMapSessionRepository(
+                event -> { }, Duration.ofMinutes(30), 16, Duration.ofSeconds(1));
+        sessionIds = new String[sessionCount];
+        for (int i = 0; i < sessionCount; i++) {
+            sessionIds[i] = create(repository, "member-" + i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteSessions() throws Exception {
+        for (String id : sessionIds) {
+            if (id != null) {
+                repository.deleteById(id);
+            }
+        }
+        if (repository instanceof ShardedMapSessionRepository memory) {
+            memory.destroy();
+        }
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+    }
+
+    @Benchmark
+    public Session findById() {
+        return repository.findById(randomId());
+    }
+
+    @Benchmark
+    public Session touch() {
+        return touch(repository, randomId());
+    }
+
+    @Benchmark
+    public Session updateAttribute() {
+        return updateAttribute(repository, randomId());
+    }
+
+    private String randomId() {
+        return sessionIds[ThreadLocalRandom.current().nextInt(sessionCount)];
+    }
+
+    private static <S extends Session> String create(FindByIndexNameSessionRepository<S> repository, String loginId) {
+        S session = repository.createSession();
+        session.setAttribute(FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME, loginId);
+        session.setAttribute("cart", 0);
+        repository.save(session);
+        return session.getId();
+    }
+
+    private static <S extends Session> S touch(FindByIndexNameSessionRepository<S> repository, String id) {
+        S session = repository.findById(id);
+        session.setLastAccessedTime(Instant.now());
+        repository.save(session);
+        return session;
+    }
+
+    private static <S extends Session> S updateAttribute(FindByIndexNameSessionRepository<S> repository, String id) {
+        S session = repository.findById(id);
+        session.setLastAccessedTime(Instant.now());
+        session.setAttribute("cart", ThreadLocalRandom.current().nextInt());
+        repository.save(session);
+        return session;
+    }
+
+    /**
+     * 운영과 같은 구성 - RedisIndexedSessionRepository + CompactSessionRedisSerializer
+     */
+    private RedisIndexedSessionRepository redisRepository() {
+        int separator = redis.lastIndexOf(':');
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(
+                redis.substring(0, separator), Integer.parseInt(redis.substring(separator + 1))));
+        connectionFactory.afterPropertiesSet();
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.ping();
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Redis 에 연결할 수 없습니다 (" + redis + ") - -p store=memory 로 실행하세요", e);
+        }
+
+        RedisSerializer<Object> serializer = new CompactSessionRedisSerializer(new JdkSerializationRedisSerializer());
+        RedisTemplate<String, Object> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setHashKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(serializer);
+        template.setHashValueSerializer(serializer);
+        template.afterPropertiesSet();
+
+        RedisIndexedSessionRepository sessionRepository = new RedisIndexedSessionRepository(template);
+        sessionRepository.setRedisKeyNamespace(NAMESPACE);
+        sessionRepository.setDefaultMaxInactiveInterval(Duration.ofMinutes(30));
+        sessionRepository.setDefaultSerializer(serializer);
+        return sessionRepository;
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.springmvc.loadtest;
+
+import com.example.springmvc.SpringmvcApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자 여정 부하 테스트
+ *
+ * [실행]
+ * mvn -Ploadtest verify -Dloadtest.users=32 -Dloadtest.duration-seconds=60
+ * mvn -Ploadtest verify -Dloadtest.session-store=redis -Dloadtest.auth-mode=token
+ * (그 밖의 애플리케이션 설정 변경: -Dexec.args="--app.security.bcrypt.cost=10")
+ *
+ * [동작]
+ * - loadtest.base-url 이 없으면 애플리케이션을 같은 JVM 에 임의 포트로 띄운다.
+ *   세션 저장소 / 인증 방식은 loadtest.session-store / loadtest.auth-mode 로 고른다 (기본: 내장 저장소, 세션 인증).
+ *   로그인 시도 제한은 끈다 (같은 IP 에서 많은 로그인이 일어나므로).
+ * - 시작 전에 고정 크기 카탈로그(loadtest.catalog-size 건)를 등록한다. 여정 중 등록한 상품은 바로 삭제하므로
+ *   목록 / findAll 비용이 실행 시간이나 사용자 수에 따라 달라지지 않는다.
+ * - 가상 사용자마다 쿠키 / CSRF 토큰을 따로 가진 클라이언트로 여정을 반복한다.
+ *   단계 하나 = HTTP 요청 하나 (리다이렉트는 따라가지 않는다, Step 참고)
+ * - 워밍업 이후 구간만 기록해 단계별 처리량, p50 / p99 / p999 / max(ms)를 JSON 으로 남긴다.
+ *
+ * [설정] (시스템 프로퍼티)
+ * - loadtest.users: 동시 사용자 수 (기본 16)
+ * - loadtest.catalog-size: 시작 전에 등록할 상품 수 (기본 100)
+ * - loadtest.warmup-seconds / loadtest.duration-seconds: 워밍업 / 측정 시간 (기본 10 / 60)
+ * - loadtest.relogin-every: 몇 회 반복마다 다시 로그인할지 (기본 10, 0이면 처음 한 번만)
+ * - loadtest.signup-every: 몇 회 반복마다 새 계정으로 가입할지 (기본 50, 0이면 처음 한 번만)
+ * - loadtest.session-store: app.session.store 값 (기본 memory, redis 는 spring.data.redis.* 의 Redis 필요)
+ * - loadtest.auth-mode: app.security.auth-mode 값 (기본 session, token 이면 서명 쿠키 인증)
+ * - loadtest.output: 결과 파일 (기본 target/loadtest/report.json)
+ * - loadtest.base-url: 이미 떠 있는 서버를 대상으로 할 때 (예: http://127.0.0.1:8080)
+ */
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("loadtest.users", 16);
+        int catalogSize = Integer.getInteger("loadtest.catalog-size", 100);
+        int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 10);
+        int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 60);
+        int reloginEvery = Integer.getInteger("loadtest.relogin-every", 10);
+        int signUpEvery = Integer.getInteger("loadtest.signup-every", 50);
+        Path output = Path.of(System.getProperty("loadtest.output", "target/loadtest/report.json"));
+        String baseUrl = System.getProperty("loadtest.base-url");
+        String sessionStore = System.getProperty("loadtest.session-store", "memory");
+        String authMode = System.getProperty("loadtest.auth-mode", "session");
+
+        ConfigurableApplicationContext context = null;
+        if (baseUrl == null) {
+            context = startApplication(args, sessionStore, authMode);
+            baseUrl = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+        }
+
+        try {
+            URI baseUri = URI.create(baseUrl);
+            String runId = Long.toString(System.currentTimeMillis(), 36);
+            long[] catalogIds = VirtualUser.seedCatalog(baseUri, "lt" + runId + "seed", catalogSize);
+            long start = System.nanoTime();
+            long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+            long stopAt = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+            List<VirtualUser> virtualUsers = new ArrayList<>(users);
+            List<Thread> threads = new ArrayList<>(users);
+            for (int i = 0; i < users; i++) {
+                VirtualUser user = new VirtualUser(baseUri, "lt" + runId + "u" + i, catalogIds, reloginEvery,
+                        signUpEvery, measureFrom, stopAt);
+                virtualUsers.add(user);
+                Thread thread = new Thread(user, "load-user-" + i);
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            List<StepRecorder> recorders = new ArrayList<>(users);
+            virtualUsers.forEach(user -> recorders.add(user.recorder()));
+            Map<Step, StepRecorder.StepStats> stats = StepRecorder.merge(recorders, durationSeconds);
+
+            writeReport(output, baseUrl, users, warmupSeconds, durationSeconds, args, stats);
+            printSummary(stats);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(String[] args, String sessionStore,
+                                                                   String authMode) {
+        return new SpringApplicationBuilder(SpringmvcApplication.class)
+                .properties(
+                        "server.port=0",
+                        "management.server.port=0",
+                        "app.session.store=" + sessionStore,
+                        "app.security.auth-mode=" + authMode,
+                        "app.security.login-rate-limit.enabled=false",
+                        "logging.level.com.example.springmvc=WARN")
+                .run(args);
+    }
+
+    private static void writeReport(Path output, String baseUrl, int users, int warmupSeconds, int durationSeconds,
+                                     String[] args, Map<Step, StepRecorder.StepStats> stats) throws IOException {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("baseUrl", baseUrl);
+        config.put("sessionStore", System.getProperty("loadtest.session-store", "memory"));
+        config.put("authMode", System.getProperty("loadtest.auth-mode", "session"));
+        config.put("users", users);
+        config.put("catalogSize", Integer.getInteger("loadtest.catalog-size", 100));
+        config.put("warmupSeconds", warmupSeconds);
+        config.put("durationSeconds", durationSeconds);
+        config.put("reloginEvery", Integer.getInteger("loadtest.relogin-every", 10));
+        config.put("signUpEvery", Integer.getInteger("loadtest.signup-every", 50));
+        config.put("applicationArgs", List.of(args));
+
+        Map<String, Object> steps = new LinkedHashMap<>();
+        stats.forEach((step, stat) -> {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("count", stat.count);
+            values.put("errors", stat.errors);
+            values.put("throughputPerSecond", stat.throughputPerSecond);
+            values.put("p50Millis", stat.p50);
+            values.put("p99Millis", stat.p99);
+            values.put("p999Millis", stat.p999);
+            values.put("maxMillis", stat.max);
+            steps.put(step.reportName(), values);
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("config", config);
+        report.put("steps", steps);
+
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), report);
+        System.out.println("부하 테스트 결과: " + output.toAbsolutePath());
+    }
+
+    private static void printSummary(Map<Step, StepRecorder.StepStats> stats) {
+        System.out.printf("%-15s %8s %7s %10s %9s %9s %9s%n", "step", "count", "errors", "req/s", "p50", "p99", "p999");
+        stats.forEach((step, stat) -> System.out.printf("%-15s %8d %7d %10.1f %9.2f %9.2f %9.2f%n",
+                step.reportName(), stat.count, stat.errors, stat.throughputPerSecond, stat.p50, stat.p99, stat.p999));
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.springmvc.loadtest;
+
+/**
+ * 측정 단위 (사용자 여정의 한 단계) - 단계 하나 = HTTP 요청 하나
+ * 리다이렉트는 따라가지 않는다 → POST 단계는 302 응답까지만 잰다 (다음 화면 조회는 별도 단계)
+ */
+enum Step {
+
+    SIGN_UP_FORM("signUpForm"),      // GET /members/add
+    SIGN_UP("signUp"),               // POST /members/add → 302 /home
+    LOGIN_FORM("loginForm"),         // GET /login
+    LOGIN("login"),                  // POST /login → 302 /home
+    BROWSE_ITEMS("browseItems"),     // GET /form/items (고정 크기 카탈로그)
+    ITEM_DETAIL("itemDetail"),       // GET /form/items/{id}
+    ADD_ITEM_FORM("addItemForm"),    // GET /form/items/add
+    ADD_ITEM("addItem"),             // POST /form/items/add → 302 /form/items/{id}
+    DELETE_ITEM("deleteItem"),       // POST /form/items/{id}/delete → 302 /form/items (방금 등록한 상품)
+    EDIT_ITEM_FORM("editItemForm"),  // GET /form/items/{id}/edit
+    EDIT_ITEM("editItem"),           // POST /form/items/{id}/edit → 302 /form/items/{id}
+    VALIDATION_API("validationApi"); // POST /validation/api/items/add (JSON, 저장하지 않음)
+
+    private final String reportName;
+
+    Step(String reportName) {
+        this.reportName = reportName;
+    }
+
+    String reportName() {
+        return reportName;
+    }
+}
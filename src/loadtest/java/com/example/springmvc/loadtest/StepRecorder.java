@@ -0,0 +1,90 @@
+package com.example.springmvc.loadtest;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 가상 사용자 한 명(스레드 하나)의 단계별 응답 시간 기록
+ * 스레드마다 따로 두고 끝난 뒤 합치므로 기록 중에는 동기화가 없다.
+ */
+final class StepRecorder {
+
+    private final Map<Step, long[]> latencies = new EnumMap<>(Step.class);
+    private final Map<Step, Integer> counts = new EnumMap<>(Step.class);
+    private final Map<Step, Integer> errors = new EnumMap<>(Step.class);
+
+    void record(Step step, long nanos) {
+        int count = counts.getOrDefault(step, 0);
+        long[] values = latencies.computeIfAbsent(step, key -> new long[1024]);
+        if (count == values.length) {
+            values = Arrays.copyOf(values, count * 2);
+            latencies.put(step, values);
+        }
+        values[count] = nanos;
+        counts.put(step, count + 1);
+    }
+
+    void error(Step step) {
+        errors.merge(step, 1, Integer::sum);
+    }
+
+    /**
+     * 여러 스레드의 기록을 합쳐 단계별 통계를 만든다
+     */
+    static Map<Step, StepStats> merge(Iterable<StepRecorder> recorders, double measuredSeconds) {
+        Map<Step, StepStats> result = new EnumMap<>(Step.class);
+        for (Step step : Step.values()) {
+            int total = 0;
+            int errorCount = 0;
+            for (StepRecorder recorder : recorders) {
+                total += recorder.counts.getOrDefault(step, 0);
+                errorCount += recorder.errors.getOrDefault(step, 0);
+            }
+            long[] merged = new long[total];
+            int position = 0;
+            for (StepRecorder recorder : recorders) {
+                int count = recorder.counts.getOrDefault(step, 0);
+                if (count > 0) {
+                    System.arraycopy(recorder.latencies.get(step), 0, merged, position, count);
+                    position += count;
+                }
+            }
+            Arrays.sort(merged);
+            result.put(step, new StepStats(merged, errorCount, measuredSeconds));
+        }
+        return result;
+    }
+
+    /**
+     * 단계별 통계 (시간 단위 ms)
+     */
+    static final class StepStats {
+
+        final int count;
+        final int errors;
+        final double throughputPerSecond;
+        final double p50;
+        final double p99;
+        final double p999;
+        final double max;
+
+        private StepStats(long[] sorted, int errors, double measuredSeconds) {
+            this.count = sorted.length;
+            this.errors = errors;
+            this.throughputPerSecond = measuredSeconds > 0 ? sorted.length / measuredSeconds : 0;
+            this.p50 = percentile(sorted, 0.50);
+            this.p99 = percentile(sorted, 0.99);
+            this.p999 = percentile(sorted, 0.999);
+            this.max = sorted.length > 0 ? sorted[sorted.length - 1] / 1_000_000.0 : 0;
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.springmvc.loadtest;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 가상 사용자 한 명의 여정
+ *
+ * 회원가입 → 로그인 → [상품 목록 → 상품 상세 → 상품 등록 → 등록한 상품 삭제 → 상품 수정 → 검증 API] 반복
+ * - reloginEvery 회마다 다시 로그인한다 (로그인 단계 표본 확보)
+ * - signUpEvery 회마다 새 계정으로 가입 후 그 계정으로 로그인한다 (가입 단계 표본 확보)
+ * 처음 가입 / 로그인은 대부분 워밍업 구간에 들어가 기록되지 않는다.
+ *
+ * [카탈로그 크기 고정]
+ * 목록 화면과 findAll 의 비용은 상품 수에 비례한다. 실행 시간 / 사용자 수에 따라 상품이 늘어나면 결과를 비교할 수 없으므로
+ * - 상세 / 수정은 시작 전에 만든 카탈로그(seedCatalog)의 상품을 고른다
+ * - 등록한 상품은 바로 삭제한다 → 카탈로그 크기는 "시작 크기 + 동시 사용자 수" 를 넘지 않는다
+ */
+final class VirtualUser implements Runnable {
+
+    private static final Pattern ITEM_PATH = Pattern.compile("/form/items/(\\d+)");
+
+    private final JourneyClient client;
+    private final StepRecorder recorder = new StepRecorder();
+    private final String loginIdPrefix;
+    private final String password = "load-test!";
+    private final long[] catalogIds;
+    private final int reloginEvery;
+    private final int signUpEvery;
+    private String loginId;
+    private int accounts;
+    private final long measureFromNanos;
+    private final long stopAtNanos;
+
+    VirtualUser(URI baseUri, String loginIdPrefix, long[] catalogIds, int reloginEvery, int signUpEvery,
+                long measureFromNanos, long stopAtNanos) {
+        this.client = new JourneyClient(baseUri);
+        this.loginIdPrefix = loginIdPrefix;
+        this.catalogIds = catalogIds;
+        this.reloginEvery = reloginEvery;
+        this.signUpEvery = signUpEvery;
+        this.measureFromNanos = measureFromNanos;
+        this.stopAtNanos = stopAtNanos;
+    }
+
+    /**
+     * 부하를 걸기 전에 고정 크기 카탈로그를 만든다 (전용 계정으로 가입 / 로그인 후 size 건 등록, 기록하지 않음)
+     * @return 등록한 상품 ID
+     */
+    static long[] seedCatalog(URI baseUri, String loginIdPrefix, int size) throws InterruptedException {
+        VirtualUser seeder = new VirtualUser(baseUri, loginIdPrefix, new long[0], 0, 0, Long.MAX_VALUE, Long.MAX_VALUE);
+        seeder.signUp();
+        seeder.login();
+        long[] itemIds = new long[size];
+        for (int i = 0; i < size; i++) {
+            Long itemId = seeder.addItem("catalog-" + i);
+            if (itemId == null) {
+                throw new IllegalStateException("카탈로그 상품 등록 실패 (" + i + "/" + size + ")");
+            }
+            itemIds[i] = itemId;
+        }
+        return itemIds;
+    }
+
+    StepRecorder recorder() {
+        return recorder;
+    }
+
+    @Override
+    public void run() {
+        try {
+            signUp();
+            login();
+
+            long iteration = 0;
+            while (System.nanoTime() < stopAtNanos && !Thread.currentThread().isInterrupted()) {
+                if (iteration > 0 && signUpEvery > 0 && iteration % signUpEvery == 0) {
+                    signUp();
+                    login();
+                } else if (iteration > 0 && reloginEvery > 0 && iteration % reloginEvery == 0) {
+                    login();
+                }
+                step(Step.BROWSE_ITEMS, () -> client.get("/form/items").statusCode() == 200);
+
+                String itemPath = "/form/items/" + catalogIds[ThreadLocalRandom.current().nextInt(catalogIds.length)];
+                step(Step.ITEM_DETAIL, () -> client.get(itemPath).statusCode() == 200);
+
+                Long addedId = addItem("load-" + loginId);
+                if (addedId != null) {
+                    step(Step.DELETE_ITEM, () -> "/form/items".equals(
+                            JourneyClient.redirectPath(client.postForm("/form/items/" + addedId + "/delete", Map.of()))));
+                }
+
+                step(Step.EDIT_ITEM_FORM, () -> client.get(itemPath + "/edit").statusCode() == 200);
+                step(Step.EDIT_ITEM, () -> itemPath.equals(JourneyClient.redirectPath(
+                        client.postForm(itemPath + "/edit", itemForm("edited-" + loginId, 20000, 5)))));
+
+                step(Step.VALIDATION_API, this::validationApi);
+                iteration++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void signUp() throws InterruptedException {
+        loginId = loginIdPrefix + "a" + accounts++;
+        step(Step.SIGN_UP_FORM, () -> client.get("/members/add").statusCode() == 200);
+        step(Step.SIGN_UP, () -> {
+            Map<String, String> form = new LinkedHashMap<>();
+            form.put("loginId", loginId);
+            form.put("name", loginId);
+            form.put("password", password);
+            return "/home".equals(JourneyClient.redirectPath(client.postForm("/members/add", form)));
+        });
+    }
+
+    private void login() throws InterruptedException {
+        step(Step.LOGIN_FORM, () -> client.get("/login").statusCode() == 200);
+        step(Step.LOGIN, () -> {
+            Map<String, String> form = new LinkedHashMap<>();
+            form.put("loginId", loginId);
+            form.put("password", password);
+            return "/home".equals(JourneyClient.redirectPath(client.postForm("/login", form)));
+        });
+    }
+
+    /**
+     * 등록 폼 조회 + 등록 (단계 두 개)
+     * @return 등록된 상품 ID, 실패하면 null
+     */
+    private Long addItem(String itemName) throws InterruptedException {
+        Long[] itemId = new Long[1];
+        step(Step.ADD_ITEM_FORM, () -> client.get("/form/items/add").statusCode() == 200);
+        step(Step.ADD_ITEM, () -> {
+            String path = JourneyClient.redirectPath(client.postForm("/form/items/add", itemForm(itemName, 10000, 10)));
+            Matcher matcher = ITEM_PATH.matcher(path != null ? path : "");
+            if (!matcher.matches()) {
+                return false;
+            }
+            itemId[0] = Long.valueOf(matcher.group(1));
+            return true;
+        });
+        return itemId[0];
+    }
+
+    private boolean validationApi() throws Exception {
+        String json = "{\"itemName\":\"api-" + loginId + "\",\"price\":10000,\"quantity\":10}";
+        return client.postJson("/validation/api/items/add", json).statusCode() == 200;
+    }
+
+    private static Map<String, String> itemForm(String itemName, int price, int quantity) {
+        Map<String, String> form = new LinkedHashMap<>();
+        form.put("itemName", itemName);
+        form.put("price", String.valueOf(price));
+        form.put("quantity", String.valueOf(quantity));
+        form.put("open", "true");
+        form.put("_open", "on");
+        form.put("regions", "SEOUL");
+        form.put("_regions", "on");
+        form.put("itemType", "BOOK");
+        form.put("deliveryCode", "FAST");
+        return form;
+    }
+
+    /**
+     * 한 단계 실행 + 기록 (워밍업 구간은 기록하지 않는다)
+     */
+    private void step(Step step, Action action) throws InterruptedException {
+        long start = System.nanoTime();
+        boolean success;
+        try {
+            success = action.run();
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            success = false;
+        }
+        long end = System.nanoTime();
+        if (start < measureFromNanos) {
+            return;
+        }
+        if (success) {
+            recorder.record(step, end - start);
+        } else {
+            recorder.error(step);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Action {
+        boolean run() throws Exception;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.springmvc.domain.item;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 일괄 변경 작업 하나의 진행 상황
+ * 작업 스레드(ForkJoinPool)들이 processed / updated 를 더하고, 조회 요청은 언제든 읽는다.
+ */
+public class BulkUpdateJob {
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    private final Long id;
+    private final int total;
+    private final Instant startedAt = Instant.now();
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder updated = new LongAdder();
+    private volatile Status status = Status.RUNNING;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    public BulkUpdateJob(Long id, int total) {
+        this.id = id;
+        this.total = total;
+    }
+
+    void addProgress(int processedCount, int updatedCount) {
+        processed.add(processedCount);
+        updated.add(updatedCount);
+    }
+
+    void complete() {
+        finishedAt = Instant.now();
+        status = Status.COMPLETED;
+    }
+
+    void fail(String message) {
+        finishedAt = Instant.now();
+        error = message;
+        status = Status.FAILED;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * 시작 시점의 상품 수 (이후 추가된 상품은 대상이 아니다)
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    public long getProcessed() {
+        return processed.sum();
+    }
+
+    public long getUpdated() {
+        return updated.sum();
+    }
+
+    /**
+     * 진행률 (0 ~ 100)
+     */
+    public int getProgress() {
+        return total == 0 ? 100 : (int) (getProcessed() * 100 / total);
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
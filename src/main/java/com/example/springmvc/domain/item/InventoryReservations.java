@@ -0,0 +1,326 @@
+package com.example.springmvc.domain.item;
+
+import com.example.springmvc.session.TimingWheel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * 재고 예약 (락 없는 수량 차감)
+ *
+ * [왜 필요한가]
+ * Item.quantity 는 ItemRepository.update 로 상품 전체를 덮어써야만 바뀐다.
+ * 같은 상품을 동시에 팔면 "읽고 → 빼고 → 덮어쓰기" 사이에 다른 요청의 차감이 사라진다.
+ *
+ * [구조]
+ * - 상품마다 AtomicInteger 카운터(available) → CAS 로 차감, 0 아래로는 내려가지 않는다
+ *   (카운터는 처음 예약할 때 저장소의 quantity 로 만든다)
+ * - 예약은 ID 로 관리하며 만료 시각이 지나면 자동으로 수량을 되돌린다 (TimingWheel, tick=1초)
+ *   TimingWheel 은 락으로 보호되므로 요청 스레드는 큐에 넣기만 하고, 만료 스레드가 tick 마다 휠에 옮겨 건다
+ * - 해제(release) / 확정(confirm) / 만료는 모두 예약 맵에서 remove 에 성공한 쪽만 처리 → 정확히 한 번
+ * - 카운터가 바뀐 상품 ID 만 모아 두었다가 주기적으로 저장소에 한꺼번에 반영(write-back)
+ *
+ * [수량의 의미]
+ * Item.quantity = 예약되지 않은(팔 수 있는) 수량.
+ * 확정된 예약은 이미 빠진 수량이 그대로 유지되고, 해제 / 만료된 예약은 다시 더해진다.
+ *
+ * [수정 폼과의 관계]
+ * 수정 폼은 보여 준 수량(hidden)을 함께 보내고, ItemRepository.update 는 그 차이만 저장된 수량에 더한다.
+ * 여기서는 ItemChangedEvent(UPDATED) 의 수량 차이(변경 후 - 변경 전)를 그대로 카운터에 더한다.
+ * → 수량을 안 바꾼 수정(가격만 변경 등)은 차이가 0 이므로 예약된 수량이 되살아나지 않는다.
+ * 반영 도중 카운터가 다시 바뀌면 다음 주기에 다시 반영한다.
+ *
+ * [카운터 시작값]
+ * 카운터는 저장소의 상품과 그 상품에 반영된 마지막 변경 순번을 함께 읽어 만든다 (ItemRepository.findWithSequence).
+ * 그보다 큰 순번의 UPDATED 만 카운터에 더한다 → 만드는 도중에 도착한 수정도 빠지거나 두 번 더해지지 않는다.
+ */
+@Slf4j
+@Component
+public class InventoryReservations implements DisposableBean {
+
+    private static final long TICK_MILLIS = 1000L;
+
+    private final ItemRepository itemRepository;
+    private final Duration defaultTtl;
+    private final Duration maxTtl;
+
+    private final Map<Long, Stock> stocks = new ConcurrentHashMap<>();
+    private final Map<Long, Reservation> reservations = new ConcurrentHashMap<>();
+    private final Set<Long> dirtyItemIds = ConcurrentHashMap.newKeySet();
+    private final ConcurrentLinkedQueue<Reservation> unscheduled = new ConcurrentLinkedQueue<>();
+    private final AtomicLong reservationSequence = new AtomicLong();
+    private final TimingWheel timingWheel;
+    private final ScheduledExecutorService scheduler;
+
+    public InventoryReservations(ItemRepository itemRepository,
+                                 @Value("${app.inventory.reservation.default-ttl-seconds:600}") long defaultTtlSeconds,
+                                 @Value("${app.inventory.reservation.max-ttl-seconds:3600}") long maxTtlSeconds,
+                                 @Value("${app.inventory.write-back-interval-millis:500}") long writeBackIntervalMillis) {
+        this.itemRepository = itemRepository;
+        this.defaultTtl = Duration.ofSeconds(defaultTtlSeconds);
+        this.maxTtl = Duration.ofSeconds(maxTtlSeconds);
+        this.timingWheel = new TimingWheel(System.currentTimeMillis() / TICK_MILLIS);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "inventory-reservations");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleAtFixedRate(this::advance, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        this.scheduler.scheduleWithFixedDelay(this::flushSafely, writeBackIntervalMillis, writeBackIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param ttl null 이면 기본값, 최대값을 넘으면 최대값
+     * @return 상품이 없거나 남은 수량이 부족하면 null
+     */
+    public Reservation reserve(Long itemId, int quantity, Duration ttl) {
+        if (quantity < 1) {
+            throw new IllegalArgumentException("예약 수량은 1 이상이어야 합니다: " + quantity);
+        }
+        Stock stock = stockOf(itemId);
+        if (stock == null || !stock.tryTake(quantity)) {
+            return null;
+        }
+        dirtyItemIds.add(itemId);
+
+        Duration effectiveTtl = ttl == null || ttl.isNegative() || ttl.isZero() ? defaultTtl
+                : ttl.compareTo(maxTtl) > 0 ? maxTtl : ttl;
+        long expiresAt = System.currentTimeMillis() + effectiveTtl.toMillis();
+        Reservation reservation = new Reservation(reservationSequence.incrementAndGet(), itemId, quantity, expiresAt);
+        reservations.put(reservation.getId(), reservation);
+        unscheduled.offer(reservation);
+        return reservation;
+    }
+
+    /**
+     * 예약 해제 → 수량을 되돌린다
+     * @return 이미 해제 / 확정 / 만료된 예약이면 false
+     */
+    public boolean release(Long reservationId) {
+        Reservation reservation = reservations.remove(reservationId);
+        if (reservation == null) {
+            return false;
+        }
+        giveBack(reservation);
+        return true;
+    }
+
+    /**
+     * 예약 확정(판매 완료) → 빠진 수량을 그대로 둔다
+     * @return 이미 해제 / 확정 / 만료된 예약이면 false
+     */
+    public boolean confirm(Long reservationId) {
+        Reservation reservation = reservations.remove(reservationId);
+        if (reservation == null) {
+            return false;
+        }
+        Stock stock = stocks.get(reservation.getItemId());
+        if (stock != null) {
+            stock.reserved.addAndGet(-reservation.getQuantity());
+        }
+        return true;
+    }
+
+    public Reservation findReservation(Long reservationId) {
+        return reservations.get(reservationId);
+    }
+
+    /**
+     * @return [팔 수 있는 수량, 예약 중인 수량], 상품이 없으면 null
+     */
+    public int[] stockOfItem(Long itemId) {
+        Stock stock = stockOf(itemId);
+        return stock != null ? new int[]{stock.available.get(), stock.reserved.get()} : null;
+    }
+
+    public int getReservationCount() {
+        return reservations.size();
+    }
+
+    /**
+     * 카운터가 바뀐 상품의 수량을 저장소에 반영한다
+     */
+    public void flush() {
+        Iterator<Long> iterator = dirtyItemIds.iterator();
+        while (iterator.hasNext()) {
+            Long itemId = iterator.next();
+            iterator.remove(); // 반영 전에 지운다 → 반영 중 바뀌면 다시 표시된다
+            Stock stock = stocks.get(itemId);
+            if (stock == null) {
+                continue;
+            }
+            int quantity = stock.available.get();
+            if (!itemRepository.updateQuantity(itemId, quantity)) {
+                stocks.remove(itemId); // 저장소에서 사라진 상품
+            } else if (stock.available.get() != quantity) {
+                dirtyItemIds.add(itemId);
+            }
+        }
+    }
+
+    /**
+     * 수정 폼으로 상품이 바뀐 경우 수량의 차이(변경 후 - 변경 전)만 카운터에 더한다 (카운터가 있는 상품만)
+     * 저장소의 수량은 카운터보다 write-back 주기만큼 늦으므로 카운터를 저장소 값으로 덮어쓰면
+     * 방금 예약된 수량이 되살아난다(초과 판매).
+     * computeIfPresent 로 더하므로 카운터를 만드는 중(stockOf)이면 다 만들어질 때까지 기다렸다가 순번을 비교한다.
+     * 삭제된 상품은 카운터를 버린다 (남은 예약은 확정 / 해제 / 만료 시 카운터가 없으므로 무시된다)
+     */
+    @EventListener
+    public void onItemChanged(ItemChangedEvent event) {
+        if (event.getType() == ItemChangedEvent.Type.DELETED) {
+            stocks.remove(event.getItemId());
+            return;
+        }
+        if (event.getType() != ItemChangedEvent.Type.UPDATED) {
+            return; // QUANTITY 는 이 클래스의 write-back 이 만든 이벤트
+        }
+        int delta = quantityOf(event.getCurrent().getQuantity()) - quantityOf(event.getPrevious().getQuantity());
+        if (delta == 0) {
+            return;
+        }
+        stocks.computeIfPresent(event.getItemId(), (itemId, stock) -> {
+            if (event.getSequence() > stock.seededSequence) { // 시작값에 이미 들어 있는 수정은 건너뛴다
+                changeQuantity(stock, itemId, available -> available + delta);
+            }
+            return stock;
+        });
+    }
+
+    /**
+     * 팔 수 있는 수량을 바꾼다 (일괄 변경의 수량 지정 / 증감) - 카운터에 반영하고 저장소에는 write-back 으로 반영
+     * 0 아래로는 내려가지 않는다. 진행 중인 예약 수량은 그대로다.
+     * @return 상품이 없으면 false
+     */
+    public boolean changeQuantity(Long itemId, IntUnaryOperator change) {
+        Stock stock = stockOf(itemId);
+        if (stock == null) {
+            return false;
+        }
+        changeQuantity(stock, itemId, change);
+        return true;
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        flush();
+    }
+
+    /**
+     * 카운터가 없으면 저장소의 수량과 그 순번으로 만든다 - 읽기와 등록이 같은 computeIfAbsent 안에서 일어나므로
+     * 먼저 읽어 둔 옛 Item 으로 카운터를 만드는 일이 없다
+     */
+    private Stock stockOf(Long itemId) {
+        Stock stock = stocks.get(itemId);
+        if (stock != null) {
+            return stock;
+        }
+        return stocks.computeIfAbsent(itemId, id -> itemRepository.findWithSequence(id,
+                (item, sequence) -> new Stock(quantityOf(item.getQuantity()), sequence)));
+    }
+
+    private void changeQuantity(Stock stock, Long itemId, IntUnaryOperator change) {
+        stock.available.updateAndGet(available -> Math.max(0, change.applyAsInt(available)));
+        dirtyItemIds.add(itemId);
+    }
+
+    private void giveBack(Reservation reservation) {
+        Stock stock = stocks.get(reservation.getItemId());
+        if (stock == null) {
+            return;
+        }
+        stock.reserved.addAndGet(-reservation.getQuantity());
+        stock.available.addAndGet(reservation.getQuantity());
+        dirtyItemIds.add(reservation.getItemId());
+    }
+
+    private void advance() {
+        try {
+            Reservation reservation;
+            while ((reservation = unscheduled.poll()) != null) {
+                if (reservations.containsKey(reservation.getId())) {
+                    // 만료 시각은 올림: 만료 전에 울리지 않는다
+                    timingWheel.schedule(String.valueOf(reservation.getId()),
+                            (reservation.getExpiresAt() + TICK_MILLIS - 1) / TICK_MILLIS);
+                }
+            }
+            timingWheel.advanceTo(System.currentTimeMillis() / TICK_MILLIS, this::onTimer);
+        } catch (RuntimeException e) {
+            // 예외가 전파되면 scheduleAtFixedRate 가 멈추므로 여기서 삼킨다
+            log.error("재고 예약 만료 처리 실패", e);
+        }
+    }
+
+    private void onTimer(TimingWheel.Timer timer) {
+        Long reservationId = Long.valueOf(timer.getKey());
+        Reservation reservation = reservations.get(reservationId);
+        if (reservation == null) {
+            return; // 이미 해제 / 확정됨
+        }
+        if (reservation.getExpiresAt() > System.currentTimeMillis()) {
+            timingWheel.schedule(timer.getKey(), timer.getDeadlineTick() + 1);
+            return;
+        }
+        if (reservations.remove(reservationId, reservation)) {
+            giveBack(reservation);
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("재고 수량 반영 실패", e);
+        }
+    }
+
+    private static int quantityOf(Integer quantity) {
+        return quantity != null ? Math.max(quantity, 0) : 0;
+    }
+
+    /**
+     * 상품별 수량 카운터
+     */
+    private static final class Stock {
+
+        private final AtomicInteger available;
+        private final AtomicInteger reserved = new AtomicInteger();
+        private final long seededSequence; // 시작값에 반영된 마지막 변경 순번
+
+        private Stock(int available, long seededSequence) {
+            this.available = new AtomicInteger(available);
+            this.seededSequence = seededSequence;
+        }
+
+        /**
+         * 남은 수량이 충분할 때만 CAS 로 뺀다 (락 없음, 0 아래로 내려가지 않음)
+         */
+        private boolean tryTake(int quantity) {
+            int current;
+            do {
+                current = available.get();
+                if (current < quantity) {
+                    return false;
+                }
+            } while (!available.compareAndSet(current, current - quantity));
+            reserved.addAndGet(quantity);
+            return true;
+        }
+    }
+}
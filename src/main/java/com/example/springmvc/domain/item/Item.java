@@ -2,6 +2,7 @@ package com.example.springmvc.domain.item;
 
 import lombok.Data;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -40,4 +41,18 @@ public class Item {
         this.price = price;
         this.quantity = quantity;
     }
+
+    /**
+     * 복사 생성자 - ItemRepository 가 수정할 때 저장된 객체 대신 복사본을 고쳐서 바꿔 끼운다
+     */
+    public Item(Item source) {
+        this.id = source.id;
+        this.itemName = source.itemName;
+        this.price = source.price;
+        this.quantity = source.quantity;
+        this.open = source.open;
+        this.regions = source.regions != null ? new ArrayList<>(source.regions) : null;
+        this.itemType = source.itemType;
+        this.deliveryCode = source.deliveryCode;
+    }
 }
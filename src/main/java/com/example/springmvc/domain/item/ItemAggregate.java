@@ -0,0 +1,39 @@
+package com.example.springmvc.domain.item;
+
+/**
+ * 상품 집계 값 (불변 스냅샷) - ItemAggregates 가 만든다
+ * - itemCount: 상품 수
+ * - totalQuantity: 재고 수량 합
+ * - stockValue: 재고 금액 합 (price * quantity)
+ * - averagePrice: 평균 가격 (가격이 있는 상품 기준, 없으면 null)
+ */
+public class ItemAggregate {
+
+    private final long itemCount;
+    private final long totalQuantity;
+    private final long stockValue;
+    private final Double averagePrice;
+
+    public ItemAggregate(long itemCount, long totalQuantity, long stockValue, Double averagePrice) {
+        this.itemCount = itemCount;
+        this.totalQuantity = totalQuantity;
+        this.stockValue = stockValue;
+        this.averagePrice = averagePrice;
+    }
+
+    public long getItemCount() {
+        return itemCount;
+    }
+
+    public long getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    public long getStockValue() {
+        return stockValue;
+    }
+
+    public Double getAveragePrice() {
+        return averagePrice;
+    }
+}
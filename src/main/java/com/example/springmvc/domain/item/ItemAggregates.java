@@ -0,0 +1,134 @@
+package com.example.springmvc.domain.item;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 상품 집계 (증분 유지)
+ *
+ * [왜 필요한가]
+ * 대시보드가 새로고침할 때마다 findAll() 로 전체를 복사해서 더하면 상품 수 N 에 비례하는 비용이 든다.
+ * 여기서는 ItemChangedEvent 를 받을 때마다 "변경 전 Item 을 빼고 변경 후 Item 을 더해" 집계를 유지한다.
+ * → 조회는 칸(bucket) 하나당 O(1), 전체 조회도 칸 수(종류 + 지역 + 판매 여부)에만 비례
+ *
+ * [집계 단위]
+ * - 전체
+ * - 상품 종류(ItemType) 별 - 종류 없음은 NONE
+ * - 등록 지역별 - 지역이 여러 개인 상품은 지역마다 한 번씩 센다 (지역 합계 ≠ 전체)
+ * - 판매 여부(open) 별 - null 은 판매 안 함으로 센다
+ *
+ * [동시성 / 정확성]
+ * - 칸마다 LongAdder (셀을 나눠 쓰는 누산기) → 동시에 여러 상품이 바뀌어도 CAS 경합이 한 곳에 몰리지 않는다
+ * - 저장소는 상품 단위로 통째로 바꿔 끼우고 교체마다 이벤트를 정확히 한 번 발행한다.
+ *   빼기 / 더하기는 순서와 상관없이 합이 같으므로 이벤트 처리 순서가 섞여도 쓰기가 끝나면 값이 정확히 맞는다.
+ * - 쓰기 도중의 조회는 칸끼리(예: 종류 A 에서 빠지고 B 에 아직 안 더해진 상태) 잠깐 어긋나 보일 수 있다.
+ */
+@Component
+public class ItemAggregates {
+
+    public static final String NO_ITEM_TYPE = "NONE";
+
+    private final Bucket total = new Bucket();
+    private final Map<ItemType, Bucket> byItemType = new EnumMap<>(ItemType.class);
+    private final Bucket noItemType = new Bucket();
+    private final Map<String, Bucket> byRegion = new ConcurrentHashMap<>();
+    private final Bucket open = new Bucket();
+    private final Bucket closed = new Bucket();
+
+    public ItemAggregates() {
+        // EnumMap 은 생성 시점에 다 채워 두고 이후에는 읽기만 한다 → 동시 접근해도 안전
+        for (ItemType itemType : ItemType.values()) {
+            byItemType.put(itemType, new Bucket());
+        }
+    }
+
+    @EventListener
+    public void onItemChanged(ItemChangedEvent event) {
+        if (event.getPrevious() != null) {
+            apply(event.getPrevious(), -1);
+        }
+        if (event.getCurrent() != null) {
+            apply(event.getCurrent(), 1);
+        }
+    }
+
+    public ItemAggregate getTotal() {
+        return total.snapshot();
+    }
+
+    public ItemAggregate getByItemType(ItemType itemType) {
+        return itemType != null ? byItemType.get(itemType).snapshot() : noItemType.snapshot();
+    }
+
+    /**
+     * 상품 종류별 집계 (ItemType 선언 순서, 마지막에 NONE)
+     */
+    public Map<String, ItemAggregate> getByItemType() {
+        Map<String, ItemAggregate> result = new LinkedHashMap<>();
+        byItemType.forEach((itemType, bucket) -> result.put(itemType.name(), bucket.snapshot()));
+        result.put(NO_ITEM_TYPE, noItemType.snapshot());
+        return result;
+    }
+
+    /**
+     * 지역별 집계 (지역 코드 순, 한 번이라도 쓰인 지역은 상품이 없어져도 0 으로 남는다)
+     */
+    public Map<String, ItemAggregate> getByRegion() {
+        Map<String, ItemAggregate> result = new TreeMap<>();
+        byRegion.forEach((region, bucket) -> result.put(region, bucket.snapshot()));
+        return result;
+    }
+
+    public ItemAggregate getByOpen(boolean open) {
+        return open ? this.open.snapshot() : closed.snapshot();
+    }
+
+    private void apply(Item item, int sign) {
+        long quantity = item.getQuantity() != null ? item.getQuantity() : 0L;
+        Integer price = item.getPrice();
+
+        total.add(price, quantity, sign);
+        (item.getItemType() != null ? byItemType.get(item.getItemType()) : noItemType).add(price, quantity, sign);
+        (Boolean.TRUE.equals(item.getOpen()) ? open : closed).add(price, quantity, sign);
+        if (item.getRegions() != null) {
+            for (String region : item.getRegions()) {
+                byRegion.computeIfAbsent(region, key -> new Bucket()).add(price, quantity, sign);
+            }
+        }
+    }
+
+    /**
+     * 집계 칸 하나 - 모든 필드가 LongAdder 라 add 는 락 없이 여러 스레드에서 동시에 호출해도 된다
+     */
+    private static final class Bucket {
+
+        private final LongAdder itemCount = new LongAdder();
+        private final LongAdder pricedItemCount = new LongAdder();
+        private final LongAdder priceSum = new LongAdder();
+        private final LongAdder totalQuantity = new LongAdder();
+        private final LongAdder stockValue = new LongAdder();
+
+        private void add(Integer price, long quantity, int sign) {
+            itemCount.add(sign);
+            totalQuantity.add(sign * quantity);
+            if (price != null) {
+                pricedItemCount.add(sign);
+                priceSum.add(sign * (long) price);
+                stockValue.add(sign * price * quantity);
+            }
+        }
+
+        private ItemAggregate snapshot() {
+            long priced = pricedItemCount.sum();
+            Double averagePrice = priced > 0 ? (double) priceSum.sum() / priced : null;
+            return new ItemAggregate(itemCount.sum(), totalQuantity.sum(), stockValue.sum(), averagePrice);
+        }
+    }
+}
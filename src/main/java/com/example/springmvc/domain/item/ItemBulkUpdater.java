@@ -0,0 +1,150 @@
+package com.example.springmvc.domain.item;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 상품 일괄 변경 (예: FOOD 가격 5% 인상, JEJU 등록 상품 수량 0)
+ *
+ * [동작]
+ * 1. 시작 시점의 상품 ID 스냅샷을 만든다
+ * 2. 전용 ForkJoinPool 에서 ID 배열을 partition-size 이하가 될 때까지 반으로 나눠 병렬 처리 (fork-join)
+ * 3. 상품마다 ItemRepository.replaceIf → 조건 확인 + 가격 변경 + 교체를 상품 단위로 원자적으로 수행
+ *    수량 변경은 InventoryReservations 카운터에 적용 → 저장소에는 write-back 주기 뒤에 보인다
+ * 4. 조각이 끝날 때마다 진행 상황(BulkUpdateJob)에 처리 / 변경 건수를 더한다
+ *
+ * [읽는 쪽]
+ * 저장소 전체 락이 없으므로 목록 / 상세 조회는 작업 중에도 기다리지 않는다.
+ * 작업 도중의 목록에는 바뀐 상품과 아직 안 바뀐 상품이 섞여 보일 수 있다 (상품 하나는 항상 완전한 상태).
+ *
+ * 요청 스레드는 작업을 등록만 하고 바로 반환한다. 작업 기록은 최근 것만 남긴다(Caffeine).
+ */
+@Slf4j
+@Component
+public class ItemBulkUpdater implements DisposableBean {
+
+    private final ItemRepository itemRepository;
+    private final InventoryReservations inventoryReservations;
+    private final int partitionSize;
+    private final ForkJoinPool pool;
+    private final AtomicLong jobSequence = new AtomicLong();
+    private final Cache<Long, BulkUpdateJob> jobs;
+
+    public ItemBulkUpdater(ItemRepository itemRepository, InventoryReservations inventoryReservations,
+                           @Value("${app.item.bulk-update.parallelism:0}") int parallelism,
+                           @Value("${app.item.bulk-update.partition-size:1024}") int partitionSize,
+                           @Value("${app.item.bulk-update.history.maximum-size:100}") long historySize,
+                           @Value("${app.item.bulk-update.history.time-to-live-seconds:3600}") long historyTtlSeconds) {
+        this.itemRepository = itemRepository;
+        this.inventoryReservations = inventoryReservations;
+        this.partitionSize = Math.max(partitionSize, 1);
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+                forkJoinPool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                    thread.setName("item-bulk-update-" + thread.getPoolIndex());
+                    thread.setDaemon(true);
+                    return thread;
+                }, null, false);
+        this.jobs = Caffeine.newBuilder()
+                .maximumSize(historySize)
+                .expireAfterWrite(Duration.ofSeconds(historyTtlSeconds))
+                .build();
+    }
+
+    /**
+     * 작업을 등록하고 바로 반환한다
+     */
+    public BulkUpdateJob start(ItemFilter filter, ItemChange change) {
+        long[] itemIds = itemRepository.findAllIds();
+        BulkUpdateJob job = new BulkUpdateJob(jobSequence.incrementAndGet(), itemIds.length);
+        jobs.put(job.getId(), job);
+
+        pool.execute(() -> {
+            try {
+                new Partition(job, itemIds, 0, itemIds.length, filter, change).invoke();
+                job.complete();
+                log.info("상품 일괄 변경 완료 jobId={}, total={}, updated={}", job.getId(), job.getTotal(), job.getUpdated());
+            } catch (RuntimeException e) {
+                job.fail(e.getMessage());
+                log.error("상품 일괄 변경 실패 jobId={}", job.getId(), e);
+            }
+        });
+        return job;
+    }
+
+    public BulkUpdateJob findJob(Long jobId) {
+        return jobs.getIfPresent(jobId);
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * ID 배열의 [from, to) 구간
+     */
+    private final class Partition extends RecursiveAction {
+
+        private final BulkUpdateJob job;
+        private final long[] itemIds;
+        private final int from;
+        private final int to;
+        private final ItemFilter filter;
+        private final ItemChange change;
+
+        private Partition(BulkUpdateJob job, long[] itemIds, int from, int to, ItemFilter filter, ItemChange change) {
+            this.job = job;
+            this.itemIds = itemIds;
+            this.from = from;
+            this.to = to;
+            this.filter = filter;
+            this.change = change;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= partitionSize) {
+                int updated = 0;
+                for (int i = from; i < to; i++) {
+                    if (apply(itemIds[i])) {
+                        updated++;
+                    }
+                }
+                job.addProgress(to - from, updated);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Partition(job, itemIds, from, middle, filter, change),
+                    new Partition(job, itemIds, middle, to, filter, change));
+        }
+
+        /**
+         * 가격은 조건 확인과 함께 복사본 교체로, 수량은 재고 예약 카운터로 바꾼다
+         * (저장된 수량은 카운터보다 늦게 반영되므로 Item.quantity 를 직접 고치면 방금 예약된 수량을 덮어쓴다)
+         */
+        private boolean apply(long itemId) {
+            boolean matched;
+            if (change.changesPrice()) {
+                matched = itemRepository.replaceIf(itemId, filter, change) != null;
+            } else {
+                Item item = itemRepository.findById(itemId);
+                matched = item != null && filter.test(item);
+            }
+            if (matched && change.changesQuantity()) {
+                matched = inventoryReservations.changeQuantity(itemId, change::applyQuantity);
+            }
+            return matched;
+        }
+    }
+}
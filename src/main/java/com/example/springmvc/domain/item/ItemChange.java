@@ -0,0 +1,78 @@
+package com.example.springmvc.domain.item;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.function.Consumer;
+
+/**
+ * 일괄 변경 내용 (null 인 항목은 그대로 둔다)
+ * - 가격은 accept(Item) 으로 상품 복사본에, 수량은 applyQuantity 로 재고 예약 카운터에 적용한다
+ * - pricePercent: 가격을 % 만큼 올리거나 내린다 (5 → 5% 인상, -10 → 10% 인하, 원 단위 반올림)
+ * - price: 가격을 이 값으로 (pricePercent 와 함께 쓰지 않는다)
+ * - quantity: 수량을 이 값으로
+ * - quantityDelta: 수량을 더하거나 뺀다 (0 아래로는 내려가지 않는다)
+ */
+public class ItemChange implements Consumer<Item> {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private static final BigDecimal MAX_PRICE = BigDecimal.valueOf(Integer.MAX_VALUE);
+
+    private final BigDecimal pricePercent;
+    private final Integer price;
+    private final Integer quantity;
+    private final Integer quantityDelta;
+
+    public ItemChange(BigDecimal pricePercent, Integer price, Integer quantity, Integer quantityDelta) {
+        if (pricePercent != null && price != null) {
+            throw new IllegalArgumentException("pricePercent 와 price 는 함께 지정할 수 없습니다");
+        }
+        if (quantity != null && quantityDelta != null) {
+            throw new IllegalArgumentException("quantity 와 quantityDelta 는 함께 지정할 수 없습니다");
+        }
+        if (pricePercent == null && price == null && quantity == null && quantityDelta == null) {
+            throw new IllegalArgumentException("변경할 항목이 없습니다");
+        }
+        this.pricePercent = pricePercent;
+        this.price = price;
+        this.quantity = quantity;
+        this.quantityDelta = quantityDelta;
+    }
+
+    public boolean changesPrice() {
+        return price != null || pricePercent != null;
+    }
+
+    public boolean changesQuantity() {
+        return quantity != null || quantityDelta != null;
+    }
+
+    /**
+     * 가격만 바꾼다 (ItemRepository.replaceIf 로 적용)
+     * 계산 결과는 0 ~ Integer.MAX_VALUE 로 자른다 (pricePercent 는 1000% 까지 허용되므로 int 를 넘을 수 있다)
+     */
+    @Override
+    public void accept(Item item) {
+        if (price != null) {
+            item.setPrice(price);
+        } else if (pricePercent != null && item.getPrice() != null) {
+            BigDecimal changed = BigDecimal.valueOf(item.getPrice())
+                    .multiply(HUNDRED.add(pricePercent))
+                    .divide(HUNDRED, 0, RoundingMode.HALF_UP);
+            item.setPrice(changed.max(BigDecimal.ZERO).min(MAX_PRICE).intValueExact());
+        }
+    }
+
+    /**
+     * 바뀐 뒤의 팔 수 있는 수량 (InventoryReservations.changeQuantity 로 적용)
+     * 수량은 재고 예약 카운터가 기준이므로 저장된 Item.quantity(늦게 반영됨)가 아니라 카운터 값에 적용한다.
+     */
+    public int applyQuantity(int available) {
+        if (quantity != null) {
+            return quantity;
+        }
+        if (quantityDelta != null) {
+            return (int) Math.min(Integer.MAX_VALUE, Math.max(0L, (long) available + quantityDelta));
+        }
+        return available;
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.springmvc.domain.item;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 상품 변경 기록 (증분 동기화용, /api/items/changes)
+ *
+ * [변경 순번]
+ * ItemRepository 가 저장 / 수정 / 삭제할 때마다 1씩 늘어나는 순번을 붙인다.
+ * 순번은 상품을 바꿔 끼우는 computeIfPresent 안에서 받으므로 같은 상품의 순번은 실제 적용 순서와 같다.
+ *
+ * [기록 = 고정 크기 링 버퍼]
+ * - 순번 % capacity 칸에 (순번, 상품 ID, 변경 후 Item) 을 쓴다 → 락 없음, 메모리 상한 고정
+ * - capacity 보다 오래된 변경은 덮여서 사라진다(compaction) → 그보다 옛 순번으로 요청하면 전체 스냅샷을 줘야 한다
+ *
+ * [빈 칸 = 아직 기록 중]
+ * 여러 상품이 동시에 바뀌면 순번을 받은 순서와 기록이 끝나는 순서가 다를 수 있다.
+ * 읽는 쪽은 since+1 부터 순번이 이어지는 데까지만 읽고 그 순번을 version 으로 돌려준다.
+ * → 다음 요청은 거기서부터 이어 읽으므로 기록 중이던 변경을 건너뛰지 않는다.
+ *
+ * [epoch = 이 기록의 세대]
+ * 순번은 메모리에만 있으므로 서버가 재시작하면 0부터 다시 센다 → 옛 순번이 새 변경을 가리키게 된다.
+ * 그래서 밖으로 내보내는 version 은 "epoch:순번" 문자열이고, epoch 는 시작할 때 한 번 정한다.
+ * epoch 가 다르면(재시작 / 다른 서버) 순번을 비교할 수 없으므로 전체 스냅샷으로 대신한다.
+ */
+@Component
+public class ItemChangeLog {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36)
+            + Integer.toString(ThreadLocalRandom.current().nextInt(36 * 36 * 36), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong committed = new AtomicLong();
+    private final AtomicReferenceArray<Entry> ring;
+    private final int mask;
+
+    public ItemChangeLog(@Value("${app.item.change-log.capacity:16384}") int capacity) {
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1; // 2의 거듭제곱으로 올림
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * 다음 변경 순번 - 저장소가 상품을 바꿔 끼우기 직전에 받는다
+     */
+    long nextSequence() {
+        return sequence.incrementAndGet();
+    }
+
+    /**
+     * 지금까지 나눠 준 마지막 순번 - 저장소가 상품을 읽는 computeIfPresent 안에서 읽으면
+     * 그 상품에 대해 이 순번보다 큰 변경은 아직 적용되지 않은 것이다
+     */
+    long currentSequence() {
+        return sequence.get();
+    }
+
+    /**
+     * 변경 기록 - 저장소에 반영된 뒤 호출한다 (item 은 변경 후 스냅샷, 삭제면 null)
+     */
+    void record(long sequence, Long itemId, Item item) {
+        ring.set(index(sequence), new Entry(sequence, itemId, item));
+    }
+
+    /**
+     * 이 순번까지의 변경은 모두 저장소에 반영되어 있다
+     * 전체 스냅샷을 만들기 전에 읽어 두면, 스냅샷 + 이 순번 이후의 변경 = 빠짐없는 최신 상태
+     */
+    public long getCommittedSequence() {
+        long last = committed.get();
+        long latest = sequence.get();
+        long seq = last + 1;
+        while (seq <= latest) {
+            Entry entry = ring.get(index(seq));
+            if (entry == null || entry.sequence < seq) {
+                break; // 아직 기록 중
+            }
+            seq++; // entry.sequence > seq: 이미 덮였을 만큼 오래된 순번 → 반영 완료로 본다
+        }
+        return committed.accumulateAndGet(seq - 1, Math::max);
+    }
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    public String getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * 밖으로 내보내는 version ("epoch:순번") - 다음 요청의 since 로 그대로 돌아온다
+     */
+    public String versionOf(long sequence) {
+        return epoch + ":" + sequence;
+    }
+
+    /**
+     * since("epoch:순번") 이후 변경 (상품마다 마지막 상태만)
+     * @return epoch 가 다르거나(재시작 / 다른 서버) 형식이 틀렸거나, 순번이 이미 덮여 사라졌으면 null → 전체 스냅샷을 줘야 한다
+     */
+    public ItemDelta changesSince(String since) {
+        int separator = since.lastIndexOf(':');
+        if (separator < 0 || !epoch.equals(since.substring(0, separator))) {
+            return null;
+        }
+        try {
+            return changesSince(Long.parseLong(since.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * since 이후 변경 (상품마다 마지막 상태만)
+     * @return since 가 이미 덮여 사라졌거나 이 기록의 순번보다 크면 null → 전체 스냅샷을 줘야 한다
+     */
+    ItemDelta changesSince(long since) {
+        long latest = sequence.get();
+        if (since < 0 || since > latest || latest - since > getCapacity()) {
+            return null;
+        }
+        Map<Long, Entry> changed = new LinkedHashMap<>();
+        long version = since;
+        for (long seq = since + 1; seq <= latest; seq++) {
+            Entry entry = ring.get(index(seq));
+            if (entry == null || entry.sequence < seq) {
+                break; // 아직 기록 중 → 여기까지만
+            }
+            if (entry.sequence > seq) {
+                return null; // 읽는 도중에 덮였다
+            }
+            changed.remove(entry.itemId); // 마지막 변경 순서로 다시 넣는다
+            changed.put(entry.itemId, entry);
+            version = seq;
+        }
+
+        List<Item> items = new ArrayList<>();
+        List<Long> deletedIds = new ArrayList<>();
+        for (Entry entry : changed.values()) {
+            if (entry.item != null) {
+                items.add(entry.item);
+            } else {
+                deletedIds.add(entry.itemId);
+            }
+        }
+        return new ItemDelta(version, items, deletedIds);
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence & mask);
+    }
+
+    private static final class Entry {
+
+        private final long sequence;
+        private final Long itemId;
+        private final Item item;
+
+        private Entry(long sequence, Long itemId, Item item) {
+            this.sequence = sequence;
+            this.itemId = itemId;
+            this.item = item;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.springmvc.domain.item;
+
+/**
+ * 상품 변경 이벤트
+ * - ItemRepository 가 저장 / 수정 / 재고 수량 반영 / 삭제 직후 발행
+ * - 동기 이벤트이므로 저장소 메서드가 반환되기 전에 리스너 처리가 끝난다
+ *
+ * type:
+ * - CREATED: save
+ * - UPDATED: update (수정 폼 등에서 상품 전체를 덮어씀), replaceIf (일괄 변경)
+ * - QUANTITY: updateQuantity (재고 예약의 일괄 반영)
+ * - DELETED: deleteById, clearStore
+ *
+ * [변경 전 / 후 Item]
+ * 저장소는 저장된 Item 을 고치지 않고 통째로 바꿔 끼우므로 previous / current 는 그 시점의 스냅샷이다.
+ * → 리스너는 "previous 를 빼고 current 를 더하는" 식으로 증분 계산을 할 수 있다 (ItemAggregates)
+ * - CREATED: previous 는 null
+ * - DELETED: current 는 null
+ */
+public class ItemChangedEvent {
+
+    public enum Type {
+        CREATED, UPDATED, QUANTITY, DELETED
+    }
+
+    private final long sequence;
+    private final Type type;
+    private final Item previous;
+    private final Item current;
+
+    public ItemChangedEvent(long sequence, Type type, Item previous, Item current) {
+        this.sequence = sequence;
+        this.type = type;
+        this.previous = previous;
+        this.current = current;
+    }
+
+    public Long getItemId() {
+        return current != null ? current.getId() : previous.getId();
+    }
+
+    /**
+     * 변경 순번 (ItemChangeLog) - 같은 상품이면 큰 값이 나중 변경
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * 변경 전 Item (CREATED 이면 null)
+     */
+    public Item getPrevious() {
+        return previous;
+    }
+
+    /**
+     * 변경 후 Item (DELETED 이면 null)
+     */
+    public Item getCurrent() {
+        return current;
+    }
+
+    /**
+     * 변경 후 수량 (DELETED 이면 null)
+     */
+    public Integer getQuantity() {
+        return current != null ? current.getQuantity() : null;
+    }
+}
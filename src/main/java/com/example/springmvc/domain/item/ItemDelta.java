@@ -0,0 +1,34 @@
+package com.example.springmvc.domain.item;
+
+import java.util.List;
+
+/**
+ * 어떤 순번 이후의 상품 변경 묶음 (불변) - ItemChangeLog.changesSince 가 만든다
+ * - version: 여기까지 반영된 변경 순번 (ItemChangeLog.versionOf 로 epoch 를 붙여 다음 요청의 since 로 내보낸다)
+ * - items: 추가 / 수정된 상품 (상품마다 마지막 상태)
+ * - deletedIds: 삭제된 상품 ID
+ */
+public class ItemDelta {
+
+    private final long version;
+    private final List<Item> items;
+    private final List<Long> deletedIds;
+
+    public ItemDelta(long version, List<Item> items, List<Long> deletedIds) {
+        this.version = version;
+        this.items = items;
+        this.deletedIds = deletedIds;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public List<Long> getDeletedIds() {
+        return deletedIds;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.springmvc.domain.item;
+
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * 일괄 변경 대상 조건 (모든 조건을 만족해야 대상)
+ * - itemTypes: 비어 있으면 전체, 아니면 이 중 하나
+ * - region: null 이면 전체, 아니면 등록 지역에 포함된 상품 (예: JEJU)
+ * - open: null 이면 전체
+ * - deliveryCodes: 비어 있으면 전체, 아니면 이 중 하나
+ */
+public class ItemFilter implements Predicate<Item> {
+
+    private final Set<ItemType> itemTypes;
+    private final String region;
+    private final Boolean open;
+    private final Set<String> deliveryCodes;
+
+    public ItemFilter(Set<ItemType> itemTypes, String region, Boolean open, Set<String> deliveryCodes) {
+        this.itemTypes = itemTypes != null ? Set.copyOf(itemTypes) : Set.of();
+        this.region = region;
+        this.open = open;
+        this.deliveryCodes = deliveryCodes != null ? Set.copyOf(deliveryCodes) : Set.of();
+    }
+
+    @Override
+    public boolean test(Item item) {
+        if (!itemTypes.isEmpty() && !itemTypes.contains(item.getItemType())) {
+            return false;
+        }
+        if (region != null && (item.getRegions() == null || !item.getRegions().contains(region))) {
+            return false;
+        }
+        if (open != null && !open.equals(item.getOpen())) {
+            return false;
+        }
+        return deliveryCodes.isEmpty() || deliveryCodes.contains(item.getDeliveryCode());
+    }
+}
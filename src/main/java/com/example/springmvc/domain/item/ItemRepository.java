@@ -1,50 +1,299 @@
 package com.example.springmvc.domain.item;
 
+import com.example.springmvc.jfr.RepositoryEvent;
+import com.example.springmvc.metrics.RepositoryTimers;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * 상품 저장소 (메모리 기반)
  * - 실습용 인메모리 Repository (DB 없이 Map으로 구현)
  * - static Map을 사용하므로 서버 재시작 시 데이터 초기화됨
  * - @Repository: 스프링 빈으로 등록
+ * - 연산별 처리 시간은 app.repository{repository=item} 타이머로 기록
+ * - JFR 녹화 중이면 연산마다 springmvc.Repository 이벤트(결과 크기 포함)도 남긴다
+ * - 저장 / 수정 / 재고 수량 반영 / 삭제 후 ItemChangedEvent(변경 전 / 후 Item) 를 발행한다
+ * - 변경마다 순번을 붙여 ItemChangeLog 에 남긴다 (증분 동기화, /api/items/changes)
+ *
+ * [동시성]
+ * 재고 예약의 일괄 반영(InventoryReservations)이 별도 스레드에서 수량을 쓰므로
+ * ConcurrentHashMap + AtomicLong 으로 바꿨다 (HashMap 은 동시 쓰기 중 읽으면 깨질 수 있다)
+ *
+ * [수정 = 통째로 바꿔 끼우기]
+ * 저장된 Item 을 직접 고치지 않고, 복사본을 고쳐서 computeIfPresent 로 바꿔 끼운다 (상품 단위 원자적 교체).
+ * → 읽는 쪽은 락 없이 항상 수정 전 또는 수정 후의 완전한 Item 을 본다.
+ * → 일괄 변경(ItemBulkUpdater), 수정 폼, 재고 반영이 겹쳐도 서로의 변경을 덮어쓰지 않는다.
  */
 @Repository
 public class ItemRepository {
 
-    private static final Map<Long, Item> store = new HashMap<>();
-    private static long sequence = 0L;
+    private static final Map<Long, Item> store = new ConcurrentHashMap<>();
+    private static final AtomicLong sequence = new AtomicLong();
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final ItemChangeLog changeLog;
+
+    private final Timer saveTimer;
+    private final Timer findByIdTimer;
+    private final Timer findAllTimer;
+    private final Timer findWithSequenceTimer;
+    private final Timer updateTimer;
+    private final Timer updateQuantityTimer;
+    private final Timer replaceIfTimer;
+    private final Timer deleteTimer;
+
+    public ItemRepository(ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry, ItemChangeLog changeLog) {
+        this.eventPublisher = eventPublisher;
+        this.changeLog = changeLog;
+        this.saveTimer = RepositoryTimers.timer(meterRegistry, "item", "save");
+        this.findByIdTimer = RepositoryTimers.timer(meterRegistry, "item", "findById");
+        this.findAllTimer = RepositoryTimers.timer(meterRegistry, "item", "findAll");
+        this.findWithSequenceTimer = RepositoryTimers.timer(meterRegistry, "item", "findWithSequence");
+        this.updateTimer = RepositoryTimers.timer(meterRegistry, "item", "update");
+        this.updateQuantityTimer = RepositoryTimers.timer(meterRegistry, "item", "updateQuantity");
+        this.replaceIfTimer = RepositoryTimers.timer(meterRegistry, "item", "replaceIf");
+        this.deleteTimer = RepositoryTimers.timer(meterRegistry, "item", "delete");
+    }
 
     public Item save(Item item) {
-        item.setId(++sequence);
-        store.put(item.getId(), item);
+        RepositoryEvent event = new RepositoryEvent();
+        event.begin();
+        long start = System.nanoTime();
+        long changeSequence;
+        try {
+            item.setId(sequence.incrementAndGet());
+            changeSequence = changeLog.nextSequence(); // 새 ID 라 같은 상품을 동시에 쓰는 쪽이 없다
+            store.put(item.getId(), item);
+        } finally {
+            saveTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.end("item", "save", item.getId(), 1);
+        }
+        changed(changeSequence, ItemChangedEvent.Type.CREATED, null, item);
         return item;
     }
 
     public Item findById(Long id) {
-        return store.get(id);
+        RepositoryEvent event = new RepositoryEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Item item = null;
+        try {
+            item = store.get(id);
+            return item;
+        } finally {
+            findByIdTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.end("item", "findById", id, item != null ? 1 : 0);
+        }
     }
 
     public List<Item> findAll() {
-        return new ArrayList<>(store.values());
+        RepositoryEvent event = new RepositoryEvent();
+        event.begin();
+        long start = System.nanoTime();
+        List<Item> items = null;
+        try {
+            items = new ArrayList<>(store.values());
+            return items;
+        } finally {
+            findAllTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.end("item", "findAll", null, items != null ? items.size() : 0);
+        }
+    }
+
+    /**
+     * 수정 폼의 값으로 상품을 바꾼다
+     *
+     * 수량은 덮어쓰지 않고 "폼에 보여 준 수량 → 제출한 수량" 의 차이만 저장된 수량에 더한다.
+     * 폼을 연 뒤에 재고 예약(InventoryReservations)이 수량을 뺐을 수 있으므로,
+     * 보여 준 값을 그대로 덮어쓰면 그 사이 예약된 수량이 되살아난다(초과 판매).
+     * @param displayedQuantity 폼을 열 때 보여 준 수량 (hidden 필드), null 이면 수량은 바꾸지 않는다
+     */
+    public void update(Long itemId, Item updateParam, Integer displayedQuantity) {
+        RepositoryEvent event = new RepositoryEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Item[] replaced = new Item[2];
+        long[] changeSequence = new long[1];
+        try {
+            store.computeIfPresent(itemId, (id, findItem) -> {
+                Item changed = new Item(findItem);
+                changed.setItemName(updateParam.getItemName());
+                changed.setPrice(updateParam.getPrice());
+                if (displayedQuantity != null && updateParam.getQuantity() != null) {
+                    int delta = updateParam.getQuantity() - displayedQuantity;
+                    int stored = findItem.getQuantity() != null ? findItem.getQuantity() : 0;
+                    changed.setQuantity(Math.max(0, stored + delta));
+                }
+                changed.setOpen(updateParam.getOpen());
+                changed.setRegions(updateParam.getRegions());
+                changed.setItemType(updateParam.getItemType());
+                changed.setDeliveryCode(updateParam.getDeliveryCode());
+                replaced[0] = findItem;
+                replaced[1] = changed;
+                changeSequence[0] = changeLog.nextSequence();
+                return changed;
+            });
+        } finally {
+            updateTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.end("item", "update", itemId, replaced[1] != null ? 1 : 0);
+        }
+        if (replaced[1] == null) {
+            return;
+        }
+        changed(changeSequence[0], ItemChangedEvent.Type.UPDATED, replaced[0], replaced[1]);
+    }
+
+    /**
+     * 상품과 "이 Item 에 반영된 마지막 변경 순번" 을 함께 읽는다 (재고 예약 카운터의 시작값용)
+     * 바꿔 끼우기와 같은 computeIfPresent 안에서 읽으므로, 받은 순번보다 큰 변경은 읽은 Item 에 들어 있지 않다.
+     * @return reader 의 결과, 상품이 없으면 null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T findWithSequence(Long itemId, BiFunction<? super Item, Long, ? extends T> reader) {
+        RepositoryEvent event = new RepositoryEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Object[] result = new Object[1];
+        try {
+            store.computeIfPresent(itemId, (id, findItem) -> {
+                result[0] = reader.apply(findItem, changeLog.currentSequence());
+                return findItem;
+            });
+            return (T) result[0];
+        } finally {
+            findWithSequenceTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.end("item", "findWithSequence", itemId, result[0] != null ? 1 : 0);
+        }
+    }
+
+    /**
+     * 수량만 바꾼다 (재고 예약 카운터의 일괄 반영용)
+     * @return 상품이 없으면 false
+     */
+    public boolean updateQuantity(Long itemId, int quantity) {
+        RepositoryEvent event = new RepositoryEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Item[] replaced = new Item[2];
+        long[] changeSequence = new long[1];
+        try {
+            store.computeIfPresent(itemId, (id, findItem) -> {
+                Item changed = new Item(findItem);
+                changed.setQuantity(quantity);
+                replaced[0] = findItem;
+                replaced[1] = changed;
+                changeSequence[0] = changeLog.nextSequence();
+                return changed;
+            });
+        } finally {
+            updateQuantityTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.end("item", "updateQuantity", itemId, replaced[1] != null ? 1 : 0);
+        }
+        if (replaced[1] == null) {
+            return false;
+        }
+        changed(changeSequence[0], ItemChangedEvent.Type.QUANTITY, replaced[0], replaced[1]);
+        return true;
+    }
+
+    /**
+     * 조건에 맞으면 복사본에 change 를 적용해서 바꿔 끼운다 (일괄 변경용)
+     * 조건 확인과 교체가 같은 computeIfPresent 안에서 일어나므로 그 사이에 다른 수정이 끼어들지 않는다.
+     * @return 바꿔 끼운 Item, 상품이 없거나 조건에 맞지 않으면 null
+     */
+    public Item replaceIf(Long itemId, Predicate<? super Item> condition, Consumer<? super Item> change) {
+        RepositoryEvent event = new RepositoryEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Item[] replaced = new Item[2];
+        long[] changeSequence = new long[1];
+        try {
+            store.computeIfPresent(itemId, (id, findItem) -> {
+                if (!condition.test(findItem)) {
+                    return findItem;
+                }
+                Item changed = new Item(findItem);
+                change.accept(changed);
+                replaced[0] = findItem;
+                replaced[1] = changed;
+                changeSequence[0] = changeLog.nextSequence();
+                return changed;
+            });
+        } finally {
+            replaceIfTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.end("item", "replaceIf", itemId, replaced[1] != null ? 1 : 0);
+        }
+        if (replaced[1] != null) {
+            changed(changeSequence[0], ItemChangedEvent.Type.UPDATED, replaced[0], replaced[1]);
+        }
+        return replaced[1];
+    }
+
+    /**
+     * 상품 삭제
+     * @return 상품이 없으면 false
+     */
+    public boolean deleteById(Long itemId) {
+        RepositoryEvent event = new RepositoryEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Item[] removed = new Item[1];
+        long[] changeSequence = new long[1];
+        try {
+            store.computeIfPresent(itemId, (id, findItem) -> {
+                removed[0] = findItem;
+                changeSequence[0] = changeLog.nextSequence();
+                return null;
+            });
+        } finally {
+            deleteTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.end("item", "delete", itemId, removed[0] != null ? 1 : 0);
+        }
+        if (removed[0] == null) {
+            return false;
+        }
+        changed(changeSequence[0], ItemChangedEvent.Type.DELETED, removed[0], null);
+        return true;
+    }
+
+    /**
+     * 지금 저장된 상품 ID (일괄 작업 분할용 스냅샷)
+     */
+    public long[] findAllIds() {
+        return store.keySet().stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * 변경 기록(ItemChangeLog)에 남긴 뒤 이벤트를 발행한다
+     * 기록은 이벤트 리스너보다 먼저 → 리스너가 실패해도 증분 동기화에 빈 순번이 생기지 않는다
+     */
+    private void changed(long changeSequence, ItemChangedEvent.Type type, Item previous, Item current) {
+        changeLog.record(changeSequence, current != null ? current.getId() : previous.getId(), current);
+        eventPublisher.publishEvent(new ItemChangedEvent(changeSequence, type, previous, current));
     }
 
-    public void update(Long itemId, Item updateParam) {
-        Item findItem = findById(itemId);
-        findItem.setItemName(updateParam.getItemName());
-        findItem.setPrice(updateParam.getPrice());
-        findItem.setQuantity(updateParam.getQuantity());
-        findItem.setOpen(updateParam.getOpen());
-        findItem.setRegions(updateParam.getRegions());
-        findItem.setItemType(updateParam.getItemType());
-        findItem.setDeliveryCode(updateParam.getDeliveryCode());
+    public int size() {
+        return store.size();
     }
 
+    /**
+     * 전체 삭제 - 집계(ItemAggregates)가 어긋나지 않도록 한 건씩 지우고 DELETED 를 발행한다
+     */
     public void clearStore() {
-        store.clear();
+        for (long itemId : findAllIds()) {
+            deleteById(itemId);
+        }
     }
 }
@@ -0,0 +1,79 @@
+package com.example.springmvc.domain.item;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 상품 전체 스냅샷 파일 한 벌 (불변) - ItemSnapshotWriter 가 만든다
+ * - version: 스냅샷에 반영된 상품 변경 순번 (ItemChangeLog)
+ * - createdAt: 만든 시각 (epoch millis)
+ * - csvFile / binaryFile: 다 쓴 뒤에 이름을 바꿔 공개하므로 열면 항상 완전한 파일이다
+ *
+ * [다운로드 중인 파일 지키기]
+ * 새 스냅샷으로 바뀐(retire) 파일은 바로 지우지 않는다. ItemSnapshotWriter 가
+ * - 응답 스트림으로 보내는 중인 다운로드가 없고 (beginDownload / endDownload 참조 수)
+ * - 바뀐 뒤 보존 시간이 지났을 때만 지운다 (sendfile 은 Tomcat 이 핸들러가 끝난 뒤 경로로 파일을 열므로 참조 수로 잡을 수 없다)
+ */
+public class ItemSnapshot {
+
+    private final long version;
+    private final long createdAt;
+    private final int itemCount;
+    private final Path csvFile;
+    private final Path binaryFile;
+    private final AtomicInteger downloads = new AtomicInteger();
+    private volatile long retiredAt; // 0 = 아직 최신
+
+    public ItemSnapshot(long version, long createdAt, int itemCount, Path csvFile, Path binaryFile) {
+        this.version = version;
+        this.createdAt = createdAt;
+        this.itemCount = itemCount;
+        this.csvFile = csvFile;
+        this.binaryFile = binaryFile;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    public Path getCsvFile() {
+        return csvFile;
+    }
+
+    public Path getBinaryFile() {
+        return binaryFile;
+    }
+
+    /**
+     * 응답 스트림으로 보내기 시작 - 끝나면 반드시 endDownload
+     */
+    public void beginDownload() {
+        downloads.incrementAndGet();
+    }
+
+    public void endDownload() {
+        downloads.decrementAndGet();
+    }
+
+    /**
+     * 더 새 스냅샷으로 바뀌었다 (ItemSnapshotWriter 스레드)
+     */
+    void retire(long now) {
+        retiredAt = now;
+    }
+
+    /**
+     * 바뀐 뒤 retentionMillis 가 지났고 보내는 중인 다운로드가 없으면 지워도 된다
+     */
+    boolean isDeletable(long now, long retentionMillis) {
+        return retiredAt != 0 && now - retiredAt >= retentionMillis && downloads.get() == 0;
+    }
+}
@@ -0,0 +1,274 @@
+package com.example.springmvc.domain.item;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상품 전체 스냅샷 파일 (CSV / 바이너리) 주기적 생성 - 다운로드는 /api/items/snapshot
+ *
+ * [왜 필요한가]
+ * 재무팀이 매일 밤 /form/items HTML 을 긁어서 전체 목록을 받는다 → 요청마다 전체 조회 + 렌더링.
+ * 요청과 상관없는 스레드(item-snapshot)가 interval 마다 파일로 써 두고, 다운로드는 파일을 그대로 보낸다.
+ *
+ * [생성]
+ * - 상품 변경 순번(ItemChangeLog)이 지난번과 같으면 건너뛴다 (바뀐 것이 없으면 파일도 그대로)
+ * - 임시 파일에 다 쓴 뒤 같은 디렉터리 안에서 이름을 바꿔(ATOMIC_MOVE) 공개 → 반쯤 쓴 파일이 보이지 않는다
+ * - 새 스냅샷으로 바뀐 파일은 보존 시간(retention)이 지나고 보내는 중인 다운로드가 없을 때 지운다 (ItemSnapshot 참고)
+ *
+ * [시작]
+ * 스케줄러는 생성자가 아니라 SmartLifecycle.start() 에서 시작한다.
+ * 이미지 빌드의 CDS 학습 실행(spring.context.exit=onRefresh)은 start 전에 끝나므로 이미지 안에 스냅샷 파일을 남기지 않는다.
+ *
+ * [CSV] UTF-8, 첫 줄 헤더
+ * id,itemName,price,quantity,open,regions,itemType,deliveryCode
+ * - 값에 쉼표 / 따옴표 / 줄바꿈이 있으면 따옴표로 감싼다, regions 는 ; 로 잇는다
+ *
+ * [바이너리] big-endian (DataOutputStream)
+ * - 헤더: magic "ITMS"(4) | format version int(=2) | 변경 순번 long | 생성 시각 long | 상품 수 int
+ * - 상품마다: id long | flags byte | price int | quantity int | itemType byte(ordinal, 없으면 -1)
+ *            | itemName str | deliveryCode str | regions 수 int | region str ...
+ * - str: UTF-8 바이트 수 int + UTF-8 바이트 (writeUTF 는 64KB 를 넘는 문자열에서 실패하므로 쓰지 않는다)
+ * - flags: 1=price 있음, 2=quantity 있음, 4=open, 8=itemName 있음, 16=deliveryCode 있음 (없는 값은 0 / "" 로 채운다)
+ */
+@Slf4j
+@Component
+public class ItemSnapshotWriter implements SmartLifecycle, DisposableBean {
+
+    static final int BINARY_MAGIC = 0x49544D53; // "ITMS"
+    static final int BINARY_FORMAT_VERSION = 2;
+
+    private static final String CSV_HEADER = "id,itemName,price,quantity,open,regions,itemType,deliveryCode";
+
+    private final ItemRepository itemRepository;
+    private final ItemChangeLog itemChangeLog;
+    private final Path directory;
+    private final long intervalSeconds;
+    private final long retentionMillis;
+    private final ScheduledExecutorService scheduler;
+    private final Deque<ItemSnapshot> retired = new ArrayDeque<>(); // scheduler 스레드에서만 사용
+
+    private volatile ItemSnapshot latest;
+    private volatile ScheduledFuture<?> schedule;
+
+    public ItemSnapshotWriter(ItemRepository itemRepository, ItemChangeLog itemChangeLog,
+                              @Value("${app.item.snapshot.directory:${java.io.tmpdir}/springmvc-snapshots}") String directory,
+                              @Value("${app.item.snapshot.interval-seconds:300}") long intervalSeconds,
+                              @Value("${app.item.snapshot.retention-seconds:600}") long retentionSeconds) {
+        this.itemRepository = itemRepository;
+        this.itemChangeLog = itemChangeLog;
+        this.directory = Paths.get(directory);
+        this.intervalSeconds = intervalSeconds;
+        this.retentionMillis = Duration.ofSeconds(retentionSeconds).toMillis();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "item-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 가장 최근 스냅샷 (아직 한 번도 만들지 못했으면 null)
+     */
+    public ItemSnapshot getLatest() {
+        return latest;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (schedule == null) {
+            schedule = scheduler.scheduleWithFixedDelay(this::writeSafely, 0, intervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (schedule != null) {
+            schedule.cancel(false);
+            schedule = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return schedule != null;
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    private void writeSafely() {
+        try {
+            deleteRetired();
+            write();
+        } catch (IOException | RuntimeException e) {
+            // 예외가 전파되면 scheduleWithFixedDelay 가 멈추므로 여기서 삼킨다 (다음 주기에 다시 시도)
+            log.error("상품 스냅샷 생성 실패 directory={}", directory, e);
+        }
+    }
+
+    private void write() throws IOException {
+        // 순번을 먼저 읽는다 → 스냅샷에는 최소한 이 순번까지의 변경이 들어 있다
+        long version = itemChangeLog.getCommittedSequence();
+        ItemSnapshot current = latest;
+        if (current != null && current.getVersion() == version) {
+            return;
+        }
+        List<Item> items = itemRepository.findAll();
+        long createdAt = System.currentTimeMillis();
+
+        Files.createDirectories(directory);
+        String baseName = "items-" + version + "-" + createdAt;
+        Path csvFile = publish(writeCsv(items), baseName + ".csv");
+        Path binaryFile = publish(writeBinary(items, version, createdAt), baseName + ".bin");
+
+        ItemSnapshot snapshot = new ItemSnapshot(version, createdAt, items.size(), csvFile, binaryFile);
+        latest = snapshot;
+        if (current != null) {
+            current.retire(createdAt);
+            retired.add(current);
+        } else {
+            deleteLeftovers(snapshot); // 첫 스냅샷 → 이전 실행이 남긴 파일 정리
+        }
+        log.info("상품 스냅샷 생성 version={}, items={}, csv={}B, binary={}B", version, items.size(),
+                Files.size(csvFile), Files.size(binaryFile));
+    }
+
+    /**
+     * 바뀐 지 보존 시간이 지났고 보내는 중인 다운로드가 없는 스냅샷 파일을 지운다
+     */
+    private void deleteRetired() throws IOException {
+        long now = System.currentTimeMillis();
+        Iterator<ItemSnapshot> iterator = retired.iterator();
+        while (iterator.hasNext()) {
+            ItemSnapshot snapshot = iterator.next();
+            if (snapshot.isDeletable(now, retentionMillis)) {
+                Files.deleteIfExists(snapshot.getCsvFile());
+                Files.deleteIfExists(snapshot.getBinaryFile());
+                iterator.remove();
+            }
+        }
+    }
+
+    private void deleteLeftovers(ItemSnapshot snapshot) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "items-*")) {
+            for (Path file : files) {
+                if (!file.equals(snapshot.getCsvFile()) && !file.equals(snapshot.getBinaryFile())) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private Path publish(Path tempFile, String fileName) throws IOException {
+        return Files.move(tempFile, directory.resolve(fileName), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Path writeCsv(List<Item> items) throws IOException {
+        Path tempFile = Files.createTempFile(directory, "items-", ".csv.tmp");
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(tempFile),
+                StandardCharsets.UTF_8), 64 * 1024)) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+            for (Item item : items) {
+                writer.write(String.valueOf(item.getId()));
+                writer.write(',');
+                writer.write(csv(item.getItemName()));
+                writer.write(',');
+                writer.write(item.getPrice() != null ? item.getPrice().toString() : "");
+                writer.write(',');
+                writer.write(item.getQuantity() != null ? item.getQuantity().toString() : "");
+                writer.write(',');
+                writer.write(String.valueOf(Boolean.TRUE.equals(item.getOpen())));
+                writer.write(',');
+                writer.write(csv(item.getRegions() != null ? String.join(";", item.getRegions()) : null));
+                writer.write(',');
+                writer.write(item.getItemType() != null ? item.getItemType().name() : "");
+                writer.write(',');
+                writer.write(csv(item.getDeliveryCode()));
+                writer.write('\n');
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+        return tempFile;
+    }
+
+    private Path writeBinary(List<Item> items, long version, long createdAt) throws IOException {
+        Path tempFile = Files.createTempFile(directory, "items-", ".bin.tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tempFile), 64 * 1024))) {
+            out.writeInt(BINARY_MAGIC);
+            out.writeInt(BINARY_FORMAT_VERSION);
+            out.writeLong(version);
+            out.writeLong(createdAt);
+            out.writeInt(items.size());
+            for (Item item : items) {
+                int flags = (item.getPrice() != null ? 1 : 0)
+                        | (item.getQuantity() != null ? 2 : 0)
+                        | (Boolean.TRUE.equals(item.getOpen()) ? 4 : 0)
+                        | (item.getItemName() != null ? 8 : 0)
+                        | (item.getDeliveryCode() != null ? 16 : 0);
+                out.writeLong(item.getId());
+                out.writeByte(flags);
+                out.writeInt(item.getPrice() != null ? item.getPrice() : 0);
+                out.writeInt(item.getQuantity() != null ? item.getQuantity() : 0);
+                out.writeByte(item.getItemType() != null ? item.getItemType().ordinal() : -1);
+                writeString(out, item.getItemName());
+                writeString(out, item.getDeliveryCode());
+                List<String> regions = item.getRegions() != null ? item.getRegions() : List.of();
+                out.writeInt(regions.size());
+                for (String region : regions) {
+                    writeString(out, region);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+        return tempFile;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.springmvc.domain.item;
+
+/**
+ * 재고 예약 (불변)
+ * - expiresAt: 만료 시각 (epoch millis) - 지나면 InventoryReservations 가 수량을 되돌린다
+ */
+public class Reservation {
+
+    private final Long id;
+    private final Long itemId;
+    private final int quantity;
+    private final long expiresAt;
+
+    public Reservation(Long id, Long itemId, int quantity, long expiresAt) {
+        this.id = id;
+        this.itemId = itemId;
+        this.quantity = quantity;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getItemId() {
+        return itemId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+}
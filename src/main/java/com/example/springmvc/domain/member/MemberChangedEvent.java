@@ -0,0 +1,26 @@
+package com.example.springmvc.domain.member;
+
+/**
+ * 회원 정보 변경 이벤트
+ * - MemberRepository 가 회원 저장 / 비밀번호 변경 직후 발행
+ * - 회원 정보를 캐시하는 쪽(CustomUserDetailsService)이 받아서 즉시 캐시를 비운다
+ * - 동기 이벤트이므로 save() 가 반환되기 전에 캐시 무효화가 끝난다
+ */
+public class MemberChangedEvent {
+
+    private final Long memberId;
+    private final String loginId;
+
+    public MemberChangedEvent(Long memberId, String loginId) {
+        this.memberId = memberId;
+        this.loginId = loginId;
+    }
+
+    public Long getMemberId() {
+        return memberId;
+    }
+
+    public String getLoginId() {
+        return loginId;
+    }
+}
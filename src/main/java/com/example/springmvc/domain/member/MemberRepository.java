@@ -1,12 +1,21 @@
 package com.example.springmvc.domain.member;
 
+import com.example.springmvc.logging.LogSampler;
+import com.example.springmvc.metrics.RepositoryTimers;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 회원 저장소 (메모리 기반)
+ * - 회원이 추가/변경되면 MemberChangedEvent 를 발행한다 (회원 캐시 무효화용)
+ * - 연산별 처리 시간은 app.repository{repository=member} 타이머로 기록
+ * - 저장 로그는 초당 10건까지만(DEBUG 면 전부) 남기고, 레벨과 상관없이 비밀번호 해시가 든 Member 전체 대신 id / loginId 만 찍는다
  */
 @Slf4j
 @Repository
@@ -15,25 +24,81 @@ public class MemberRepository {
     private static final Map<Long, Member> store = new HashMap<>();
     private static long sequence = 0L;
 
+    private static final LogSampler SAVE_LOG = LogSampler.perSecond(10);
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Timer saveTimer;
+    private final Timer findByIdTimer;
+    private final Timer findByLoginIdTimer;
+    private final Timer findAllTimer;
+
+    public MemberRepository(ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.eventPublisher = eventPublisher;
+        this.saveTimer = RepositoryTimers.timer(meterRegistry, "member", "save");
+        this.findByIdTimer = RepositoryTimers.timer(meterRegistry, "member", "findById");
+        this.findByLoginIdTimer = RepositoryTimers.timer(meterRegistry, "member", "findByLoginId");
+        this.findAllTimer = RepositoryTimers.timer(meterRegistry, "member", "findAll");
+    }
+
     public Member save(Member member) {
-        member.setId(++sequence);
-        log.info("save: member={}", member);
-        store.put(member.getId(), member);
+        long start = System.nanoTime();
+        try {
+            member.setId(++sequence);
+            store.put(member.getId(), member);
+        } finally {
+            saveTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (log.isDebugEnabled() || SAVE_LOG.tryAcquire()) { // DEBUG 에서도 Member 전체(비밀번호 해시 포함)는 찍지 않는다
+            log.info("save: id={}, loginId={}", member.getId(), member.getLoginId());
+        }
+        eventPublisher.publishEvent(new MemberChangedEvent(member.getId(), member.getLoginId()));
         return member;
     }
 
     public Member findById(Long id) {
-        return store.get(id);
+        long start = System.nanoTime();
+        try {
+            return store.get(id);
+        } finally {
+            findByIdTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 
     public Optional<Member> findByLoginId(String loginId) {
-        return findAll().stream()
-                .filter(m -> m.getLoginId().equals(loginId))
-                .findFirst();
+        long start = System.nanoTime();
+        try {
+            return store.values().stream()
+                    .filter(m -> m.getLoginId().equals(loginId))
+                    .findFirst();
+        } finally {
+            findByLoginIdTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 비밀번호 해시만 교체한다.
+     * BCrypt cost 가 바뀌었을 때 로그인 성공 시점에 재해싱된 값으로 갱신하는 용도
+     */
+    public void updatePassword(Long memberId, String encodedPassword) {
+        Member member = store.get(memberId);
+        if (member != null) {
+            member.setPassword(encodedPassword);
+            eventPublisher.publishEvent(new MemberChangedEvent(member.getId(), member.getLoginId()));
+        }
     }
 
     public List<Member> findAll() {
-        return new ArrayList<>(store.values());
+        long start = System.nanoTime();
+        try {
+            return new ArrayList<>(store.values());
+        } finally {
+            findAllTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public int size() {
+        return store.size();
     }
 
     public void clearStore() {
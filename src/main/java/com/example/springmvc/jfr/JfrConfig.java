@@ -0,0 +1,54 @@
+package com.example.springmvc.jfr;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.AbstractApplicationContext;
+import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * JFR(JDK Flight Recorder) 사용자 정의 이벤트
+ *
+ * [이벤트] (카테고리 springmvc)
+ * - springmvc.Repository: ItemRepository 연산, 결과 크기
+ * - springmvc.Validation: 컨트롤러(V1 ~ V4, API)별 검증 결과
+ * - springmvc.MessageResolution: 메시지 코드 해석
+ * - springmvc.TemplateRender: 뷰 이름별 렌더링 시간
+ * - springmvc.SessionStore: 세션 조회 / 저장 (L1 캐시, 메모리 저장소)
+ *
+ * [비용]
+ * 모든 이벤트는 @Enabled(false) → 기본 설정(default.jfc / profile.jfc)으로 녹화해도 기록되지 않는다.
+ * 꺼져 있을 때는 shouldCommit() / isEnabled() 분기 하나이며, 이벤트 객체 할당은 JIT 가 없앤다.
+ *
+ * [켜는 방법] src/main/jfr/springmvc.jfc 설정을 함께 지정
+ * java -XX:StartFlightRecording:settings=default,settings=src/main/jfr/springmvc.jfc,filename=springmvc.jfr -jar app.jar
+ * jcmd <pid> JFR.start settings=default settings=/app/jfr/springmvc.jfc duration=60s filename=/tmp/springmvc.jfr
+ */
+@Configuration(proxyBeanMethods = false)
+public class JfrConfig implements WebMvcConfigurer {
+
+    /**
+     * Boot 가 만든 messageSource 빈을 감싼다
+     * static: BeanPostProcessor 는 다른 빈보다 먼저 만들어지므로 설정 클래스 인스턴스 없이 생성
+     */
+    @Bean
+    public static BeanPostProcessor jfrMessageSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (AbstractApplicationContext.MESSAGE_SOURCE_BEAN_NAME.equals(beanName)
+                        && bean instanceof MessageSource messageSource) {
+                    return new JfrMessageSource(messageSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new JfrEventInterceptor());
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.springmvc.jfr;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 뷰 렌더링 / 검증 결과 JFR 이벤트
+ * - postHandle: 검증 결과 기록, 렌더링 이벤트 시작
+ * - afterCompletion: 렌더링 이벤트 종료, 예외로 postHandle 을 못 거친 검증 결과 기록
+ *   (@RequestBody 검증 실패 → MethodArgumentNotValidException)
+ *
+ * 이벤트가 꺼져 있으면 요청 속성에 아무것도 넣지 않는다.
+ */
+public class JfrEventInterceptor implements HandlerInterceptor {
+
+    static final String BINDERS_ATTR = JfrEventInterceptor.class.getName() + ".BINDERS";
+    private static final String RENDER_ATTR = JfrEventInterceptor.class.getName() + ".RENDER";
+
+    /**
+     * V1 은 BindingResult 대신 errors Map 을 모델에 담는다 (ValidationItemControllerV1)
+     */
+    private static final String V1_ERRORS_ATTR = "errors";
+    private static final String V1_GLOBAL_ERROR_KEY = "globalError";
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        recordValidation(request, handler, modelAndView != null ? modelAndView.getModel() : Map.of());
+
+        if (modelAndView == null || modelAndView.wasCleared()) {
+            return;
+        }
+        TemplateRenderEvent event = new TemplateRenderEvent();
+        if (event.isEnabled()) {
+            String viewName = modelAndView.getViewName() != null
+                    ? modelAndView.getViewName()
+                    : String.valueOf(modelAndView.getView());
+            request.setAttribute(RENDER_ATTR, event.start(viewName, handlerName(handler)));
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(RENDER_ATTR) instanceof TemplateRenderEvent event) {
+            request.removeAttribute(RENDER_ATTR);
+            event.end(ex != null);
+        }
+        recordValidation(request, handler, Map.of());
+    }
+
+    private static void recordValidation(HttpServletRequest request, Object handler, Map<String, Object> model) {
+        if (!(request.getAttribute(BINDERS_ATTR) instanceof List<?> binders)) {
+            return;
+        }
+        request.removeAttribute(BINDERS_ATTR);
+
+        for (Object element : binders) {
+            WebDataBinder binder = (WebDataBinder) element;
+            if (binder.getTarget() == null) {
+                continue; // @PathVariable / @RequestParam 변환용 binder
+            }
+            BindingResult result = binder.getBindingResult();
+            ValidationEvent event = new ValidationEvent();
+            event.controller = handler instanceof HandlerMethod handlerMethod
+                    ? handlerMethod.getBeanType().getSimpleName() : String.valueOf(handler);
+            event.method = handler instanceof HandlerMethod handlerMethod ? handlerMethod.getMethod().getName() : null;
+            event.objectName = binder.getObjectName();
+            event.fieldErrorCount = result.getFieldErrorCount();
+            event.globalErrorCount = result.getGlobalErrorCount();
+            if (model.get(V1_ERRORS_ATTR) instanceof Map<?, ?> errors) {
+                int global = errors.containsKey(V1_GLOBAL_ERROR_KEY) ? 1 : 0;
+                event.globalErrorCount += global;
+                event.fieldErrorCount += errors.size() - global;
+            }
+            event.valid = event.fieldErrorCount == 0 && event.globalErrorCount == 0;
+            event.commit();
+        }
+    }
+
+    private static String handlerName(Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "#" + handlerMethod.getMethod().getName();
+        }
+        return handler.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.springmvc.jfr;
+
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.NoSuchMessageException;
+
+import java.util.Locale;
+
+/**
+ * 메시지 코드 해석마다 MessageResolutionEvent 를 남기는 MessageSource 래퍼
+ * Thymeleaf(#{...}, #fields.errors)와 검증 오류 메시지는 모두 ApplicationContext 를 거쳐 이 빈을 쓴다.
+ */
+public class JfrMessageSource implements MessageSource {
+
+    private final MessageSource delegate;
+
+    public JfrMessageSource(MessageSource delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String getMessage(String code, Object[] args, String defaultMessage, Locale locale) {
+        MessageResolutionEvent event = new MessageResolutionEvent();
+        event.begin();
+        String message = null;
+        try {
+            message = delegate.getMessage(code, args, defaultMessage, locale);
+            return message;
+        } finally {
+            event.end(code, 1, locale, message != null && message != defaultMessage);
+        }
+    }
+
+    @Override
+    public String getMessage(String code, Object[] args, Locale locale) throws NoSuchMessageException {
+        MessageResolutionEvent event = new MessageResolutionEvent();
+        event.begin();
+        boolean resolved = false;
+        try {
+            String message = delegate.getMessage(code, args, locale);
+            resolved = true;
+            return message;
+        } finally {
+            event.end(code, 1, locale, resolved);
+        }
+    }
+
+    @Override
+    public String getMessage(MessageSourceResolvable resolvable, Locale locale) throws NoSuchMessageException {
+        MessageResolutionEvent event = new MessageResolutionEvent();
+        event.begin();
+        String message = null;
+        try {
+            message = delegate.getMessage(resolvable, locale);
+            return message;
+        } finally {
+            String[] codes = resolvable.getCodes();
+            boolean hasCodes = codes != null && codes.length > 0;
+            event.end(hasCodes ? codes[0] : null, hasCodes ? codes.length : 0, locale,
+                    message != null && message != resolvable.getDefaultMessage());
+        }
+    }
+}
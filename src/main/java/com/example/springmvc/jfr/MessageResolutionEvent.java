@@ -0,0 +1,47 @@
+package com.example.springmvc.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 메시지 코드 해석 하나 (MessageSource.getMessage)
+ * 검증 오류는 코드 여러 개(required.item.itemName → required.itemName → ... → required)를 순서대로 찾으므로
+ * 첫 번째 코드와 코드 개수를 남긴다.
+ */
+@Name("springmvc.MessageResolution")
+@Label("Message Code Resolution")
+@Category({"springmvc", "Message"})
+@Description("메시지 코드 해석")
+@Enabled(false)
+@StackTrace(false)
+public class MessageResolutionEvent extends Event {
+
+    @Label("Code")
+    String code;
+
+    @Label("Code Count")
+    int codeCount;
+
+    @Label("Locale")
+    String locale;
+
+    @Label("Resolved")
+    @Description("메시지 파일에서 찾았는지 (기본 메시지 사용 / 예외는 false)")
+    boolean resolved;
+
+    public void end(String code, int codeCount, Object locale, boolean resolved) {
+        end();
+        if (shouldCommit()) {
+            this.code = code;
+            this.codeCount = codeCount;
+            this.locale = locale != null ? locale.toString() : null;
+            this.resolved = resolved;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.springmvc.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 저장소 연산 하나 (ItemRepository)
+ *
+ * [사용법]
+ * RepositoryEvent event = new RepositoryEvent();
+ * event.begin();
+ * ... 연산 ...
+ * event.end("item", "findById", id, 1);
+ *
+ * 기록이 꺼져 있으면 end() 는 shouldCommit() 확인만 하고 끝난다.
+ * 이벤트 객체는 메서드 밖으로 나가지 않으므로 JIT 가 할당을 없앤다(escape analysis).
+ */
+@Name("springmvc.Repository")
+@Label("Repository Operation")
+@Category({"springmvc", "Repository"})
+@Description("저장소 연산과 결과 크기")
+@Enabled(false)
+@StackTrace(false)
+public class RepositoryEvent extends Event {
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Item Id")
+    @Description("단건 연산의 ID (없으면 -1)")
+    long itemId;
+
+    @Label("Result Size")
+    @Description("반환하거나 변경한 항목 수")
+    int resultSize;
+
+    public void end(String repository, String operation, Long itemId, int resultSize) {
+        end();
+        if (shouldCommit()) {
+            this.repository = repository;
+            this.operation = operation;
+            this.itemId = itemId != null ? itemId : -1L;
+            this.resultSize = resultSize;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.springmvc.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 세션 저장소 조회 / 저장 하나
+ * - store: near-cache (Redis 앞 L1 캐시) | memory (ShardedMapSessionRepository)
+ * - operation: load | save
+ * - found: load 에서 세션을 찾았는지 (save 는 항상 true)
+ */
+@Name("springmvc.SessionStore")
+@Label("Session Store Operation")
+@Category({"springmvc", "Session"})
+@Description("세션 저장소 조회 / 저장")
+@Enabled(false)
+@StackTrace(false)
+public class SessionStoreEvent extends Event {
+
+    @Label("Store")
+    String store;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Found")
+    boolean found;
+
+    public void end(String store, String operation, boolean found) {
+        end();
+        if (shouldCommit()) {
+            this.store = store;
+            this.operation = operation;
+            this.found = found;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.springmvc.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 뷰 렌더링 하나 (컨트롤러 종료 ~ 렌더링 종료)
+ * postHandle 에서 시작해 afterCompletion 에서 끝나므로 요청 속성으로 넘긴다 (JfrEventInterceptor)
+ */
+@Name("springmvc.TemplateRender")
+@Label("Template Render")
+@Category({"springmvc", "View"})
+@Description("뷰 이름별 렌더링 시간")
+@Enabled(false)
+@StackTrace(false)
+public class TemplateRenderEvent extends Event {
+
+    @Label("View Name")
+    String viewName;
+
+    @Label("Handler")
+    String handler;
+
+    @Label("Failed")
+    boolean failed;
+
+    TemplateRenderEvent start(String viewName, String handler) {
+        this.viewName = viewName;
+        this.handler = handler;
+        begin();
+        return this;
+    }
+
+    void end(boolean failed) {
+        end();
+        if (shouldCommit()) {
+            this.failed = failed;
+            commit();
+        }
+    }
+}
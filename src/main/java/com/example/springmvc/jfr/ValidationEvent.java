@@ -0,0 +1,40 @@
+package com.example.springmvc.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 폼 / JSON 검증 결과 하나
+ * controller 는 컨트롤러 클래스 이름 (ValidationItemControllerV1 ~ V4 등) → 버전별로 오류 비율을 비교할 수 있다
+ */
+@Name("springmvc.Validation")
+@Label("Validation Outcome")
+@Category({"springmvc", "Validation"})
+@Description("컨트롤러별 검증 결과")
+@Enabled(false)
+@StackTrace(false)
+public class ValidationEvent extends Event {
+
+    @Label("Controller")
+    String controller;
+
+    @Label("Method")
+    String method;
+
+    @Label("Object Name")
+    String objectName;
+
+    @Label("Valid")
+    boolean valid;
+
+    @Label("Field Errors")
+    int fieldErrorCount;
+
+    @Label("Global Errors")
+    int globalErrorCount;
+}
@@ -0,0 +1,37 @@
+package com.example.springmvc.jfr;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.InitBinder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 요청에서 만들어진 WebDataBinder 를 모아 둔다 → JfrEventInterceptor 가 바인딩 / 검증 결과를 기록
+ *
+ * [왜 binder 인가]
+ * V1 / V2 는 컨트롤러 안에서 직접 검증하고, V3 / V4 는 @Validated 로 검증한다.
+ * 어느 쪽이든 결과는 binder 의 BindingResult 에 남으므로 (V1 은 errors Map) 컨트롤러를 고치지 않고 모두 볼 수 있다.
+ *
+ * 폼 제출 / JSON 요청(GET 이외)만 대상이며, ValidationEvent 가 꺼져 있으면 아무것도 하지 않는다.
+ */
+@ControllerAdvice
+public class ValidationEventAdvice {
+
+    @InitBinder
+    public void collectBinder(WebDataBinder binder, HttpServletRequest request) {
+        if (HttpMethod.GET.matches(request.getMethod()) || !new ValidationEvent().isEnabled()) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<WebDataBinder> binders = (List<WebDataBinder>) request.getAttribute(JfrEventInterceptor.BINDERS_ATTR);
+        if (binders == null) {
+            binders = new ArrayList<>(2);
+            request.setAttribute(JfrEventInterceptor.BINDERS_ATTR, binders);
+        }
+        binders.add(binder);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.springmvc.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 버린 로그 수를 세는 AsyncAppender (logback-spring.xml)
+ *
+ * [AsyncAppender 동작]
+ * 로그 호출 스레드는 이벤트를 고정 크기 큐에 넣기만 하고, 별도 스레드 하나가 꺼내서 콘솔에 쓴다.
+ * - 큐 남은 칸이 discardingThreshold 이하 → TRACE / DEBUG / INFO 를 버린다 (WARN / ERROR 는 유지)
+ * - neverBlock=true 이고 큐가 가득 참 → 레벨과 상관없이 버린다 (요청 스레드가 기다리지 않음)
+ * logback 은 버린 수를 따로 세지 않으므로 여기서 센다 → app.logging.async.events{result} (MetricsConfig)
+ *
+ * 스프링 부트가 시작하면서 로깅 설정을 다시 읽어 appender 가 새로 만들어지므로
+ * 카운터는 static 으로 두고, 큐 크기는 가장 최근에 시작한 appender 에서 읽는다.
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+
+    private static final LongAdder DISCARDED = new LongAdder();
+    private static final LongAdder DROPPED = new LongAdder();
+
+    private static volatile CountingAsyncAppender current;
+
+    @Override
+    public void start() {
+        super.start();
+        if (isStarted()) {
+            current = this;
+        }
+    }
+
+    @Override
+    protected void append(ILoggingEvent eventObject) {
+        // 큐가 가득 찬 상태에서 neverBlock 이면 offer 가 조용히 실패하므로 미리 확인해서 센다
+        if (isStarted() && isNeverBlock() && getRemainingCapacity() == 0) {
+            DROPPED.increment();
+            return;
+        }
+        super.append(eventObject);
+    }
+
+    /**
+     * 큐 남은 칸이 discardingThreshold 이하일 때만 호출된다
+     */
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        boolean discardable = super.isDiscardable(event);
+        if (discardable) {
+            DISCARDED.increment();
+        }
+        return discardable;
+    }
+
+    public static long getDiscardedCount() {
+        return DISCARDED.sum();
+    }
+
+    public static long getDroppedCount() {
+        return DROPPED.sum();
+    }
+
+    /**
+     * @return 큐에 쌓인 이벤트 수 (appender 가 없으면 0)
+     */
+    public static int getQueuedCount() {
+        CountingAsyncAppender appender = current;
+        return appender != null && appender.isStarted() ? appender.getNumberOfElementsInQueue() : 0;
+    }
+}
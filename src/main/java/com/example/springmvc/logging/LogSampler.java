@@ -0,0 +1,86 @@
+package com.example.springmvc.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 요청 경로(hot path) 로그용 샘플링 / 초당 제한
+ *
+ * [왜 필요한가]
+ * 요청마다 찍히는 info 로그는 부하가 걸리면 초당 수천 줄이 되어 비동기 큐를 채우고,
+ * 큐가 차면 중요한 로그까지 버려진다. 같은 종류의 로그는 일부만 남겨도 충분하다.
+ *
+ * [사용법]
+ * private static final LogSampler ADD_ITEM_LOG = LogSampler.perSecond(10);
+ * if (ADD_ITEM_LOG.tryAcquire()) { log.info(...); }
+ *
+ * [구현]
+ * - perSecond: 약 1초(2^30 ns) 창마다 허용 개수를 센다. 창이 바뀌는 순간의 경합으로 몇 개 더 허용될 수 있다.
+ * - oneIn: n 번에 한 번
+ * 허용 / 생략 수는 전체 합계로만 센다 → app.logging.sampled{result} (MetricsConfig)
+ * DEBUG 가 켜진 로거는 제한 없이 보고 싶을 때가 많으므로 호출하는 쪽에서 isDebugEnabled() 와 함께 쓴다.
+ */
+public final class LogSampler {
+
+    private static final int WINDOW_SHIFT = 30;
+
+    private static final LongAdder ALLOWED = new LongAdder();
+    private static final LongAdder SUPPRESSED = new LongAdder();
+
+    private final long permitsPerWindow;
+    private final long sampleRate;
+    private final AtomicLong counter = new AtomicLong();
+    private volatile long window;
+
+    private LogSampler(long permitsPerWindow, long sampleRate) {
+        this.permitsPerWindow = permitsPerWindow;
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * 초당 permits 개까지만 허용
+     */
+    public static LogSampler perSecond(int permits) {
+        if (permits < 1) {
+            throw new IllegalArgumentException("permits 는 1 이상이어야 합니다: " + permits);
+        }
+        return new LogSampler(permits, 0L);
+    }
+
+    /**
+     * n 번에 한 번만 허용 (첫 번째 호출은 허용)
+     */
+    public static LogSampler oneIn(int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("n 은 1 이상이어야 합니다: " + n);
+        }
+        return new LogSampler(0L, n);
+    }
+
+    public boolean tryAcquire() {
+        boolean allowed = sampleRate > 0 ? counter.getAndIncrement() % sampleRate == 0 : acquireInWindow();
+        if (allowed) {
+            ALLOWED.increment();
+        } else {
+            SUPPRESSED.increment();
+        }
+        return allowed;
+    }
+
+    private boolean acquireInWindow() {
+        long current = System.nanoTime() >>> WINDOW_SHIFT;
+        if (current != window) {
+            window = current;
+            counter.set(0L);
+        }
+        return counter.incrementAndGet() <= permitsPerWindow;
+    }
+
+    public static long getAllowedCount() {
+        return ALLOWED.sum();
+    }
+
+    public static long getSuppressedCount() {
+        return SUPPRESSED.sum();
+    }
+}
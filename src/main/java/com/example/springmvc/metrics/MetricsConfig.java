@@ -0,0 +1,219 @@
+package com.example.springmvc.metrics;
+
+import com.example.springmvc.domain.item.InventoryReservations;
+import com.example.springmvc.domain.item.ItemAggregates;
+import com.example.springmvc.domain.item.ItemRepository;
+import com.example.springmvc.domain.member.MemberRepository;
+import com.example.springmvc.logging.CountingAsyncAppender;
+import com.example.springmvc.logging.LogSampler;
+import com.example.springmvc.security.CustomUserDetailsService;
+import com.example.springmvc.security.LoginRateLimiter;
+import com.example.springmvc.session.NearCacheSessionRepository;
+import com.example.springmvc.session.ShardedMapSessionRepository;
+import com.example.springmvc.web.item.ItemChangeBroadcaster;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.Filter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.session.web.http.SessionRepositoryFilter;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * 애플리케이션 지표 설정 (Micrometer → /actuator/prometheus)
+ *
+ * [타이머]
+ * - app.repository{repository, operation}: ItemRepository / MemberRepository 연산
+ * - app.request.phase{handler, phase}: 요청 구간 (컨트롤러, 뷰 렌더링, 세션 조회, 세션 저장)
+ * - app.validation: @Validated 검증 (Bean Validation)
+ * - 요청 전체 시간은 Spring Boot 기본 지표 http.server.requests 를 본다
+ *
+ * [게이지 / 카운터]
+ * - 저장소 크기, 진행 중인 재고 예약 수, 세션 저장소 크기, principal 인덱스 크기, L1 세션 캐시 크기
+ * - 로그인 사용자 캐시 크기 / 적중률, 로그인 시도 제한 허용 / 거부 수
+ * - 비동기 로그 큐 크기 / 버린 로그 수, hot path 로그 샘플링 허용 / 생략 수
+ * 게이지는 스크랩할 때만 읽으므로 요청 처리 비용과 무관하다.
+ *
+ * [Server-Timing 헤더]
+ * 같은 구간을 응답 헤더로도 내보낸다 (app.metrics.server-timing.enabled, 기본 꺼짐)
+ *
+ * [필터 순서]
+ * RequestTimingFilter(세션 필터 바로 바깥) → SessionRepositoryFilter → 세션 저장 시작 표시(바로 안쪽) → Security ...
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<LocalValidatorFactoryBean> beanValidator;
+
+    public MetricsConfig(MeterRegistry meterRegistry, ObjectProvider<LocalValidatorFactoryBean> beanValidator) {
+        this.meterRegistry = meterRegistry;
+        this.beanValidator = beanValidator;
+    }
+
+    @Bean
+    public RequestMetrics requestMetrics() {
+        return new RequestMetrics(meterRegistry);
+    }
+
+    /**
+     * Filter 를 빈으로 만들지 않고 FilterRegistrationBean 으로 순서를 지정해 등록한다
+     */
+    @Bean
+    public FilterRegistrationBean<RequestTimingFilter> requestTimingFilter(
+            RequestMetrics requestMetrics,
+            @Value("${app.metrics.server-timing.enabled:false}") boolean serverTimingEnabled,
+            @Value("${app.metrics.server-timing.exclude-paths:/api/items/snapshot}") List<String> excludePaths) {
+        FilterRegistrationBean<RequestTimingFilter> registration = new FilterRegistrationBean<>(
+                new RequestTimingFilter(requestMetrics, serverTimingEnabled, excludePaths));
+        registration.setOrder(SessionRepositoryFilter.DEFAULT_ORDER - 1);
+        return registration;
+    }
+
+    /**
+     * 세션 필터 바로 안쪽 - 안쪽 체인이 끝난 시각을 표시 (이후 세션 필터가 세션을 저장한다)
+     */
+    @Bean
+    public FilterRegistrationBean<Filter> sessionCommitMarkFilter() {
+        Filter filter = (request, response, chain) -> {
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                RequestTimings timings = RequestTimings.current();
+                if (timings != null) {
+                    timings.chainEnded();
+                }
+            }
+        };
+        FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(SessionRepositoryFilter.DEFAULT_ORDER + 1);
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestTimingInterceptor());
+    }
+
+    /**
+     * @Validated 에 쓰이는 MVC Validator 를 시간 측정 래퍼로 감싼다
+     */
+    @Override
+    public Validator getValidator() {
+        LocalValidatorFactoryBean validator = beanValidator.getIfUnique();
+        if (validator == null) {
+            return null;
+        }
+        Timer timer = Timer.builder("app.validation")
+                .description("Bean Validation 검증 시간")
+                .tag("validator", "bean")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        return new TimedValidator(validator, timer);
+    }
+
+    @Bean
+    public MeterBinder repositoryMetrics(ItemRepository itemRepository, MemberRepository memberRepository,
+                                         InventoryReservations inventoryReservations, ItemAggregates itemAggregates) {
+        return registry -> {
+            Gauge.builder("app.repository.size", itemRepository, ItemRepository::size)
+                    .tag("repository", "item").register(registry);
+            Gauge.builder("app.repository.size", memberRepository, MemberRepository::size)
+                    .tag("repository", "member").register(registry);
+            Gauge.builder("app.inventory.reservations", inventoryReservations, InventoryReservations::getReservationCount)
+                    .description("확정 / 해제 / 만료 전인 재고 예약 수").register(registry);
+            Gauge.builder("app.item.stock.value", itemAggregates, aggregates -> aggregates.getTotal().getStockValue())
+                    .description("전체 상품 재고 금액 (price * quantity 합)").register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder itemStreamMetrics(ItemChangeBroadcaster itemChangeBroadcaster) {
+        return registry -> {
+            Gauge.builder("app.item.stream.subscribers", itemChangeBroadcaster, ItemChangeBroadcaster::getSubscriberCount)
+                    .description("상품 변경 SSE 구독자 수").register(registry);
+            FunctionCounter.builder("app.item.stream.resets", itemChangeBroadcaster, ItemChangeBroadcaster::getResetCount)
+                    .description("버퍼가 넘쳐 reset 으로 대신한 횟수").register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder securityMetrics(CustomUserDetailsService userDetailsService, LoginRateLimiter loginRateLimiter) {
+        return registry -> {
+            Gauge.builder("app.user.cache.size", userDetailsService, CustomUserDetailsService::getUserCacheSize)
+                    .tag("cache", "user").register(registry);
+            Gauge.builder("app.user.cache.size", userDetailsService, CustomUserDetailsService::getUnknownLoginIdCacheSize)
+                    .tag("cache", "unknown_login_id").register(registry);
+            FunctionCounter.builder("app.user.cache.requests", userDetailsService,
+                            service -> service.getUserCacheStats().hitCount())
+                    .tag("cache", "user").tag("result", "hit").register(registry);
+            FunctionCounter.builder("app.user.cache.requests", userDetailsService,
+                            service -> service.getUserCacheStats().missCount())
+                    .tag("cache", "user").tag("result", "miss").register(registry);
+            FunctionCounter.builder("app.user.cache.requests", userDetailsService,
+                            service -> service.getUnknownLoginIdCacheStats().hitCount())
+                    .tag("cache", "unknown_login_id").tag("result", "hit").register(registry);
+            FunctionCounter.builder("app.user.cache.requests", userDetailsService,
+                            service -> service.getUnknownLoginIdCacheStats().missCount())
+                    .tag("cache", "unknown_login_id").tag("result", "miss").register(registry);
+
+            FunctionCounter.builder("app.login.rate.limit", loginRateLimiter, LoginRateLimiter::getAllowedCount)
+                    .tag("result", "allowed").register(registry);
+            FunctionCounter.builder("app.login.rate.limit", loginRateLimiter, LoginRateLimiter::getRejectedByIpCount)
+                    .tag("result", "rejected_ip").register(registry);
+            FunctionCounter.builder("app.login.rate.limit", loginRateLimiter, LoginRateLimiter::getRejectedByLoginIdCount)
+                    .tag("result", "rejected_login_id").register(registry);
+        };
+    }
+
+    /**
+     * 세션 저장소 종류(app.session.store)에 따라 있는 빈만 등록한다
+     */
+    @Bean
+    public MeterBinder sessionMetrics(ObjectProvider<NearCacheSessionRepository<?>> nearCacheSessionRepository,
+                                      ObjectProvider<ShardedMapSessionRepository> shardedMapSessionRepository) {
+        return registry -> {
+            nearCacheSessionRepository.ifAvailable(repository ->
+                    Gauge.builder("app.session.near.cache.size", repository, NearCacheSessionRepository::getCachedSessionCount)
+                            .register(registry));
+            shardedMapSessionRepository.ifAvailable(repository -> {
+                Gauge.builder("app.session.store.size", repository, ShardedMapSessionRepository::getSessionCount)
+                        .register(registry);
+                Gauge.builder("app.session.principal.index.size", repository,
+                                ShardedMapSessionRepository::getPrincipalIndexSize)
+                        .register(registry);
+            });
+        };
+    }
+
+    @Bean
+    public MeterBinder loggingMetrics() {
+        return registry -> {
+            Gauge.builder("app.logging.async.queue.size", CountingAsyncAppender::getQueuedCount)
+                    .description("비동기 로그 큐에 쌓인 이벤트 수").register(registry);
+            FunctionCounter.builder("app.logging.async.events", CountingAsyncAppender.class,
+                            appender -> CountingAsyncAppender.getDiscardedCount())
+                    .description("큐가 차서 버린 로그 수")
+                    .tag("result", "discarded").register(registry);
+            FunctionCounter.builder("app.logging.async.events", CountingAsyncAppender.class,
+                            appender -> CountingAsyncAppender.getDroppedCount())
+                    .tag("result", "dropped").register(registry);
+            FunctionCounter.builder("app.logging.sampled", LogSampler.class, sampler -> LogSampler.getAllowedCount())
+                    .description("hot path 로그 샘플링 결과")
+                    .tag("result", "allowed").register(registry);
+            FunctionCounter.builder("app.logging.sampled", LogSampler.class, sampler -> LogSampler.getSuppressedCount())
+                    .tag("result", "suppressed").register(registry);
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.springmvc.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+
+/**
+ * 저장소 연산 타이머 (app.repository)
+ *
+ * 태그: repository=item|member, operation=save|findById|...
+ * 저장소가 생성될 때 연산별로 한 번 만들어 필드에 두고, 호출마다 record(long, TimeUnit) 만 한다.
+ * 메모리 저장소 연산은 마이크로초 단위이므로 히스토그램 범위를 그에 맞춘다.
+ */
+public final class RepositoryTimers {
+
+    private RepositoryTimers() {
+    }
+
+    public static Timer timer(MeterRegistry registry, String repository, String operation) {
+        return Timer.builder("app.repository")
+                .description("저장소 연산 시간")
+                .tag("repository", repository)
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(100))
+                .maximumExpectedValue(Duration.ofMillis(100))
+                .register(registry);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.springmvc.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.web.method.HandlerMethod;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 구간별 타이머 (app.request.phase)
+ *
+ * 태그: handler=컨트롤러#메서드, phase=handler|render|session_load|session_commit
+ * 핸들러(Method)마다 타이머 묶음을 처음 한 번만 만들고, 이후에는 맵 조회만 한다.
+ * → 요청마다 태그 문자열이나 Meter.Id 를 만들지 않는다.
+ */
+public class RequestMetrics {
+
+    private static final String NO_HANDLER = "none";
+
+    private final MeterRegistry registry;
+    private final ConcurrentHashMap<Method, PhaseTimers> timersByHandler = new ConcurrentHashMap<>();
+    private final PhaseTimers noHandlerTimers;
+
+    public RequestMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.noHandlerTimers = new PhaseTimers(registry, NO_HANDLER);
+    }
+
+    void record(RequestTimings timings, long requestEnd) {
+        PhaseTimers timers = timersFor(timings.getHandler());
+        record(timers.handler, timings.handlerNanos());
+        record(timers.render, timings.renderNanos());
+        record(timers.sessionLoad, timings.getSessionLoadNanos());
+        record(timers.sessionCommit, timings.sessionCommitNanos(requestEnd));
+    }
+
+    /**
+     * Server-Timing 설명용 핸들러 이름 (컨트롤러#메서드), 핸들러가 없으면 null
+     */
+    String handlerName(Object handler) {
+        return handler instanceof HandlerMethod ? timersFor(handler).handlerName : null;
+    }
+
+    private PhaseTimers timersFor(Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return noHandlerTimers;
+        }
+        Method method = handlerMethod.getMethod();
+        PhaseTimers timers = timersByHandler.get(method);
+        if (timers == null) {
+            timers = timersByHandler.computeIfAbsent(method, key -> new PhaseTimers(registry,
+                    handlerMethod.getBeanType().getSimpleName() + "#" + key.getName()));
+        }
+        return timers;
+    }
+
+    private static void record(Timer timer, long nanos) {
+        if (nanos >= 0) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static final class PhaseTimers {
+
+        private final String handlerName;
+        private final Timer handler;
+        private final Timer render;
+        private final Timer sessionLoad;
+        private final Timer sessionCommit;
+
+        private PhaseTimers(MeterRegistry registry, String handlerName) {
+            this.handlerName = handlerName;
+            this.handler = timer(registry, handlerName, "handler");
+            this.render = timer(registry, handlerName, "render");
+            this.sessionLoad = timer(registry, handlerName, "session_load");
+            this.sessionCommit = timer(registry, handlerName, "session_commit");
+        }
+
+        private static Timer timer(MeterRegistry registry, String handlerName, String phase) {
+            return Timer.builder("app.request.phase")
+                    .description("요청 구간별 처리 시간")
+                    .tag("handler", handlerName)
+                    .tag("phase", phase)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(10_000))
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.springmvc.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 요청 구간 측정의 시작과 끝 - 세션 필터(SessionRepositoryFilter)보다 바깥에서 실행한다
+ *
+ * 세션 필터는 안쪽 체인이 끝난 뒤 세션을 저장하므로,
+ * 안쪽 표시(chainEnded) ~ 이 필터 종료 구간이 세션 저장 시간이 된다. (MetricsConfig 참고)
+ *
+ * 비동기 요청(SSE 등)은 다른 스레드에서 끝나므로 측정하지 않는다.
+ *
+ * [Server-Timing]
+ * app.metrics.server-timing.enabled=true 이면 응답에 구간별 시간을 Server-Timing 헤더로 붙인다.
+ * (브라우저 개발자 도구 Network → Timing 탭에서 확인)
+ * 꺼져 있으면 래퍼, 문자열 등 아무것도 만들지 않는다.
+ * - 스트리밍 응답(text/event-stream)은 본문을 모아 둘 수 없으므로 래퍼가 응답의 Content-Type 을 보고 그대로 흘려보낸다.
+ * - 파일 응답(excludePaths, 예: /api/items/snapshot)도 제외한다
+ *   → 래퍼가 수 MB 본문을 메모리에 모으고 Content-Length / sendfile 을 삼켜 버린다
+ * - 비동기 요청은 헤더를 붙이지 않고, 모아 둔 본문만 마지막 비동기 디스패치가 끝날 때 내보낸다 (ShallowEtagHeaderFilter 와 같은 방식)
+ *   RequestTimings 는 스레드마다 재사용하므로 원래 스레드가 돌아가기 전에 래퍼에서 떼어 낸다
+ */
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    private final RequestMetrics requestMetrics;
+    private final boolean serverTimingEnabled;
+    private final List<String> excludePaths;
+
+    public RequestTimingFilter(RequestMetrics requestMetrics, boolean serverTimingEnabled, List<String> excludePaths) {
+        this.requestMetrics = requestMetrics;
+        this.serverTimingEnabled = serverTimingEnabled;
+        this.excludePaths = excludePaths;
+    }
+
+    /**
+     * 비동기 디스패치에서도 실행한다 → 비동기로 끝난 요청의 래퍼를 그때 내보낸다
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (isAsyncDispatch(request)) {
+            filterChain.doFilter(request, response);
+            ServerTimingResponseWrapper serverTiming =
+                    WebUtils.getNativeResponse(response, ServerTimingResponseWrapper.class);
+            if (serverTiming != null && !request.isAsyncStarted()) {
+                serverTiming.complete();
+            }
+            return;
+        }
+
+        RequestTimings timings = RequestTimings.begin();
+        ServerTimingResponseWrapper serverTiming = serverTimingEnabled && !isExcluded(request)
+                ? new ServerTimingResponseWrapper(response, timings, requestMetrics)
+                : null;
+        try {
+            filterChain.doFilter(request, serverTiming != null ? serverTiming : response);
+            if (serverTiming != null && !request.isAsyncStarted()) {
+                serverTiming.complete();
+            }
+        } finally {
+            if (!request.isAsyncStarted()) {
+                requestMetrics.record(timings, System.nanoTime());
+            } else if (serverTiming != null) {
+                serverTiming.detachTimings(); // 이 스레드의 다음 요청이 timings 를 다시 쓴다
+            }
+            timings.end();
+        }
+    }
+
+    private boolean isExcluded(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String excludePath : excludePaths) {
+            if (path.startsWith(excludePath)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
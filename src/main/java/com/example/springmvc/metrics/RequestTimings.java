@@ -0,0 +1,124 @@
+package com.example.springmvc.metrics;
+
+/**
+ * 요청 하나의 구간별 시각(System.nanoTime)
+ *
+ * [할당 없음]
+ * 요청마다 객체를 만들지 않고 스레드마다 하나를 만들어 재사용한다.
+ * 서블릿 요청은 처음부터 끝까지 한 스레드에서 처리되므로 (비동기 요청 제외) 스레드 로컬로 충분하다.
+ *
+ * [구간]
+ * requestStart ─ (세션 필터 / Security 필터 체인) ─ handlerStart ─ 컨트롤러 ─ handlerEnd
+ *   ─ 뷰 렌더링 ─ renderEnd ─ (필터 복귀) ─ chainEnd ─ 세션 저장(commit) ─ 요청 종료
+ * sessionLoadNanos: 요청 중 세션 저장소 조회(findById)에 걸린 시간의 합
+ */
+public final class RequestTimings {
+
+    private static final ThreadLocal<RequestTimings> CURRENT = ThreadLocal.withInitial(RequestTimings::new);
+
+    private boolean active;
+    private long requestStart;
+    private long handlerStart;
+    private long handlerEnd;
+    private long renderEnd;
+    private long chainEnd;
+    private long sessionLoadNanos;
+    private Object handler;
+
+    private RequestTimings() {
+    }
+
+    static RequestTimings begin() {
+        RequestTimings timings = CURRENT.get();
+        timings.active = true;
+        timings.requestStart = System.nanoTime();
+        timings.handlerStart = 0L;
+        timings.handlerEnd = 0L;
+        timings.renderEnd = 0L;
+        timings.chainEnd = 0L;
+        timings.sessionLoadNanos = 0L;
+        timings.handler = null;
+        return timings;
+    }
+
+    /**
+     * @return 측정 중인 요청이 없으면 null
+     */
+    static RequestTimings current() {
+        RequestTimings timings = CURRENT.get();
+        return timings.active ? timings : null;
+    }
+
+    void end() {
+        active = false;
+        handler = null;
+    }
+
+    /**
+     * 세션 저장소가 조회 시간을 더한다 (측정 중이 아니면 무시)
+     */
+    public static void addSessionLoad(long nanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings.active) {
+            timings.sessionLoadNanos += nanos;
+        }
+    }
+
+    void handlerStarted(Object handler) {
+        this.handler = handler;
+        this.handlerStart = System.nanoTime();
+    }
+
+    void handlerEnded() {
+        this.handlerEnd = System.nanoTime();
+    }
+
+    void renderEnded() {
+        this.renderEnd = System.nanoTime();
+    }
+
+    void chainEnded() {
+        this.chainEnd = System.nanoTime();
+    }
+
+    Object getHandler() {
+        return handler;
+    }
+
+    long getRequestStart() {
+        return requestStart;
+    }
+
+    long getSessionLoadNanos() {
+        return sessionLoadNanos;
+    }
+
+    /**
+     * 컨트롤러 실행 시간 (예외로 postHandle 이 호출되지 않았으면 afterCompletion 까지)
+     */
+    long handlerNanos() {
+        if (handlerStart == 0L) {
+            return -1L;
+        }
+        long end = handlerEnd != 0L ? handlerEnd : renderEnd;
+        return end != 0L ? end - handlerStart : -1L;
+    }
+
+    long renderNanos() {
+        return handlerEnd != 0L && renderEnd != 0L ? renderEnd - handlerEnd : -1L;
+    }
+
+    /**
+     * 세션 필터 안쪽 체인이 끝난 뒤부터 요청 종료까지 = 세션 저장 시간
+     */
+    long sessionCommitNanos(long requestEnd) {
+        return chainEnd != 0L ? requestEnd - chainEnd : -1L;
+    }
+
+    /**
+     * 요청 시작부터 컨트롤러 진입까지 (세션 필터 + Security 필터 체인), 세션 조회 시간 제외
+     */
+    long securityNanos() {
+        return handlerStart != 0L ? handlerStart - requestStart - sessionLoadNanos : -1L;
+    }
+}
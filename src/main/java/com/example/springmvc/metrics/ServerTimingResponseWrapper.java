@@ -0,0 +1,136 @@
+package com.example.springmvc.metrics;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Server-Timing 헤더를 붙이기 위한 응답 래퍼 (app.metrics.server-timing.enabled=true 일 때만 사용)
+ *
+ * 헤더는 본문보다 먼저 나가야 하는데, 세션 저장은 뷰 렌더링이 끝난 뒤에 일어난다.
+ * → 본문을 메모리에 모아 두었다가 모든 구간이 끝난 뒤 헤더를 붙이고 내보낸다.
+ * 리다이렉트 / 오류 응답은 그 시점에 바로 커밋되므로 그때까지 측정된 구간만 담는다.
+ *
+ * [스트리밍 응답]
+ * Content-Type 이 text/event-stream 이면 모으지 않고 원래 응답으로 바로 쓴다 (헤더도 붙이지 않음).
+ * 요청의 Accept 가 아니라 실제로 만든 응답의 Content-Type 으로 판단한다 → Accept 에 text/event-stream 이 없는 SSE 요청도 모으지 않는다.
+ *
+ * [비동기 요청]
+ * RequestTimings 는 스레드마다 재사용하는 객체다. 비동기로 넘어가면 원래 스레드가 곧 다음 요청에 다시 쓰므로
+ * 필터가 detachTimings() 로 놓아 주고, 이 요청에는 헤더를 붙이지 않는다 (모아 둔 본문만 마지막 디스패치에서 내보낸다).
+ */
+public class ServerTimingResponseWrapper extends ContentCachingResponseWrapper {
+
+    public static final String HEADER_NAME = "Server-Timing";
+
+    private final RequestMetrics requestMetrics;
+    private volatile RequestTimings timings;
+
+    public ServerTimingResponseWrapper(HttpServletResponse response, RequestTimings timings,
+                                       RequestMetrics requestMetrics) {
+        super(response);
+        this.timings = timings;
+        this.requestMetrics = requestMetrics;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        return isEventStream() ? getResponse().getOutputStream() : super.getOutputStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        return isEventStream() ? getResponse().getWriter() : super.getWriter();
+    }
+
+    /**
+     * 스트리밍 응답은 이벤트마다 바로 내보낸다 (ContentCachingResponseWrapper 는 flush 를 무시한다)
+     */
+    @Override
+    public void flushBuffer() throws IOException {
+        if (isEventStream()) {
+            getResponse().flushBuffer();
+        } else {
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        writeHeader();
+        super.sendRedirect(location);
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        writeHeader();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        writeHeader();
+        super.sendError(sc, msg);
+    }
+
+    /**
+     * 비동기로 넘어간 요청 - 원래 스레드의 RequestTimings 를 더 이상 보지 않는다 (헤더 없음)
+     */
+    void detachTimings() {
+        this.timings = null;
+    }
+
+    /**
+     * 모든 구간이 끝난 뒤 헤더를 붙이고 모아 둔 본문을 내보낸다
+     */
+    public void complete() throws IOException {
+        writeHeader();
+        copyBodyToResponse();
+    }
+
+    private void writeHeader() {
+        RequestTimings current = timings;
+        HttpServletResponse response = (HttpServletResponse) getResponse();
+        if (current == null || response.isCommitted() || response.containsHeader(HEADER_NAME)) {
+            return;
+        }
+        response.setHeader(HEADER_NAME, format(current, System.nanoTime()));
+    }
+
+    private boolean isEventStream() {
+        String contentType = getContentType();
+        return contentType != null && contentType.startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+
+    /**
+     * 예) security;dur=1.2, session-load;dur=0.31, handler;dur=4.05;desc="ItemController#items",
+     *     render;dur=2.5, session-commit;dur=0.8, total;dur=9.1
+     */
+    private String format(RequestTimings timings, long now) {
+        StringBuilder header = new StringBuilder(160);
+        append(header, "security", timings.securityNanos(), null);
+        append(header, "session-load", timings.getSessionLoadNanos(), null);
+        append(header, "handler", timings.handlerNanos(), requestMetrics.handlerName(timings.getHandler()));
+        append(header, "render", timings.renderNanos(), null);
+        append(header, "session-commit", timings.sessionCommitNanos(now), null);
+        append(header, "total", now - timings.getRequestStart(), null);
+        return header.toString();
+    }
+
+    private static void append(StringBuilder header, String name, long nanos, String description) {
+        if (nanos < 0) {
+            return;
+        }
+        if (header.length() > 0) {
+            header.append(", ");
+        }
+        header.append(name).append(";dur=").append(Math.round(nanos / 10_000.0) / 100.0);
+        if (description != null) {
+            header.append(";desc=\"").append(description).append('"');
+        }
+    }
+}
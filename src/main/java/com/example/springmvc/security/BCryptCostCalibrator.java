@@ -0,0 +1,76 @@
+package com.example.springmvc.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+/**
+ * BCrypt 비용 계수(cost factor) 자동 보정기
+ *
+ * [왜 필요한가]
+ * new BCryptPasswordEncoder() 는 cost 10 고정이다.
+ * cost가 1 오를 때마다 해시 시간이 2배가 되므로, 같은 값이라도 서버 사양에 따라
+ * 로그인 1회당 CPU 사용량이 크게 달라진다.
+ *
+ * [동작 방식]
+ * 1. 낮은 cost(4)로 여러 번 해싱해서 JIT 워밍업
+ * 2. minCost 부터 cost를 1씩 올리며 실제 해시 시간을 측정
+ * 3. 목표 지연시간(targetMillis) 이내인 가장 높은 cost 를 선택
+ *    - 단, 보안 하한선인 minCost 아래로는 절대 내려가지 않는다
+ */
+@Slf4j
+public final class BCryptCostCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+    private static final int WARM_UP_COST = 4;
+    private static final int WARM_UP_ROUNDS = 20;
+    private static final int MEASURE_ROUNDS = 2;
+
+    private BCryptCostCalibrator() {
+    }
+
+    /**
+     * @param targetMillis 해시 1회당 목표 지연시간 (ms)
+     * @param minCost      보안 하한 cost (4~31)
+     * @param maxCost      상한 cost (4~31)
+     * @return 목표 지연시간을 넘지 않는 가장 높은 cost (최소 minCost)
+     */
+    public static int calibrate(long targetMillis, int minCost, int maxCost) {
+        if (minCost < 4 || maxCost > 31 || minCost > maxCost) {
+            throw new IllegalArgumentException("BCrypt cost 범위가 올바르지 않습니다: " + minCost + "~" + maxCost);
+        }
+
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            BCrypt.hashpw(SAMPLE_PASSWORD, BCrypt.gensalt(WARM_UP_COST));
+        }
+
+        int chosen = minCost;
+        for (int cost = minCost; cost <= maxCost; cost++) {
+            long elapsed = measureMillis(cost);
+            log.debug("BCrypt calibration: cost={}, elapsed={}ms", cost, elapsed);
+
+            if (elapsed > targetMillis) {
+                break;
+            }
+            chosen = cost;
+
+            // 다음 cost는 약 2배 느리므로 목표를 확실히 넘는다면 측정 자체를 생략
+            if (elapsed * 2 > targetMillis) {
+                break;
+            }
+        }
+
+        log.info("BCrypt cost calibrated: cost={}, target={}ms", chosen, targetMillis);
+        return chosen;
+    }
+
+    // 측정 노이즈(GC, 스케줄링)를 줄이기 위해 여러 번 재서 가장 빠른 값을 사용
+    private static long measureMillis(int cost) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw(SAMPLE_PASSWORD, BCrypt.gensalt(cost));
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1_000_000;
+    }
+}
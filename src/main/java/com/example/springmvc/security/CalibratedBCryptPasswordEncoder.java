@@ -0,0 +1,43 @@
+package com.example.springmvc.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 보정된 cost 를 사용하는 BCryptPasswordEncoder
+ *
+ * [기본 구현과의 차이]
+ * BCryptPasswordEncoder.upgradeEncoding() 은 저장된 해시의 cost가 더 "낮을" 때만 true 를 반환한다.
+ * 여기서는 cost 가 "다르면" true 를 반환하여, 서버 사양이 바뀌어 cost를 낮춘 경우에도
+ * 다음 로그인 시 현재 cost 로 재해싱되도록 한다.
+ */
+public class CalibratedBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    // $2a$10$ + 53자 (salt 22자 + hash 31자)
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\A\\$2([ayb])?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+
+    private final int strength;
+
+    public CalibratedBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+        if (!matcher.matches()) {
+            return false;
+        }
+        return Integer.parseInt(matcher.group(2)) != strength;
+    }
+}
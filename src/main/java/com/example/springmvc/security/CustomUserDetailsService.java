@@ -1,13 +1,23 @@
 package com.example.springmvc.security;
 
 import com.example.springmvc.domain.member.Member;
+import com.example.springmvc.domain.member.MemberChangedEvent;
 import com.example.springmvc.domain.member.MemberRepository;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * Spring Security의 UserDetailsService 구현체
  *
@@ -22,12 +32,47 @@ import org.springframework.stereotype.Service;
  * 4. 반환된 UserDetails의 password를 BCryptPasswordEncoder로 입력값과 비교
  * 5. 일치하면 SecurityContext에 Authentication 저장 → 로그인 성공
  * 6. 불일치하면 AuthenticationException → 로그인 실패
+ *
+ * [UserDetailsPasswordService]
+ * 로그인 성공 후 PasswordEncoder.upgradeEncoding(저장된해시) 가 true 이면
+ * DaoAuthenticationProvider 가 평문 비밀번호를 현재 인코더로 다시 해싱해서 updatePassword() 를 호출한다.
+ * → BCrypt cost 가 바뀌어도 회원이 로그인하는 시점에 자연스럽게 새 cost 로 옮겨간다.
+ *
+ * [UserDetails 캐시]
+ * - userCache: loginId → CustomUserDetails (로그인 시도마다 저장소 조회 + 객체 생성 생략)
+ * - unknownLoginIds: 존재하지 않는 loginId (negative cache)
+ *   → 크리덴셜 스터핑처럼 없는 ID 로 반복 시도할 때 매번 전체 회원을 훑지 않는다
+ * - MemberRepository 가 발행하는 MemberChangedEvent 를 받아 즉시 무효화 (write-through invalidation)
+ * - 두 캐시 모두 크기 제한이 있어 임의의 loginId 를 대량으로 보내도 메모리가 무한히 늘지 않는다
  */
 @Service
-@RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final MemberRepository memberRepository;
+    private final Cache<String, CustomUserDetails> userCache;
+    private final Cache<String, Boolean> unknownLoginIds;
+
+    // 무효화가 일어날 때마다 증가 → 조회 도중에 회원이 바뀌었으면 조회 결과를 캐시하지 않는다
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public CustomUserDetailsService(
+            MemberRepository memberRepository,
+            @Value("${app.security.user-cache.maximum-size:10000}") long maximumSize,
+            @Value("${app.security.user-cache.time-to-live-seconds:600}") long timeToLiveSeconds,
+            @Value("${app.security.user-cache.negative-maximum-size:50000}") long negativeMaximumSize,
+            @Value("${app.security.user-cache.negative-time-to-live-seconds:60}") long negativeTimeToLiveSeconds) {
+        this.memberRepository = memberRepository;
+        this.userCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(timeToLiveSeconds))
+                .recordStats()
+                .build();
+        this.unknownLoginIds = Caffeine.newBuilder()
+                .maximumSize(negativeMaximumSize)
+                .expireAfterWrite(Duration.ofSeconds(negativeTimeToLiveSeconds))
+                .recordStats()
+                .build();
+    }
 
     /**
      * loginId로 회원을 조회하여 CustomUserDetails 로 감싸 반환한다.
@@ -37,9 +82,70 @@ public class CustomUserDetailsService implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Member member = memberRepository.findByLoginId(username)
-                .orElseThrow(() -> new UsernameNotFoundException("회원을 찾을 수 없습니다: " + username));
+        CustomUserDetails cached = userCache.getIfPresent(username);
+        if (cached != null) {
+            return cached;
+        }
+        if (unknownLoginIds.getIfPresent(username) != null) {
+            throw new UsernameNotFoundException("회원을 찾을 수 없습니다: " + username);
+        }
+
+        long generation = invalidations.get();
+        Optional<Member> member = memberRepository.findByLoginId(username);
+
+        if (member.isEmpty()) {
+            if (generation == invalidations.get()) {
+                unknownLoginIds.put(username, Boolean.TRUE);
+            }
+            throw new UsernameNotFoundException("회원을 찾을 수 없습니다: " + username);
+        }
+
+        CustomUserDetails userDetails = new CustomUserDetails(member.get());
+        if (generation == invalidations.get()) {
+            userCache.put(username, userDetails);
+        }
+        return userDetails;
+    }
+
+    /**
+     * 회원 저장 / 비밀번호 변경 → 해당 loginId 의 캐시를 즉시 비운다.
+     * 신규 가입이면 negative cache 에 남아 있던 "없는 ID" 기록도 함께 지운다.
+     */
+    @EventListener
+    public void onMemberChanged(MemberChangedEvent event) {
+        invalidations.incrementAndGet();
+        userCache.invalidate(event.getLoginId());
+        unknownLoginIds.invalidate(event.getLoginId());
+    }
+
+    public CacheStats getUserCacheStats() {
+        return userCache.stats();
+    }
+
+    public CacheStats getUnknownLoginIdCacheStats() {
+        return unknownLoginIds.stats();
+    }
+
+    public long getUserCacheSize() {
+        return userCache.estimatedSize();
+    }
+
+    public long getUnknownLoginIdCacheSize() {
+        return unknownLoginIds.estimatedSize();
+    }
+
+    /**
+     * 재해싱된 비밀번호를 MemberRepository 에 반영한다.
+     *
+     * @param user        로그인에 성공한 사용자 (loadUserByUsername 이 반환한 CustomUserDetails)
+     * @param newPassword 현재 인코더로 새로 해싱된 비밀번호 ("{bcrypt}$2a$..")
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        Member member = memberRepository.findByLoginId(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("회원을 찾을 수 없습니다: " + user.getUsername()));
 
+        memberRepository.updatePassword(member.getId(), newPassword);
         return new CustomUserDetails(member);
     }
 }
@@ -0,0 +1,59 @@
+package com.example.springmvc.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * POST /login 요청을 UsernamePasswordAuthenticationFilter 보다 먼저 검사하는 필터
+ *
+ * 제한에 걸리면 인증(BCrypt)까지 가지 않고 429 Too Many Requests 와 Retry-After 헤더로 바로 응답한다.
+ *
+ * [주의]
+ * Filter 를 스프링 빈으로 등록하면 Spring Boot 가 서블릿 필터로도 자동 등록해서 두 번 실행된다.
+ * → 빈으로 만들지 않고 SecurityConfig 에서 직접 생성해 Security 필터 체인에만 넣는다.
+ */
+@Slf4j
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+
+    private final LoginRateLimiter rateLimiter;
+    private final String loginProcessingUrl;
+    private final String usernameParameter;
+
+    public LoginRateLimitFilter(LoginRateLimiter rateLimiter, String loginProcessingUrl, String usernameParameter) {
+        this.rateLimiter = rateLimiter;
+        this.loginProcessingUrl = loginProcessingUrl;
+        this.usernameParameter = usernameParameter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || !loginProcessingUrl.equals(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String clientIp = request.getRemoteAddr();
+        long retryAfterSeconds = rateLimiter.tryAcquire(clientIp, request.getParameter(usernameParameter));
+
+        if (retryAfterSeconds > 0) {
+            log.debug("로그인 시도 제한 ip={}, retryAfter={}s", clientIp, retryAfterSeconds);
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+            response.setContentType("text/plain;charset=UTF-8");
+            response.getWriter().write("로그인 시도가 너무 많습니다. 잠시 후 다시 시도하세요.");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.springmvc.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 로그인 시도 제한기
+ *
+ * [왜 필요한가]
+ * POST /login 은 제한이 없어서, 크리덴셜 스터핑 공격이 들어오면 시도 수만큼 BCrypt 연산(CPU)과
+ * 세션 저장이 그대로 발생한다.
+ *
+ * [두 가지 기준]
+ * - 클라이언트 IP 별: 한 곳에서 여러 계정을 두드리는 공격
+ * - loginId 별: 여러 곳에서 한 계정을 두드리는 공격
+ * 둘 다 토큰이 남아 있어야 시도가 허용된다.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final boolean enabled;
+    private final StripedTokenBucket byClientIp;
+    private final StripedTokenBucket byLoginId;
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejectedByIp = new LongAdder();
+    private final LongAdder rejectedByLoginId = new LongAdder();
+
+    public LoginRateLimiter(
+            @Value("${app.security.login-rate-limit.enabled:true}") boolean enabled,
+            @Value("${app.security.login-rate-limit.slots:16384}") int slots,
+            @Value("${app.security.login-rate-limit.ip.capacity:20}") int ipCapacity,
+            @Value("${app.security.login-rate-limit.ip.refill-per-minute:20}") int ipRefillPerMinute,
+            @Value("${app.security.login-rate-limit.login-id.capacity:5}") int loginIdCapacity,
+            @Value("${app.security.login-rate-limit.login-id.refill-per-minute:5}") int loginIdRefillPerMinute) {
+        this.enabled = enabled;
+        this.byClientIp = new StripedTokenBucket(slots, ipCapacity, ipRefillPerMinute);
+        this.byLoginId = new StripedTokenBucket(slots, loginIdCapacity, loginIdRefillPerMinute);
+    }
+
+    /**
+     * @return 허용이면 0, 제한이면 다시 시도할 수 있을 때까지 남은 초 (최소 1)
+     */
+    public long tryAcquire(String clientIp, String loginId) {
+        if (!enabled) {
+            return 0;
+        }
+        if (!byClientIp.tryAcquire(clientIp)) {
+            rejectedByIp.increment();
+            return Math.max(1, byClientIp.secondsUntilNextToken(clientIp));
+        }
+        if (loginId != null && !loginId.isEmpty() && !byLoginId.tryAcquire(loginId)) {
+            rejectedByLoginId.increment();
+            return Math.max(1, byLoginId.secondsUntilNextToken(loginId));
+        }
+        allowed.increment();
+        return 0;
+    }
+
+    public long getAllowedCount() {
+        return allowed.sum();
+    }
+
+    public long getRejectedByIpCount() {
+        return rejectedByIp.sum();
+    }
+
+    public long getRejectedByLoginIdCount() {
+        return rejectedByLoginId.sum();
+    }
+}
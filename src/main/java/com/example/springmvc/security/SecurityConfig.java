@@ -1,16 +1,22 @@
 package com.example.springmvc.security;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.core.session.SessionRegistry;
 import org.springframework.security.web.SecurityFilterChain;
-import org.springframework.session.FindByIndexNameSessionRepository;
-import org.springframework.session.Session;
-import org.springframework.session.security.SpringSessionBackedSessionRegistry;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.context.SecurityContextHolderFilter;
+import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
+import org.springframework.security.web.savedrequest.CookieRequestCache;
+
+import java.util.Map;
 
 /**
  * Spring Security 설정 클래스
@@ -32,37 +38,45 @@ import org.springframework.session.security.SpringSessionBackedSessionRegistry;
 public class SecurityConfig {
 
     /**
-     * FindByIndexNameSessionRepository
+     * SessionRegistry
      *
-     * Spring Session이 Redis에 세션을 저장할 때 사용하는 저장소 인터페이스.
-     * "사용자 이름으로 세션을 찾는" 기능을 제공한다.
+     * Spring Security의 동시 세션 제어에서 "현재 로그인된 세션 목록"을 관리하는 역할.
      *
-     * 예) test 계정으로 로그인한 세션이 몇 개인지 Redis에서 조회 가능
-     * → 이 기능이 있어야 중복 로그인 감지가 가능함
+     * 기본 구현체인 SessionRegistryImpl은 JVM 메모리에 세션 목록을 저장한다.
+     * → Redis를 세션 저장소로 쓰면 Security는 메모리, 실제 세션은 Redis → 따로 놀아서 중복 감지 안 됨
      *
-     * Spring Boot가 spring-session-data-redis 의존성을 보고 자동으로 빈을 생성해준다.
-     * 여기서는 생성자 주입으로 받아서 sessionRegistry()에서 사용한다.
+     * 그래서 세션 저장소 설정(session.RedisSessionConfig)에서 Redis 와 연동되는 레지스트리를 빈으로 등록하고
+     * 여기서는 생성자 주입으로 받아서 sessionManagement 에 지정한다.
+     * - CachingSessionRegistry: 세션 상태를 로컬에 캐시하고, 만료는 Redis Pub/Sub 으로 전파
+     * - SpringSessionBackedSessionRegistry: 요청마다 FindByIndexNameSessionRepository 에서 직접 조회
      */
-    private final FindByIndexNameSessionRepository<? extends Session> sessionRepository;
+    private final SessionRegistry sessionRegistry;
 
-    public SecurityConfig(FindByIndexNameSessionRepository<? extends Session> sessionRepository) {
-        this.sessionRepository = sessionRepository;
-    }
+    /**
+     * 로그인 시도 제한기 (IP / loginId 별 토큰 버킷)
+     * POST /login 이 BCrypt 연산까지 가기 전에 LoginRateLimitFilter 에서 걸러낸다.
+     */
+    private final LoginRateLimiter loginRateLimiter;
 
     /**
-     * SpringSessionBackedSessionRegistry
-     *
-     * Spring Security의 동시 세션 제어에서 "현재 로그인된 세션 목록"을 관리하는 역할.
-     *
-     * 기본 구현체인 SessionRegistryImpl은 JVM 메모리에 세션 목록을 저장한다.
-     * → Redis를 세션 저장소로 쓰면 Security는 메모리, 실제 세션은 Redis → 따로 놀아서 중복 감지 안 됨
-     *
-     * SpringSessionBackedSessionRegistry는 Redis에서 직접 세션 목록을 조회하기 때문에
-     * Redis 세션 저장소와 Security의 동시 세션 제어가 정상적으로 연동된다.
+     * 서명 토큰 인증 모드 (app.security.auth-mode=token 일 때만 존재 - TokenAuthConfig)
+     * 없으면 기존 세션 모드로 동작한다.
      */
-    @Bean
-    public SessionRegistry sessionRegistry() {
-        return new SpringSessionBackedSessionRegistry<>(sessionRepository);
+    private final ObjectProvider<SignedTokenSecurityContextRepository> tokenRepository;
+
+    /**
+     * 관리 포트 (management.server.port) - Prometheus 스크랩은 이 포트로 들어온 요청만 인증 없이 허용한다
+     * 관리 포트를 따로 두지 않으면(-1) /actuator/prometheus 도 다른 URL 처럼 로그인이 필요하다.
+     */
+    private final int managementPort;
+
+    public SecurityConfig(SessionRegistry sessionRegistry, LoginRateLimiter loginRateLimiter,
+                          ObjectProvider<SignedTokenSecurityContextRepository> tokenRepository,
+                          @Value("${management.server.port:-1}") int managementPort) {
+        this.sessionRegistry = sessionRegistry;
+        this.loginRateLimiter = loginRateLimiter;
+        this.tokenRepository = tokenRepository;
+        this.managementPort = managementPort;
     }
 
     /**
@@ -81,11 +95,20 @@ public class SecurityConfig {
                 // 공개 URL - 인증 없이 접근 가능
                 .requestMatchers("/", "/home", "/login", "/members/**").permitAll()
                 .requestMatchers("/basic/**", "/validation/**").permitAll()
+                // 헬스 체크 (liveness / readiness) - 상태만 보이고 상세는 보이지 않는다
+                .requestMatchers("/actuator/health/**").permitAll()
+                // 지표 수집(Prometheus) - 핸들러 이름, 로그인 / 시도 제한 카운터, 캐시 통계가 들어 있으므로
+                // 관리 포트(클러스터 내부)로 들어온 요청만 허용한다. 서비스 포트에는 노출되지 않는다
+                .requestMatchers(request -> managementPort > 0 && request.getLocalPort() == managementPort
+                        && "/actuator/prometheus".equals(request.getRequestURI())).permitAll()
                 // 인증 필요 URL
-                .requestMatchers("/form/items/**", "/session-info").authenticated()
+                .requestMatchers("/form/items/**", "/session-info/**").authenticated()
                 // 나머지는 인증 필요
                 .anyRequest().authenticated()
             )
+            // 로그인 시도 제한 - UsernamePasswordAuthenticationFilter(실제 인증) 보다 먼저 실행
+            .addFilterBefore(new LoginRateLimitFilter(loginRateLimiter, "/login", "loginId"),
+                    UsernamePasswordAuthenticationFilter.class)
             // 폼 로그인 설정
             // Spring Security가 POST /login 을 직접 처리한다 (컨트롤러 불필요)
             .formLogin(form -> form
@@ -105,7 +128,23 @@ public class SecurityConfig {
                 .invalidateHttpSession(true)          // 세션 무효화
                 .deleteCookies("RSESSIONID")          // 세션 쿠키 삭제
                 .permitAll()
-            )
+            );
+
+        SignedTokenSecurityContextRepository tokenRepository = this.tokenRepository.getIfAvailable();
+        if (tokenRepository == null) {
+            configureSessionMode(http);
+        } else {
+            configureTokenMode(http, tokenRepository);
+        }
+
+        return http.build();
+    }
+
+    /**
+     * 세션 모드 (기본) - SecurityContext 를 HttpSession(Redis / 내장 저장소)에 보관
+     */
+    private void configureSessionMode(HttpSecurity http) throws Exception {
+        http
             // 동시 세션 제어
             // 동일 계정으로 중복 로그인이 들어왔을 때 어떻게 처리할지 정의한다
             .sessionManagement(session -> session
@@ -113,16 +152,32 @@ public class SecurityConfig {
                 // 1로 설정 → A 기기에서 로그인 중인 상태에서 B 기기로 로그인하면 A 세션이 만료됨
                 .maximumSessions(1)
 
-                // 위에서 만든 Redis 기반 레지스트리를 사용하도록 지정
+                // Redis 기반 레지스트리를 사용하도록 지정
                 // 이걸 설정 안 하면 기본 InMemory 레지스트리를 사용해서 중복 감지가 안 됨
-                .sessionRegistry(sessionRegistry())
+                .sessionRegistry(sessionRegistry)
                 .expiredUrl("/login?expired")
 
                 // maxSessionsPreventsLogin(true)  → 이미 로그인 중이면 새 로그인 차단 (2번 방식)
                 // maxSessionsPreventsLogin(false) → 새 로그인 허용, 기존 세션 만료 (1번 방식, 기본값)
             );
+    }
 
-        return http.build();
+    /**
+     * 토큰 모드 (app.security.auth-mode=token) - 세션 저장소를 거치지 않는다
+     *
+     * - SecurityContext: 서명된 쿠키 (SignedTokenSecurityContextRepository)
+     * - 세션 생성 안 함(STATELESS) → 세션을 쓰던 CSRF 토큰, 로그인 전 요청 저장도 쿠키로 옮긴다
+     * - 동시 로그인 제한: SessionRegistry 대신 TokenRevocationList (새 로그인 시 이전 토큰 폐기)
+     */
+    private void configureTokenMode(HttpSecurity http, SignedTokenSecurityContextRepository tokenRepository)
+            throws Exception {
+        http
+            .securityContext(context -> context.securityContextRepository(tokenRepository))
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .csrf(csrf -> csrf.csrfTokenRepository(new CookieCsrfTokenRepository()))
+            .requestCache(cache -> cache.requestCache(new CookieRequestCache()))
+            .addFilterAfter(new SignedTokenRefreshFilter(tokenRepository), SecurityContextHolderFilter.class)
+            .logout(logout -> logout.addLogoutHandler(tokenRepository::logout));
     }
 
     /**
@@ -133,12 +188,31 @@ public class SecurityConfig {
      * - Salt 자동 포함: 같은 비밀번호도 매번 다른 해시값 → Rainbow Table 공격 방지
      * - 비용 계수(cost factor): 연산 속도를 의도적으로 느리게 → Brute Force 공격 어려움
      *
+     * [cost 자동 보정 + DelegatingPasswordEncoder]
+     * - 서버 시작 시 BCryptCostCalibrator 로 목표 지연시간(target-millis)에 맞는 cost 를 고른다.
+     *   app.security.bcrypt.cost 를 지정하면 보정 없이 그 값을 그대로 사용한다.
+     * - 새 해시는 "{bcrypt}$2a$12$..." 처럼 인코더 id 접두사를 붙여 저장한다.
+     * - 접두사 없는 기존 해시도 setDefaultPasswordEncoderForMatches 로 계속 검증된다.
+     * - 저장된 해시의 cost 가 현재 cost 와 다르면 upgradeEncoding() 이 true 가 되고,
+     *   로그인 성공 시 DaoAuthenticationProvider 가 CustomUserDetailsService.updatePassword() 로 재해싱한다.
+     *
      * [Spring Security 연동]
      * CustomUserDetailsService가 반환한 UserDetails.getPassword() (BCrypt 해시)와
      * 사용자 입력 비밀번호를 이 인코더가 matches()로 비교한다.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${app.security.bcrypt.cost:0}") int fixedCost,
+            @Value("${app.security.bcrypt.target-millis:250}") long targetMillis,
+            @Value("${app.security.bcrypt.min-cost:10}") int minCost,
+            @Value("${app.security.bcrypt.max-cost:16}") int maxCost) {
+
+        int cost = fixedCost > 0 ? fixedCost : BCryptCostCalibrator.calibrate(targetMillis, minCost, maxCost);
+        CalibratedBCryptPasswordEncoder bcrypt = new CalibratedBCryptPasswordEncoder(cost);
+
+        Map<String, PasswordEncoder> encoders = Map.of("bcrypt", bcrypt);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", encoders);
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
-}
\ No newline at end of file
+}
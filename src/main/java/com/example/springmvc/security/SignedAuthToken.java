@@ -0,0 +1,57 @@
+package com.example.springmvc.security;
+
+import java.util.List;
+
+/**
+ * 서명된 인증 쿠키에 담기는 값 (불변)
+ *
+ * - issuedAt: 로그인 시각. 토큰을 연장해도 바뀌지 않으며 TokenRevocationList 비교 기준이 된다.
+ * - expiresAt: 이 시각이 지나면 무효. 요청이 계속 들어오면 SignedTokenRefreshFilter 가 연장한다.
+ */
+public final class SignedAuthToken {
+
+    private final Long memberId;
+    private final String loginId;
+    private final String name;
+    private final List<String> roles;
+    private final long issuedAt;
+    private final long expiresAt;
+
+    public SignedAuthToken(Long memberId, String loginId, String name, List<String> roles,
+                           long issuedAt, long expiresAt) {
+        this.memberId = memberId;
+        this.loginId = loginId;
+        this.name = name;
+        this.roles = List.copyOf(roles);
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public SignedAuthToken withExpiresAt(long expiresAt) {
+        return new SignedAuthToken(memberId, loginId, name, roles, issuedAt, expiresAt);
+    }
+
+    public Long getMemberId() {
+        return memberId;
+    }
+
+    public String getLoginId() {
+        return loginId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    public long getIssuedAt() {
+        return issuedAt;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+}
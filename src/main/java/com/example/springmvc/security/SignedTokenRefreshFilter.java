@@ -0,0 +1,31 @@
+package com.example.springmvc.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 토큰 모드에서 인증 쿠키의 만료 시각을 연장하는 필터
+ *
+ * 응답이 커밋되기 전에 Set-Cookie 를 붙여야 하므로 컨트롤러보다 먼저 실행한다.
+ * (LoginRateLimitFilter 와 같은 이유로 빈으로 등록하지 않고 SecurityConfig 에서 직접 생성)
+ */
+public class SignedTokenRefreshFilter extends OncePerRequestFilter {
+
+    private final SignedTokenSecurityContextRepository repository;
+
+    public SignedTokenRefreshFilter(SignedTokenSecurityContextRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        repository.refreshIfNeeded(request, response);
+        filterChain.doFilter(request, response);
+    }
+}
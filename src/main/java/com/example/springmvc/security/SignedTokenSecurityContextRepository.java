@@ -0,0 +1,190 @@
+package com.example.springmvc.security;
+
+import com.example.springmvc.domain.member.Member;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.context.HttpRequestResponseHolder;
+import org.springframework.security.web.context.SecurityContextRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 세션 대신 서명된 쿠키에 인증 정보를 보관하는 SecurityContextRepository (app.security.auth-mode=token)
+ *
+ * [세션 모드와 비교]
+ * - 세션 모드: 요청마다 Redis 에서 세션(SecurityContext) 조회, 접근 시간 갱신 쓰기
+ * - 토큰 모드: 쿠키의 HMAC 만 검증 → 세션 저장소 접근 없음
+ *   폐기 여부는 TokenRevocationList 의 로컬 캐시로 확인한다.
+ *
+ * [흐름]
+ * - 로그인 성공: saveContext() → 쿠키 발급 + 같은 loginId 의 이전 토큰 폐기 (maximumSessions(1) 대응)
+ * - 요청: loadContext() → 쿠키 검증 후 SecurityContext 복원 (SecurityContextHolderFilter 가 필요할 때만 호출)
+ * - 만료 시각이 절반 이상 지나면 SignedTokenRefreshFilter 가 만료 시각만 연장한 쿠키로 바꿔 준다
+ * - 로그아웃: logout() → 폐기 + 쿠키 삭제
+ *
+ * 쿠키에는 회원 ID, loginId, 이름, 역할만 담는다. 비밀번호 해시는 담지 않는다.
+ */
+public class SignedTokenSecurityContextRepository implements SecurityContextRepository {
+
+    private static final String TOKEN_ATTR = SignedTokenSecurityContextRepository.class.getName() + ".TOKEN";
+
+    private final SignedAuthTokenCodec codec;
+    private final TokenRevocationList revocationList;
+    private final String cookieName;
+    private final Duration timeToLive;
+    private final Duration maxLifetime;
+    private final boolean secureCookie;
+
+    public SignedTokenSecurityContextRepository(SignedAuthTokenCodec codec, TokenRevocationList revocationList,
+                                                String cookieName, Duration timeToLive, Duration maxLifetime,
+                                                boolean secureCookie) {
+        this.codec = codec;
+        this.revocationList = revocationList;
+        this.cookieName = cookieName;
+        this.timeToLive = timeToLive;
+        this.maxLifetime = maxLifetime;
+        this.secureCookie = secureCookie;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public SecurityContext loadContext(HttpRequestResponseHolder requestResponseHolder) {
+        SignedAuthToken token = resolveToken(requestResponseHolder.getRequest());
+        if (token == null) {
+            return SecurityContextHolder.createEmptyContext();
+        }
+
+        Member member = new Member();
+        member.setId(token.getMemberId());
+        member.setLoginId(token.getLoginId());
+        member.setName(token.getName());
+
+        List<GrantedAuthority> authorities = new ArrayList<>(token.getRoles().size());
+        token.getRoles().forEach(role -> authorities.add(new SimpleGrantedAuthority(role)));
+
+        return new SecurityContextImpl(
+                UsernamePasswordAuthenticationToken.authenticated(new CustomUserDetails(member), null, authorities));
+    }
+
+    /**
+     * 로그인 성공 시(AbstractAuthenticationProcessingFilter), 로그아웃 시(빈 SecurityContext) 호출된다.
+     */
+    @Override
+    public void saveContext(SecurityContext context, HttpServletRequest request, HttpServletResponse response) {
+        Authentication authentication = context.getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken
+                || !(authentication.getPrincipal() instanceof CustomUserDetails userDetails)) {
+            if (readCookie(request) != null) {
+                writeCookie(response, "", Duration.ZERO);
+            }
+            return;
+        }
+
+        Member member = userDetails.getMember();
+        List<String> roles = new ArrayList<>();
+        authentication.getAuthorities().forEach(authority -> roles.add(authority.getAuthority()));
+
+        long now = System.currentTimeMillis();
+        SignedAuthToken token = new SignedAuthToken(member.getId(), member.getLoginId(), member.getName(), roles,
+                now, now + timeToLive.toMillis());
+
+        // 같은 계정의 이전 토큰은 모두 무효 → 기존 기기는 다음 요청에서 로그아웃된다
+        revocationList.revokeIssuedBefore(member.getLoginId(), now);
+        writeCookie(response, codec.encode(token), timeToLive);
+        request.setAttribute(TOKEN_ATTR, token);
+    }
+
+    @Override
+    public boolean containsContext(HttpServletRequest request) {
+        return resolveToken(request) != null;
+    }
+
+    /**
+     * 남은 시간이 절반 이하이면 만료 시각을 연장한 쿠키를 다시 내려준다 (세션의 접근 시간 갱신과 같은 역할)
+     */
+    public void refreshIfNeeded(HttpServletRequest request, HttpServletResponse response) {
+        SignedAuthToken token = resolveToken(request);
+        if (token == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (token.getExpiresAt() - now > timeToLive.toMillis() / 2) {
+            return;
+        }
+        SignedAuthToken refreshed = token.withExpiresAt(now + timeToLive.toMillis());
+        writeCookie(response, codec.encode(refreshed), timeToLive);
+        request.setAttribute(TOKEN_ATTR, refreshed);
+    }
+
+    /**
+     * LogoutHandler - 로그아웃한 계정의 토큰을 모두 폐기하고 쿠키를 지운다
+     */
+    public void logout(HttpServletRequest request, HttpServletResponse response, Authentication authentication) {
+        if (authentication != null) {
+            revocationList.revokeIssuedBefore(authentication.getName(), System.currentTimeMillis());
+        }
+        writeCookie(response, "", Duration.ZERO);
+        request.removeAttribute(TOKEN_ATTR);
+    }
+
+    /**
+     * 요청 안에서는 한 번만 검증한다 (loadContext / containsContext / refreshIfNeeded 공용)
+     */
+    private SignedAuthToken resolveToken(HttpServletRequest request) {
+        Object cached = request.getAttribute(TOKEN_ATTR);
+        if (cached instanceof SignedAuthToken token) {
+            return token;
+        }
+
+        String value = readCookie(request);
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        SignedAuthToken token = codec.decode(value, now);
+        if (token == null
+                || token.getIssuedAt() + maxLifetime.toMillis() <= now
+                || revocationList.isRevoked(token)) {
+            return null;
+        }
+        request.setAttribute(TOKEN_ATTR, token);
+        return token;
+    }
+
+    private String readCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (cookieName.equals(cookie.getName())) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+
+    private void writeCookie(HttpServletResponse response, String value, Duration maxAge) {
+        ResponseCookie cookie = ResponseCookie.from(cookieName, value)
+                .path("/")
+                .httpOnly(true)
+                .secure(secureCookie)
+                .sameSite("Lax")
+                .maxAge(maxAge)
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.springmvc.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 락 없는(lock-free) 토큰 버킷 테이블
+ *
+ * [구조]
+ * - 키(IP, loginId)를 해시해서 고정 크기 AtomicLongArray 의 한 칸에 대응시킨다
+ *   → 키가 아무리 많아도 메모리는 slots 크기로 고정 (근사 방식: 해시가 겹치는 키는 버킷을 공유)
+ * - 한 칸(long)에 [마지막 보충 시각 40bit | 남은 토큰(1/1000 단위) 24bit] 를 함께 담아 CAS 한 번으로 갱신
+ * - 인접한 칸이 같은 캐시 라인에 놓여 서로 다른 키끼리 경합(false sharing)하지 않도록 8칸 간격으로 사용
+ *
+ * [한계]
+ * 해시 충돌 시 두 키가 토큰을 나눠 쓰므로 실제보다 조금 더 일찍 제한될 수 있다(허용 쪽으로 틀리지는 않음).
+ * slots 를 충분히 크게 잡으면 충돌 확률은 무시할 수준이 된다.
+ */
+public class StripedTokenBucket {
+
+    private static final int STRIDE = 8; // 64byte 캐시 라인 / 8byte long
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long MILLI = 1000;
+
+    private final AtomicLongArray table;
+    private final int mask;
+    private final long capacityMilli;
+    private final double refillMilliPerMs;
+    private final long epoch = System.currentTimeMillis() - 1;
+
+    /**
+     * @param slots           버킷 수 (2의 거듭제곱)
+     * @param capacity        버킷 최대 토큰 수 (한 번에 허용되는 버스트 크기, 최대 16,000)
+     * @param refillPerMinute 분당 보충되는 토큰 수
+     */
+    public StripedTokenBucket(int slots, int capacity, int refillPerMinute) {
+        if (Integer.bitCount(slots) != 1) {
+            throw new IllegalArgumentException("slots 는 2의 거듭제곱이어야 합니다: " + slots);
+        }
+        if (capacity < 1 || capacity * MILLI > TOKEN_MASK) {
+            throw new IllegalArgumentException("capacity 범위가 올바르지 않습니다: " + capacity);
+        }
+        this.table = new AtomicLongArray(slots * STRIDE);
+        this.mask = slots - 1;
+        this.capacityMilli = capacity * MILLI;
+        this.refillMilliPerMs = refillPerMinute * MILLI / 60_000.0;
+    }
+
+    /**
+     * 토큰 1개를 꺼낸다.
+     *
+     * @return 꺼냈으면 true, 버킷이 비어 있으면 false
+     */
+    public boolean tryAcquire(String key) {
+        int index = indexOf(key);
+        long now = System.currentTimeMillis() - epoch;
+
+        while (true) {
+            long current = table.get(index);
+            long tokens = refill(current, now);
+            if (tokens < MILLI) {
+                return false;
+            }
+            long next = (now << TOKEN_BITS) | (tokens - MILLI);
+            if (table.compareAndSet(index, current, next)) {
+                return true;
+            }
+            // 다른 스레드가 먼저 갱신 → 다시 읽어서 재시도
+        }
+    }
+
+    /**
+     * 토큰 1개가 다시 생길 때까지 남은 시간(초, 올림)
+     */
+    public long secondsUntilNextToken(String key) {
+        long now = System.currentTimeMillis() - epoch;
+        long missing = MILLI - refill(table.get(indexOf(key)), now);
+        if (missing <= 0) {
+            return 0;
+        }
+        return (long) Math.ceil(missing / refillMilliPerMs / 1000.0);
+    }
+
+    private long refill(long state, long now) {
+        if (state == 0) {
+            return capacityMilli; // 처음 쓰는 칸 → 가득 찬 버킷
+        }
+        long last = state >>> TOKEN_BITS;
+        long tokens = state & TOKEN_MASK;
+        long elapsed = Math.max(0, now - last);
+        return Math.min(capacityMilli, tokens + (long) (elapsed * refillMilliPerMs));
+    }
+
+    private int indexOf(String key) {
+        int hash = key.hashCode() * 0x9E3779B9; // 해시 값을 고르게 섞는다 (Fibonacci hashing)
+        return ((hash ^ (hash >>> 16)) & mask) * STRIDE;
+    }
+}
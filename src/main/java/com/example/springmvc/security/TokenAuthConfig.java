@@ -0,0 +1,72 @@
+package com.example.springmvc.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * 서명 토큰 인증 모드 설정 (app.security.auth-mode=token)
+ *
+ * 이 설정이 적용되면 SecurityConfig 가 세션 대신 SignedTokenSecurityContextRepository 를 사용한다.
+ * 세션 저장소 설정(session.*)은 그대로 두지만, 인증된 요청은 세션을 만들거나 읽지 않는다.
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.security.auth-mode", havingValue = "token")
+public class TokenAuthConfig {
+
+    @Bean
+    public TokenRevocationList tokenRevocationList(
+            ObjectProvider<StringRedisTemplate> redisTemplate,
+            ObjectProvider<RedisMessageListenerContainer> redisMessageListenerContainer,
+            @Value("${app.session.store:redis}") String sessionStore,
+            @Value("${app.security.token.max-lifetime-seconds:43200}") long maxLifetimeSeconds,
+            @Value("${app.security.token.revocation.channel:springmvc:auth:revoked}") String channel,
+            @Value("${app.security.token.revocation.cache.maximum-size:10000}") long maximumSize,
+            @Value("${app.security.token.revocation.cache.time-to-live-seconds:60}") long timeToLiveSeconds) {
+
+        // 세션 저장소를 Redis 로 쓸 때만 폐기 목록도 Redis 로 공유한다
+        StringRedisTemplate template = "redis".equals(sessionStore) ? redisTemplate.getIfAvailable() : null;
+        TokenRevocationList revocationList = new TokenRevocationList(template, "springmvc:auth:not-before:", channel,
+                Duration.ofSeconds(maxLifetimeSeconds), maximumSize, Duration.ofSeconds(timeToLiveSeconds));
+
+        RedisMessageListenerContainer container = redisMessageListenerContainer.getIfAvailable();
+        if (template != null && container != null) {
+            container.addMessageListener(revocationList, new ChannelTopic(revocationList.getChannel()));
+        }
+        return revocationList;
+    }
+
+    @Bean
+    public SignedTokenSecurityContextRepository signedTokenSecurityContextRepository(
+            TokenRevocationList tokenRevocationList,
+            @Value("${app.security.token.secret:}") String secret,
+            @Value("${app.security.token.cookie-name:AUTH}") String cookieName,
+            @Value("${app.security.token.time-to-live-seconds:1800}") long timeToLiveSeconds,
+            @Value("${app.security.token.max-lifetime-seconds:43200}") long maxLifetimeSeconds,
+            @Value("${app.security.token.secure-cookie:false}") boolean secureCookie) {
+
+        byte[] key;
+        if (secret.isEmpty()) {
+            // 노드마다 키가 달라지고 재시작하면 모든 토큰이 무효 → 단일 노드 개발용
+            log.warn("app.security.token.secret 이 비어 있어 임시 서명 키를 생성합니다 (재시작 시 모든 로그인 해제)");
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+        } else {
+            key = Base64.getDecoder().decode(secret);
+        }
+
+        return new SignedTokenSecurityContextRepository(new SignedAuthTokenCodec(key), tokenRevocationList,
+                cookieName, Duration.ofSeconds(timeToLiveSeconds), Duration.ofSeconds(maxLifetimeSeconds), secureCookie);
+    }
+}
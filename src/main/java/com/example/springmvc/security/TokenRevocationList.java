@@ -0,0 +1,99 @@
+package com.example.springmvc.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 토큰 폐기 목록 - loginId 별 "이 시각 이전에 발급된 토큰은 무효(notBefore)"
+ *
+ * [maximumSessions(1) 과 같은 효과]
+ * 로그인할 때마다 notBefore = 새 토큰의 발급 시각 → 이전 기기의 토큰은 다음 요청에서 거부된다.
+ * 로그아웃도 notBefore 를 현재 시각으로 올린다.
+ *
+ * [저장]
+ * - Redis 사용 시: loginId 마다 키 하나 (값 = notBefore, 만료 = 토큰 최대 수명)
+ *   변경하면 Pub/Sub 으로 알리고, 각 노드는 로컬 캐시에서 해당 loginId 만 지운다.
+ *   → 요청마다 Redis 에 가지 않고, 캐시에 없을 때만 GET 한 번
+ * - Redis 미사용(app.session.store=memory): 로컬 캐시가 원본 → 최대 수명 동안 지우지 않는다
+ *
+ * 토큰 최대 수명(max-lifetime)이 지난 토큰은 폐기 목록과 상관없이 무효이므로
+ * 폐기 항목도 그 시간만 보관하면 된다.
+ */
+public class TokenRevocationList implements MessageListener {
+
+    private static final RedisScript<Long> REVOKE_SCRIPT = new DefaultRedisScript<>("""
+            local current = tonumber(redis.call('get', KEYS[1]) or '0')
+            if tonumber(ARGV[1]) > current then
+              redis.call('set', KEYS[1], ARGV[1], 'PX', ARGV[2])
+            end
+            redis.call('publish', ARGV[3], ARGV[4])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+    private final String channel;
+    private final Duration maxLifetime;
+    private final Cache<String, Long> notBefore;
+
+    /**
+     * @param redisTemplate null 이면 로컬 전용
+     */
+    public TokenRevocationList(StringRedisTemplate redisTemplate, String keyPrefix, String channel,
+                               Duration maxLifetime, long maximumSize, Duration cacheTimeToLive) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix;
+        this.channel = channel;
+        this.maxLifetime = maxLifetime;
+        this.notBefore = redisTemplate != null
+                ? Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(cacheTimeToLive).build()
+                : Caffeine.newBuilder().expireAfterWrite(maxLifetime).build();
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public boolean isRevoked(SignedAuthToken token) {
+        return token.getIssuedAt() < notBefore(token.getLoginId());
+    }
+
+    /**
+     * issuedBefore 이전에 발급된 loginId 의 토큰을 모두 무효로 만든다 (값은 줄어들지 않는다)
+     */
+    public void revokeIssuedBefore(String loginId, long issuedBefore) {
+        notBefore.asMap().merge(loginId, issuedBefore, Math::max);
+        if (redisTemplate != null) {
+            redisTemplate.execute(REVOKE_SCRIPT, List.of(keyPrefix + loginId),
+                    String.valueOf(issuedBefore), String.valueOf(maxLifetime.toMillis()), channel, loginId);
+        }
+    }
+
+    /**
+     * 다른 노드(또는 자기 자신)의 폐기 알림 - 본문은 loginId
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        notBefore.invalidate(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private long notBefore(String loginId) {
+        if (redisTemplate == null) {
+            Long value = notBefore.getIfPresent(loginId);
+            return value != null ? value : 0L;
+        }
+        return notBefore.get(loginId, key -> {
+            String value = redisTemplate.opsForValue().get(keyPrefix + key);
+            return value != null ? Long.parseLong(value) : 0L;
+        });
+    }
+}
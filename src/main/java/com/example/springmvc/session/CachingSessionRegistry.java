@@ -0,0 +1,301 @@
+package com.example.springmvc.session;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.context.ApplicationListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.session.SessionInformation;
+import org.springframework.security.core.session.SessionRegistry;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.data.redis.RedisSessionMapper;
+import org.springframework.session.events.SessionDestroyedEvent;
+import org.springframework.session.security.SpringSessionBackedSessionInformation;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 로컬 캐시 + Redis Pub/Sub 기반 SessionRegistry
+ *
+ * [SpringSessionBackedSessionRegistry 의 비용]
+ * - ConcurrentSessionFilter 가 요청마다 getSessionInformation() 호출 → 세션 전체 조회
+ * - 로그인 시 getAllSessions() → 인덱스 SMEMBERS 후 세션마다 HGETALL (세션 수만큼 왕복)
+ * - 기존 세션 만료(expireNow) → 세션 조회 후 전체 저장
+ *
+ * [이 구현]
+ * - 세션별 상태(principal, 만료 여부)를 로컬에 캐시 → 같은 노드의 반복 요청은 Redis 접근 없음
+ * - 캐시에 없을 때만 필요한 필드만 HMGET 으로 읽는다
+ * - 로그인 시 인덱스 조회 후 세션별 HMGET 을 파이프라인 한 번으로 묶는다
+ * - 만료 처리: Lua 스크립트 한 번으로 "세션이 존재하면 만료 표시(HSET) + 만료 알림(PUBLISH)"
+ *   → 모든 노드가 구독 메시지를 받아 로컬 상태를 즉시 만료로 바꾼다
+ *
+ * [단일 세션 보장]
+ * 만료 표시는 SpringSessionBackedSessionRegistry 와 같은 세션 속성(EXPIRED_ATTR)에 기록하므로
+ * 로컬 캐시가 없는 노드도 Redis 에서 읽으면 만료를 안다.
+ * 알림이 유실되더라도 로컬 항목은 timeToLive 이후 다시 Redis 에서 읽는다.
+ */
+public class CachingSessionRegistry implements SessionRegistry, MessageListener, ApplicationListener<SessionDestroyedEvent> {
+
+    static final String EXPIRED_ATTR = SpringSessionBackedSessionInformation.class.getName() + ".EXPIRED";
+
+    private static final String EXPIRED_FIELD = RedisSessionMapper.ATTRIBUTE_PREFIX + EXPIRED_ATTR;
+    private static final String PRINCIPAL_FIELD =
+            RedisSessionMapper.ATTRIBUTE_PREFIX + FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME;
+    private static final String SECURITY_CONTEXT_FIELD =
+            RedisSessionMapper.ATTRIBUTE_PREFIX + HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY;
+
+    private static final byte[] EXPIRE_SCRIPT = ("""
+            if redis.call('exists', KEYS[1]) == 1 then
+              redis.call('hset', KEYS[1], ARGV[1], ARGV[2])
+              redis.call('publish', ARGV[3], ARGV[4])
+              return 1
+            end
+            return 0
+            """).getBytes(StandardCharsets.UTF_8);
+
+    private final RedisOperations<String, Object> redisOperations;
+    private final String keyPrefix;
+    private final String channel;
+    private final Cache<String, Entry> cache;
+
+    /**
+     * @param redisOperations RedisIndexedSessionRepository.getSessionRedisOperations() (세션 직렬화기 공유)
+     * @param namespace       세션 키 네임스페이스 (기본 spring:session)
+     * @param channel         만료 알림 채널
+     */
+    public CachingSessionRegistry(RedisOperations<String, Object> redisOperations, String namespace, String channel,
+                                  long maximumSize, Duration timeToLive) {
+        this.redisOperations = redisOperations;
+        this.keyPrefix = namespace + ":";
+        this.channel = channel;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .build();
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    @Override
+    public List<Object> getAllPrincipals() {
+        throw new UnsupportedOperationException("SessionRegistry.getAllPrincipals() is not supported");
+    }
+
+    /**
+     * 로그인 시 ConcurrentSessionControlAuthenticationStrategy 가 호출
+     * SMEMBERS 1회 + 파이프라인 1회로 해당 사용자의 모든 세션 상태를 읽는다.
+     */
+    @Override
+    public List<SessionInformation> getAllSessions(Object principal, boolean includeExpiredSessions) {
+        String principalName = name(principal);
+        Set<Object> members = redisOperations.opsForSet().members(indexKey(principalName));
+        if (members == null || members.isEmpty()) {
+            return List.of();
+        }
+
+        List<String> sessionIds = new ArrayList<>(members.size());
+        members.forEach(member -> sessionIds.add((String) member));
+
+        byte[][] fields = rawFields(RedisSessionMapper.LAST_ACCESSED_TIME_KEY,
+                RedisSessionMapper.MAX_INACTIVE_INTERVAL_KEY, EXPIRED_FIELD);
+        List<Object> results = redisOperations.executePipelined((RedisCallback<Object>) connection -> {
+            for (String sessionId : sessionIds) {
+                connection.hashCommands().hMGet(raw(sessionKey(sessionId)), fields);
+            }
+            return null;
+        });
+
+        List<SessionInformation> infos = new ArrayList<>(sessionIds.size());
+        for (int i = 0; i < sessionIds.size(); i++) {
+            Entry entry = toEntry(principalName, (List<?>) results.get(i));
+            if (entry == null) {
+                continue;
+            }
+            cache.put(sessionIds.get(i), entry);
+            if (includeExpiredSessions || !entry.expired) {
+                infos.add(entry.toSessionInformation(sessionIds.get(i)));
+            }
+        }
+        return infos;
+    }
+
+    /**
+     * ConcurrentSessionFilter 가 요청마다 호출
+     */
+    @Override
+    public SessionInformation getSessionInformation(String sessionId) {
+        Entry entry = cache.getIfPresent(sessionId);
+        if (entry == null) {
+            entry = load(sessionId);
+            if (entry == null) {
+                return null;
+            }
+            cache.put(sessionId, entry);
+        }
+        return entry.toSessionInformation(sessionId);
+    }
+
+    @Override
+    public void refreshLastRequest(String sessionId) {
+        // 마지막 접근 시간은 세션 저장소가 lastAccessedTime 으로 관리한다
+    }
+
+    @Override
+    public void registerNewSession(String sessionId, Object principal) {
+        cache.put(sessionId, new Entry(name(principal), System.currentTimeMillis(), false));
+    }
+
+    @Override
+    public void removeSessionInformation(String sessionId) {
+        cache.invalidate(sessionId);
+    }
+
+    /**
+     * 다른 노드(또는 자기 자신)가 발행한 만료 알림 - 본문은 세션 ID
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String sessionId = new String(message.getBody(), StandardCharsets.UTF_8);
+        cache.asMap().computeIfPresent(sessionId, (id, entry) -> entry.markExpired());
+    }
+
+    @Override
+    public void onApplicationEvent(SessionDestroyedEvent event) {
+        cache.invalidate(event.getSessionId());
+    }
+
+    void expire(String sessionId) {
+        cache.asMap().computeIfPresent(sessionId, (id, entry) -> entry.markExpired());
+
+        @SuppressWarnings("unchecked")
+        RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) redisOperations.getHashValueSerializer();
+        byte[] expiredValue = valueSerializer.serialize(Boolean.TRUE);
+
+        redisOperations.execute((RedisCallback<Long>) connection -> connection.scriptingCommands().eval(
+                EXPIRE_SCRIPT, ReturnType.INTEGER, 1,
+                raw(sessionKey(sessionId)), raw(EXPIRED_FIELD), expiredValue, raw(channel), raw(sessionId)));
+    }
+
+    private Entry load(String sessionId) {
+        List<Object> values = redisOperations.<String, Object>opsForHash().multiGet(sessionKey(sessionId), List.of(
+                RedisSessionMapper.LAST_ACCESSED_TIME_KEY, RedisSessionMapper.MAX_INACTIVE_INTERVAL_KEY, EXPIRED_FIELD,
+                PRINCIPAL_FIELD, SECURITY_CONTEXT_FIELD));
+        return toEntry(resolvePrincipalName(values.get(3), values.get(4)), values);
+    }
+
+    /**
+     * HMGET 결과 [lastAccessedTime, maxInactiveInterval, expired, ...] → Entry
+     * 세션이 없거나 시간상 이미 만료되었으면 null
+     */
+    private Entry toEntry(String principalName, List<?> values) {
+        Object lastAccessed = values.get(0);
+        if (!(lastAccessed instanceof Long lastAccessedTime)) {
+            return null;
+        }
+        Object maxInactive = values.get(1);
+        if (maxInactive instanceof Integer seconds && seconds >= 0
+                && lastAccessedTime + seconds * 1000L < System.currentTimeMillis()) {
+            return null;
+        }
+        return new Entry(principalName, lastAccessedTime, Boolean.TRUE.equals(values.get(2)));
+    }
+
+    private static String resolvePrincipalName(Object indexedName, Object securityContext) {
+        if (indexedName instanceof String name) {
+            return name;
+        }
+        if (securityContext instanceof SecurityContext context && context.getAuthentication() != null) {
+            return context.getAuthentication().getName();
+        }
+        return null;
+    }
+
+    private static String name(Object principal) {
+        if (principal instanceof UserDetails userDetails) {
+            return userDetails.getUsername();
+        }
+        if (principal instanceof Principal namedPrincipal) {
+            return namedPrincipal.getName();
+        }
+        return principal.toString();
+    }
+
+    private String sessionKey(String sessionId) {
+        return keyPrefix + "sessions:" + sessionId;
+    }
+
+    private String indexKey(String principalName) {
+        return keyPrefix + "index:" + FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME + ":" + principalName;
+    }
+
+    private static byte[] raw(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[][] rawFields(String... fields) {
+        byte[][] raw = new byte[fields.length][];
+        for (int i = 0; i < fields.length; i++) {
+            raw[i] = raw(fields[i]);
+        }
+        return raw;
+    }
+
+    /**
+     * 로컬에 캐시하는 세션 상태 (불변)
+     */
+    private final class Entry {
+
+        private final String principalName;
+        private final long lastRequest;
+        private final boolean expired;
+
+        private Entry(String principalName, long lastRequest, boolean expired) {
+            // SessionInformation 은 principal 이 null 이면 안 되므로 비로그인 세션은 빈 문자열
+            this.principalName = principalName != null ? principalName : "";
+            this.lastRequest = lastRequest;
+            this.expired = expired;
+        }
+
+        private Entry markExpired() {
+            return expired ? this : new Entry(principalName, lastRequest, true);
+        }
+
+        private SessionInformation toSessionInformation(String sessionId) {
+            return new RegistrySessionInformation(principalName, sessionId, new Date(lastRequest), expired);
+        }
+    }
+
+    /**
+     * expireNow() 가 호출되면 (동시 세션 초과) Redis 에 만료를 기록하고 모든 노드에 알린다.
+     */
+    private final class RegistrySessionInformation extends SessionInformation {
+
+        private RegistrySessionInformation(Object principal, String sessionId, Date lastRequest, boolean expired) {
+            super(principal, sessionId, lastRequest);
+            if (expired) {
+                super.expireNow();
+            }
+        }
+
+        @Override
+        public void expireNow() {
+            super.expireNow();
+            expire(getSessionId());
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.example.springmvc.session;
+
+import com.example.springmvc.domain.member.Member;
+import com.example.springmvc.security.CustomUserDetails;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import org.springframework.security.web.csrf.DefaultCsrfToken;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 세션 속성용 압축 바이너리 직렬화기
+ *
+ * [왜 필요한가]
+ * Spring Session Redis 는 기본적으로 JDK 직렬화를 사용한다.
+ * SecurityContextImpl → UsernamePasswordAuthenticationToken → CustomUserDetails → Member 한 덩어리가
+ * 클래스 이름, 필드 이름, serialVersionUID 까지 모두 기록되어 수백 바이트 ~ 1KB 가 넘고,
+ * 요청마다 리플렉션 기반으로 읽고 쓴다.
+ *
+ * [포맷]
+ * [MAGIC 1byte][SCHEMA_VERSION 1byte][TYPE 1byte][본문...]
+ * - 숫자는 가변 길이(varint), 문자열은 (길이+1) varint + UTF-8 바이트 (길이 0 = null)
+ * - 아는 타입만 직접 기록하고, 모르는 타입은 fallback 직렬화기(JDK)에 그대로 맡긴다
+ * - JDK 직렬화 결과는 항상 0xAC 0xED 로 시작하므로 첫 바이트로 두 포맷을 구분한다
+ *   → 이미 Redis 에 JDK 포맷으로 저장된 세션도 그대로 읽힌다
+ *
+ * [writeCompact=false (app.session.serializer=jdk)]
+ * 쓰기는 전부 fallback(JDK) 으로 하고, 읽기는 두 포맷 모두 받는다.
+ * → compact 로 저장된 세션이 남아 있는 상태에서 jdk 로 되돌려도 기존 세션이 깨지지 않는다
+ */
+public class CompactSessionRedisSerializer implements RedisSerializer<Object> {
+
+    private static final byte MAGIC = (byte) 0xB5;
+    private static final byte SCHEMA_VERSION = 1;
+
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_LONG = 2;
+    private static final byte TYPE_INTEGER = 3;
+    private static final byte TYPE_BOOLEAN = 4;
+    private static final byte TYPE_SECURITY_CONTEXT = 10;
+    private static final byte TYPE_CSRF_TOKEN = 11;
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final RedisSerializer<Object> fallback;
+    private final boolean writeCompact;
+
+    public CompactSessionRedisSerializer(RedisSerializer<Object> fallback) {
+        this(fallback, true);
+    }
+
+    public CompactSessionRedisSerializer(RedisSerializer<Object> fallback, boolean writeCompact) {
+        this.fallback = fallback;
+        this.writeCompact = writeCompact;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return EMPTY;
+        }
+        if (!writeCompact) {
+            return fallback.serialize(value);
+        }
+
+        Writer writer = new Writer();
+        if (value instanceof String string) {
+            writer.header(TYPE_STRING).string(string);
+        } else if (value instanceof Long number) {
+            writer.header(TYPE_LONG).varLong(number);
+        } else if (value instanceof Integer number) {
+            writer.header(TYPE_INTEGER).varLong(number);
+        } else if (value instanceof Boolean bool) {
+            writer.header(TYPE_BOOLEAN).bool(bool);
+        } else if (value instanceof DefaultCsrfToken token) {
+            writer.header(TYPE_CSRF_TOKEN)
+                    .string(token.getHeaderName())
+                    .string(token.getParameterName())
+                    .string(token.getToken());
+        } else if (isCompactSecurityContext(value)) {
+            writer.header(TYPE_SECURITY_CONTEXT);
+            writeSecurityContext(writer, (SecurityContext) value);
+        } else {
+            return fallback.serialize(value);
+        }
+        return writer.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return fallback.deserialize(bytes);
+        }
+
+        Reader reader = new Reader(bytes);
+        reader.skip(1);
+        byte version = reader.readByte();
+        if (version != SCHEMA_VERSION) {
+            throw new SerializationException("지원하지 않는 세션 직렬화 스키마 버전: " + version);
+        }
+
+        byte type = reader.readByte();
+        return switch (type) {
+            case TYPE_STRING -> reader.string();
+            case TYPE_LONG -> Long.valueOf(reader.varLong());
+            case TYPE_INTEGER -> Integer.valueOf((int) reader.varLong());
+            case TYPE_BOOLEAN -> Boolean.valueOf(reader.bool());
+            case TYPE_CSRF_TOKEN -> new DefaultCsrfToken(reader.string(), reader.string(), reader.string());
+            case TYPE_SECURITY_CONTEXT -> readSecurityContext(reader);
+            default -> throw new SerializationException("알 수 없는 세션 직렬화 타입: " + type);
+        };
+    }
+
+    /**
+     * 로그인 성공 시 저장되는 구조만 직접 기록한다.
+     * - SecurityContextImpl (정확히 이 클래스)
+     * - 인증 객체는 UsernamePasswordAuthenticationToken, principal 은 CustomUserDetails
+     * - credentials 는 인증 후 지워져 null (지워지지 않은 경우 그대로 보존해야 하므로 JDK 로)
+     * - details 는 null 또는 WebAuthenticationDetails
+     * - 권한은 SimpleGrantedAuthority 만
+     */
+    private static boolean isCompactSecurityContext(Object value) {
+        if (value.getClass() != SecurityContextImpl.class) {
+            return false;
+        }
+        Authentication authentication = ((SecurityContext) value).getAuthentication();
+        if (authentication == null) {
+            return true;
+        }
+        if (authentication.getClass() != UsernamePasswordAuthenticationToken.class
+                || !(authentication.getPrincipal() instanceof CustomUserDetails)
+                || authentication.getCredentials() != null) {
+            return false;
+        }
+        Object details = authentication.getDetails();
+        if (details != null && details.getClass() != WebAuthenticationDetails.class) {
+            return false;
+        }
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (authority.getClass() != SimpleGrantedAuthority.class) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeSecurityContext(Writer writer, SecurityContext context) {
+        Authentication authentication = context.getAuthentication();
+        writer.bool(authentication != null);
+        if (authentication == null) {
+            return;
+        }
+
+        Member member = ((CustomUserDetails) authentication.getPrincipal()).getMember();
+        writer.bool(member.getId() != null);
+        if (member.getId() != null) {
+            writer.varLong(member.getId());
+        }
+        writer.string(member.getLoginId())
+                .string(member.getName())
+                .string(member.getPassword());
+
+        Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
+        writer.varLong(authorities.size());
+        for (GrantedAuthority authority : authorities) {
+            writer.string(authority.getAuthority());
+        }
+
+        WebAuthenticationDetails details = (WebAuthenticationDetails) authentication.getDetails();
+        writer.bool(details != null);
+        if (details != null) {
+            writer.string(details.getRemoteAddress()).string(details.getSessionId());
+        }
+    }
+
+    private static SecurityContext readSecurityContext(Reader reader) {
+        if (!reader.bool()) {
+            return new SecurityContextImpl();
+        }
+
+        Member member = new Member();
+        if (reader.bool()) {
+            member.setId(reader.varLong());
+        }
+        member.setLoginId(reader.string());
+        member.setName(reader.string());
+        member.setPassword(reader.string());
+
+        int authorityCount = (int) reader.varLong();
+        List<GrantedAuthority> authorities = new ArrayList<>(authorityCount);
+        for (int i = 0; i < authorityCount; i++) {
+            authorities.add(new SimpleGrantedAuthority(reader.string()));
+        }
+
+        UsernamePasswordAuthenticationToken authentication =
+                UsernamePasswordAuthenticationToken.authenticated(new CustomUserDetails(member), null, authorities);
+        if (reader.bool()) {
+            authentication.setDetails(new WebAuthenticationDetails(reader.string(), reader.string()));
+        }
+        return new SecurityContextImpl(authentication);
+    }
+
+    private static final class Writer {
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+
+        Writer header(byte type) {
+            out.write(MAGIC);
+            out.write(SCHEMA_VERSION);
+            out.write(type);
+            return this;
+        }
+
+        Writer bool(boolean value) {
+            out.write(value ? 1 : 0);
+            return this;
+        }
+
+        Writer varLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.write((int) value);
+            return this;
+        }
+
+        Writer string(String value) {
+            if (value == null) {
+                return varLong(0);
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            varLong(bytes.length + 1L);
+            out.write(bytes, 0, bytes.length);
+            return this;
+        }
+
+        byte[] toByteArray() {
+            return out.toByteArray();
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] bytes;
+        private int position;
+
+        Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        void skip(int count) {
+            position += count;
+        }
+
+        byte readByte() {
+            if (position >= bytes.length) {
+                throw new SerializationException("세션 직렬화 데이터가 잘렸습니다");
+            }
+            return bytes[position++];
+        }
+
+        boolean bool() {
+            return readByte() != 0;
+        }
+
+        long varLong() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new SerializationException("잘못된 varint 값");
+        }
+
+        String string() {
+            long length = varLong();
+            if (length == 0) {
+                return null;
+            }
+            int size = (int) (length - 1);
+            if (size < 0 || position + size > bytes.length) {
+                throw new SerializationException("세션 직렬화 데이터가 잘렸습니다");
+            }
+            String value = new String(bytes, position, size, StandardCharsets.UTF_8);
+            position += size;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.springmvc.session;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.core.session.SessionRegistry;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+import org.springframework.session.security.SpringSessionBackedSessionRegistry;
+
+import java.time.Duration;
+
+/**
+ * 프로세스 내장 세션 저장소 설정 (app.session.store=memory)
+ *
+ * [언제 쓰는가]
+ * 단일 노드 배포, 로컬 개발, CI 처럼 Redis 서버 없이 띄워야 할 때.
+ * 세션은 JVM 메모리에만 있으므로 서버를 재시작하면 모두 사라지고, 여러 노드 간에 공유되지 않는다.
+ *
+ * [빈 구성]
+ * - sessionRepository (ShardedMapSessionRepository): FindByIndexNameSessionRepository 구현 → 동시 세션 제어 그대로 동작
+ * - sessionRegistry (SpringSessionBackedSessionRegistry): 저장소 조회가 메모리 접근이라 별도 캐시가 필요 없음
+ * - sessionIntrospector (MemorySessionIntrospector): /session-info 용
+ * - @EnableSpringHttpSession: 위 저장소로 SessionRepositoryFilter 를 등록
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableSpringHttpSession
+@ConditionalOnProperty(name = "app.session.store", havingValue = "memory")
+public class MemorySessionConfig {
+
+    @Bean
+    public ShardedMapSessionRepository sessionRepository(
+            ApplicationEventPublisher eventPublisher,
+            ServerProperties serverProperties,
+            @Value("${app.session.memory.shards:16}") int shards,
+            @Value("${app.session.memory.tick-millis:1000}") long tickMillis) {
+
+        Duration timeout = serverProperties.getServlet().getSession().getTimeout();
+        return new ShardedMapSessionRepository(eventPublisher, timeout != null ? timeout : Duration.ofMinutes(30),
+                shards, Duration.ofMillis(tickMillis));
+    }
+
+    @Bean
+    public SessionRegistry sessionRegistry(ShardedMapSessionRepository sessionRepository) {
+        return new SpringSessionBackedSessionRegistry<>(sessionRepository);
+    }
+
+    @Bean
+    public SessionIntrospector sessionIntrospector(ShardedMapSessionRepository sessionRepository) {
+        return new MemorySessionIntrospector(sessionRepository);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.springmvc.session;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 내장 세션 저장소(ShardedMapSessionRepository)용 SessionIntrospector
+ * - 속성을 직렬화하지 않고 객체 그대로 보관하므로 직렬화 크기는 제공하지 않는다
+ */
+public class MemorySessionIntrospector implements SessionIntrospector {
+
+    private final ShardedMapSessionRepository sessionRepository;
+
+    public MemorySessionIntrospector(ShardedMapSessionRepository sessionRepository) {
+        this.sessionRepository = sessionRepository;
+    }
+
+    @Override
+    public Map<String, Long> serializedAttributeSizes(String sessionId, Collection<String> attributeNames) {
+        return Map.of();
+    }
+
+    @Override
+    public Map<String, Long> sessionCountsByPrincipal(int limit) {
+        return sessionRepository.getSessionCountsByPrincipal(limit);
+    }
+
+    @Override
+    public long sessionCount(String principalName) {
+        return sessionRepository.getSessionCount(principalName);
+    }
+}
@@ -0,0 +1,432 @@
+package com.example.springmvc.session;
+
+import com.example.springmvc.jfr.SessionStoreEvent;
+import com.example.springmvc.metrics.RequestTimings;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.MapSession;
+import org.springframework.session.Session;
+import org.springframework.session.events.SessionDestroyedEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Redis 세션 저장소 앞에 두는 로컬(L1) 세션 캐시
+ *
+ * [왜 필요한가]
+ * RedisIndexedSessionRepository 는 요청마다 Redis 에서 세션 해시를 읽고(HGETALL)
+ * SecurityContext → CustomUserDetails → Member 를 역직렬화한다.
+ * 같은 노드로 반복해서 들어오는 요청은 직전에 읽은 세션을 그대로 재사용해도 된다.
+ *
+ * [동작 방식]
+ * - 조회: L1 에 있으면 복사본을 반환 (Redis 접근 없음), 없으면 Redis 에서 읽고 L1 에 적재
+ * - 저장: 속성 변경분(delta)만 기록해 두었다가, 변경이 있을 때만 Redis 세션에 반영
+ * - 접근시간(lastAccessedTime)만 바뀐 경우 touchInterval 이 지나기 전까지 Redis 쓰기를 생략
+ *   → Redis 상의 만료 시점이 최대 touchInterval 만큼 앞당겨질 수 있다
+ *
+ * [다른 노드와의 정합성]
+ * - 세션 속성이 바뀔 때마다 VERSION_ATTR 를 1 올려 저장하고, 무효화 채널로 "세션ID:버전" 을 발행한다.
+ *   → 다른 노드는 자기 L1 의 버전이 더 낮으면 해당 세션을 버린다 (자기 자신이 발행한 메시지는 무시됨)
+ * - maximumSessions(1) 로 다른 노드에서 기존 세션에 EXPIRED_ATTR 를 기록한 경우도 이 경로로 전파된다.
+ * - 삭제/만료는 Redis keyspace notification 으로 RedisIndexedSessionRepository 가 발행하는
+ *   SessionDeletedEvent / SessionExpiredEvent 를 받아서 L1 에서 제거한다.
+ * - 메시지가 유실되는 경우를 대비해 L1 항목은 timeToLive 가 지나면 다시 Redis 에서 읽는다.
+ *
+ * @param <S> 실제 저장소(RedisIndexedSessionRepository)의 세션 타입
+ */
+@Slf4j
+public class NearCacheSessionRepository<S extends Session>
+        implements FindByIndexNameSessionRepository<NearCacheSessionRepository.NearCacheSession>,
+        MessageListener, ApplicationListener<SessionDestroyedEvent> {
+
+    /**
+     * 세션 속성이 바뀔 때마다 증가하는 버전 번호 (Long)
+     */
+    public static final String VERSION_ATTR = NearCacheSessionRepository.class.getName() + ".VERSION";
+
+    private final FindByIndexNameSessionRepository<S> delegate;
+    private final StringRedisTemplate redisTemplate;
+    private final String invalidationChannel;
+    private final Duration touchInterval;
+    private final Cache<String, CachedSession> cache;
+
+    public NearCacheSessionRepository(FindByIndexNameSessionRepository<S> delegate,
+                                      StringRedisTemplate redisTemplate,
+                                      String invalidationChannel,
+                                      long maximumSize,
+                                      Duration timeToLive,
+                                      Duration touchInterval) {
+        this.delegate = delegate;
+        this.redisTemplate = redisTemplate;
+        this.invalidationChannel = invalidationChannel;
+        this.touchInterval = touchInterval;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .build();
+    }
+
+    public String getInvalidationChannel() {
+        return invalidationChannel;
+    }
+
+    public long getCachedSessionCount() {
+        return cache.estimatedSize();
+    }
+
+    @Override
+    public NearCacheSession createSession() {
+        S target = delegate.createSession();
+        return new NearCacheSession(this, new MapSession(target), target, true, 0L, target.getLastAccessedTime());
+    }
+
+    @Override
+    public NearCacheSession findById(String id) {
+        SessionStoreEvent event = new SessionStoreEvent();
+        event.begin();
+        long start = System.nanoTime();
+        NearCacheSession session = null;
+        try {
+            session = load(id);
+            return session;
+        } finally {
+            RequestTimings.addSessionLoad(System.nanoTime() - start);
+            event.end("near-cache", "load", session != null);
+        }
+    }
+
+    private NearCacheSession load(String id) {
+        CachedSession cached = cache.getIfPresent(id);
+        if (cached != null && cached.snapshot != null) {
+            if (!cached.snapshot.isExpired()) {
+                return new NearCacheSession(this, new MapSession(cached.snapshot), null, false,
+                        cached.version, cached.persistedAccessTime);
+            }
+            cache.invalidate(id);
+        }
+
+        S loaded = delegate.findById(id);
+        if (loaded == null) {
+            return null;
+        }
+
+        MapSession snapshot = new MapSession(loaded);
+        long version = versionOf(loaded);
+        cacheIfNewer(id, new CachedSession(snapshot, version, loaded.getLastAccessedTime()));
+        return new NearCacheSession(this, new MapSession(snapshot), loaded, false, version, loaded.getLastAccessedTime());
+    }
+
+    @Override
+    public void save(NearCacheSession session) {
+        SessionStoreEvent event = new SessionStoreEvent();
+        event.begin();
+        try {
+            write(session);
+        } finally {
+            event.end("near-cache", "save", true);
+        }
+    }
+
+    private void write(NearCacheSession session) {
+        String id = session.getId();
+
+        // 접근시간만 조금 바뀐 경우 → Redis 쓰기 생략, L1 스냅샷의 접근시간만 갱신
+        if (!session.isNew && !session.requiresWrite(touchInterval)) {
+            CachedSession touched = new CachedSession(new MapSession(session.local), session.version, session.persistedAccessTime);
+            cache.asMap().computeIfPresent(id, (key, current) -> current.version == touched.version ? touched : current);
+            return;
+        }
+
+        S target = resolveTarget(session);
+        if (target == null) {
+            // 다른 노드에서 삭제되었거나 Redis 에서 이미 만료된 세션
+            cache.invalidate(id);
+            return;
+        }
+
+        boolean attributesChanged = applyDelta(session, target);
+        delegate.save(target);
+        afterWrite(session, target, attributesChanged);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        cache.invalidate(id);
+        delegate.deleteById(id);
+    }
+
+    @Override
+    public Map<String, NearCacheSession> findByIndexNameAndIndexValue(String indexName, String indexValue) {
+        Map<String, S> found = delegate.findByIndexNameAndIndexValue(indexName, indexValue);
+        Map<String, NearCacheSession> result = new HashMap<>(found.size());
+        found.forEach((id, session) -> result.put(id, new NearCacheSession(this, new MapSession(session), session,
+                false, versionOf(session), session.getLastAccessedTime())));
+        return result;
+    }
+
+    /**
+     * 다른 노드가 발행한 무효화 메시지 ("세션ID:버전")
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.lastIndexOf(':');
+        if (separator < 0) {
+            return;
+        }
+        try {
+            invalidate(body.substring(0, separator), Long.parseLong(body.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            log.warn("잘못된 세션 무효화 메시지: {}", body);
+        }
+    }
+
+    /**
+     * Redis keyspace notification (del / expired) → SessionDeletedEvent / SessionExpiredEvent
+     */
+    @Override
+    public void onApplicationEvent(SessionDestroyedEvent event) {
+        cache.invalidate(event.getSessionId());
+    }
+
+    /**
+     * 로컬 버전이 더 낮을 때만 버린다.
+     * 버전만 남긴 항목(tombstone)을 두어, 무효화 직전에 시작된 느린 조회가 오래된 값을 다시 올리지 못하게 한다.
+     */
+    void invalidate(String id, long version) {
+        cache.asMap().compute(id, (key, current) ->
+                current != null && current.version >= version ? current : CachedSession.tombstone(version));
+    }
+
+    String changeSessionId(NearCacheSession session) {
+        String oldId = session.getId();
+        S target = resolveTarget(session);
+
+        if (target == null) {
+            cache.invalidate(oldId);
+            return session.local.changeSessionId();
+        }
+
+        // 아직 Redis 에 저장되지 않은 새 세션 → id 만 바꾸고 저장은 요청 종료 시점에
+        if (session.isNew) {
+            String newId = target.changeSessionId();
+            session.local.setId(newId);
+            return newId;
+        }
+
+        // 기존 세션 → 지금까지의 변경분과 함께 즉시 RENAME
+        boolean attributesChanged = applyDelta(session, target);
+        String newId = target.changeSessionId();
+        delegate.save(target);
+
+        cache.invalidate(oldId);
+        publish(oldId, Long.MAX_VALUE);
+
+        session.local.setId(newId);
+        afterWrite(session, target, attributesChanged);
+        return newId;
+    }
+
+    @SuppressWarnings("unchecked")
+    private S resolveTarget(NearCacheSession session) {
+        if (session.target == null) {
+            session.target = delegate.findById(session.getId());
+        }
+        return (S) session.target;
+    }
+
+    private boolean applyDelta(NearCacheSession session, S target) {
+        boolean attributesChanged = !session.delta.isEmpty();
+        if (attributesChanged) {
+            long nextVersion = Math.max(session.version, versionOf(target)) + 1;
+            session.delta.put(VERSION_ATTR, nextVersion);
+            session.local.setAttribute(VERSION_ATTR, nextVersion);
+            session.version = nextVersion;
+        }
+
+        session.delta.forEach((name, value) -> {
+            if (value == null) {
+                target.removeAttribute(name);
+            } else {
+                target.setAttribute(name, value);
+            }
+        });
+        if (session.maxInactiveIntervalChanged) {
+            target.setMaxInactiveInterval(session.local.getMaxInactiveInterval());
+        }
+        target.setLastAccessedTime(session.local.getLastAccessedTime());
+        return attributesChanged;
+    }
+
+    private void afterWrite(NearCacheSession session, S target, boolean attributesChanged) {
+        String id = target.getId();
+        long version = versionOf(target);
+
+        cacheIfNewer(id, new CachedSession(new MapSession(target), version, target.getLastAccessedTime()));
+        if (attributesChanged && !session.isNew) {
+            publish(id, version);
+        }
+        session.markSaved(version, target.getLastAccessedTime());
+    }
+
+    private void cacheIfNewer(String id, CachedSession loaded) {
+        cache.asMap().compute(id, (key, current) ->
+                current != null && current.version > loaded.version ? current : loaded);
+    }
+
+    private void publish(String id, long version) {
+        try {
+            redisTemplate.convertAndSend(invalidationChannel, id + ":" + version);
+        } catch (RuntimeException e) {
+            // 발행 실패 시 다른 노드는 timeToLive 이후에 갱신된다
+            log.warn("세션 무효화 메시지 발행 실패 sessionId={}", id, e);
+        }
+    }
+
+    private static long versionOf(Session session) {
+        Long version = session.getAttribute(VERSION_ATTR);
+        return version != null ? version : 0L;
+    }
+
+    /**
+     * L1 에 보관하는 항목
+     * - snapshot: 요청 간에 공유되므로 절대 수정하지 않고, 요청마다 복사본을 만들어 넘긴다
+     * - snapshot 이 null 이면 버전만 기억하는 tombstone
+     */
+    private static final class CachedSession {
+
+        private final MapSession snapshot;
+        private final long version;
+        private final Instant persistedAccessTime;
+
+        private CachedSession(MapSession snapshot, long version, Instant persistedAccessTime) {
+            this.snapshot = snapshot;
+            this.version = version;
+            this.persistedAccessTime = persistedAccessTime;
+        }
+
+        private static CachedSession tombstone(long version) {
+            return new CachedSession(null, version, null);
+        }
+    }
+
+    /**
+     * 요청 하나가 사용하는 세션
+     * - 읽기/쓰기는 로컬 MapSession 에 하고, 변경된 속성은 delta 에 기록한다
+     * - target: 이번 요청에서 이미 Redis 에서 읽어온 실제 세션 (L1 히트면 null → 저장할 때 필요하면 읽음)
+     */
+    public static final class NearCacheSession implements Session {
+
+        private final NearCacheSessionRepository<?> repository;
+        private final MapSession local;
+        private final Map<String, Object> delta = new HashMap<>();
+        private Session target;
+        private boolean isNew;
+        private long version;
+        private Instant persistedAccessTime;
+        private boolean lastAccessedTimeChanged;
+        private boolean maxInactiveIntervalChanged;
+
+        private NearCacheSession(NearCacheSessionRepository<?> repository, MapSession local, Session target,
+                                 boolean isNew, long version, Instant persistedAccessTime) {
+            this.repository = repository;
+            this.local = local;
+            this.target = target;
+            this.isNew = isNew;
+            this.version = version;
+            this.persistedAccessTime = persistedAccessTime;
+        }
+
+        @Override
+        public String getId() {
+            return local.getId();
+        }
+
+        @Override
+        public String changeSessionId() {
+            return repository.changeSessionId(this);
+        }
+
+        @Override
+        public <T> T getAttribute(String attributeName) {
+            return local.getAttribute(attributeName);
+        }
+
+        @Override
+        public Set<String> getAttributeNames() {
+            return local.getAttributeNames();
+        }
+
+        @Override
+        public void setAttribute(String attributeName, Object attributeValue) {
+            local.setAttribute(attributeName, attributeValue);
+            delta.put(attributeName, attributeValue);
+        }
+
+        @Override
+        public void removeAttribute(String attributeName) {
+            local.removeAttribute(attributeName);
+            delta.put(attributeName, null);
+        }
+
+        @Override
+        public Instant getCreationTime() {
+            return local.getCreationTime();
+        }
+
+        @Override
+        public void setLastAccessedTime(Instant lastAccessedTime) {
+            local.setLastAccessedTime(lastAccessedTime);
+            lastAccessedTimeChanged = true;
+        }
+
+        @Override
+        public Instant getLastAccessedTime() {
+            return local.getLastAccessedTime();
+        }
+
+        @Override
+        public void setMaxInactiveInterval(Duration interval) {
+            local.setMaxInactiveInterval(interval);
+            maxInactiveIntervalChanged = true;
+        }
+
+        @Override
+        public Duration getMaxInactiveInterval() {
+            return local.getMaxInactiveInterval();
+        }
+
+        @Override
+        public boolean isExpired() {
+            return local.isExpired();
+        }
+
+        private boolean requiresWrite(Duration touchInterval) {
+            if (!delta.isEmpty() || maxInactiveIntervalChanged) {
+                return true;
+            }
+            return lastAccessedTimeChanged && persistedAccessTime != null
+                    && Duration.between(persistedAccessTime, local.getLastAccessedTime()).compareTo(touchInterval) >= 0;
+        }
+
+        private void markSaved(long version, Instant persistedAccessTime) {
+            this.version = version;
+            this.persistedAccessTime = persistedAccessTime;
+            this.isNew = false;
+            this.delta.clear();
+            this.lastAccessedTimeChanged = false;
+            this.maxInactiveIntervalChanged = false;
+        }
+    }
+}
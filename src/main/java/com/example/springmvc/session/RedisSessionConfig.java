@@ -0,0 +1,125 @@
+package com.example.springmvc.session;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.security.core.session.SessionRegistry;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.Session;
+import org.springframework.session.config.SessionRepositoryCustomizer;
+import org.springframework.session.data.redis.RedisIndexedSessionRepository;
+import org.springframework.session.data.redis.config.annotation.web.http.EnableRedisIndexedHttpSession;
+import org.springframework.session.security.SpringSessionBackedSessionRegistry;
+
+import java.time.Duration;
+
+/**
+ * Redis 세션 저장소 설정
+ *
+ * [왜 직접 설정하는가]
+ * Spring Boot 의 세션 자동 설정은 SessionRepository 빈이 하나라도 있으면 통째로 빠진다(back-off).
+ * L1 캐시(NearCacheSessionRepository)를 SessionRepository 빈으로 등록하려면
+ * RedisIndexedSessionRepository 도 @EnableRedisIndexedHttpSession 으로 직접 등록해야 한다.
+ * → spring.session.redis.* 설정은 더 이상 적용되지 않으므로 여기서 같은 값을 지정한다.
+ *
+ * app.session.store=redis (기본값) 일 때만 적용된다. memory 로 바꾸면 MemorySessionConfig 가 대신 적용된다.
+ *
+ * [빈 구성]
+ * - sessionRepository (RedisIndexedSessionRepository): 실제 Redis 저장소
+ * - nearCacheSessionRepository (@Primary): SessionRepositoryFilter 와 SecurityConfig 가 주입받는 저장소
+ * - springSessionDefaultRedisSerializer: 세션 속성 직렬화기 (CompactSessionRedisSerializer)
+ * - sessionRegistry: 동시 세션 제어용 레지스트리 (CachingSessionRegistry)
+ * - sessionIntrospector: /session-info 용 (RedisSessionIntrospector)
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableRedisIndexedHttpSession
+@ConditionalOnProperty(name = "app.session.store", havingValue = "redis", matchIfMissing = true)
+public class RedisSessionConfig {
+
+    /**
+     * server.servlet.session.timeout 값을 Redis 세션의 기본 만료 시간으로 사용한다.
+     * (Boot 자동 설정이 해주던 일을 대신 수행)
+     */
+    @Bean
+    public SessionRepositoryCustomizer<RedisIndexedSessionRepository> sessionTimeoutCustomizer(ServerProperties serverProperties) {
+        return sessionRepository -> {
+            Duration timeout = serverProperties.getServlet().getSession().getTimeout();
+            if (timeout != null) {
+                sessionRepository.setDefaultMaxInactiveInterval(timeout);
+            }
+        };
+    }
+
+    /**
+     * 세션 속성 직렬화기
+     * 빈 이름이 springSessionDefaultRedisSerializer 이면 RedisIndexedHttpSessionConfiguration 이 가져다 쓴다.
+     * app.session.serializer=jdk 여도 이 빈을 등록한다 → JDK 로 쓰되 이미 compact 로 저장된 세션도 읽는다
+     */
+    @Bean
+    public RedisSerializer<Object> springSessionDefaultRedisSerializer(
+            @Value("${app.session.serializer:compact}") String serializer) {
+        return new CompactSessionRedisSerializer(new JdkSerializationRedisSerializer(), !"jdk".equals(serializer));
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "app.session.near-cache.enabled", havingValue = "true", matchIfMissing = true)
+    public NearCacheSessionRepository<?> nearCacheSessionRepository(
+            RedisIndexedSessionRepository sessionRepository,
+            StringRedisTemplate redisTemplate,
+            RedisMessageListenerContainer redisMessageListenerContainer,
+            @Value("${app.session.near-cache.channel:springmvc:session:invalidate}") String channel,
+            @Value("${app.session.near-cache.maximum-size:10000}") long maximumSize,
+            @Value("${app.session.near-cache.time-to-live-seconds:300}") long timeToLiveSeconds,
+            @Value("${app.session.near-cache.touch-interval-seconds:60}") long touchIntervalSeconds) {
+
+        NearCacheSessionRepository<?> nearCache = new NearCacheSessionRepository<>(sessionRepository, redisTemplate,
+                channel, maximumSize, Duration.ofSeconds(timeToLiveSeconds), Duration.ofSeconds(touchIntervalSeconds));
+
+        // 다른 노드의 세션 변경을 구독 (Spring Session 이 keyspace 이벤트용으로 만든 컨테이너를 같이 사용)
+        redisMessageListenerContainer.addMessageListener(nearCache, new ChannelTopic(nearCache.getInvalidationChannel()));
+        return nearCache;
+    }
+
+    /**
+     * 동시 세션 제어용 SessionRegistry
+     * - 기본: CachingSessionRegistry (로컬 캐시 + Pub/Sub 만료 알림)
+     * - app.session.registry.cache.enabled=false: SpringSessionBackedSessionRegistry (요청마다 세션 조회)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.session.registry.cache.enabled", havingValue = "true", matchIfMissing = true)
+    public SessionRegistry sessionRegistry(
+            RedisIndexedSessionRepository sessionRepository,
+            RedisMessageListenerContainer redisMessageListenerContainer,
+            @Value("${app.session.registry.channel:springmvc:session:expired}") String channel,
+            @Value("${app.session.registry.cache.maximum-size:10000}") long maximumSize,
+            @Value("${app.session.registry.cache.time-to-live-seconds:30}") long timeToLiveSeconds) {
+
+        CachingSessionRegistry sessionRegistry = new CachingSessionRegistry(sessionRepository.getSessionRedisOperations(),
+                RedisIndexedSessionRepository.DEFAULT_NAMESPACE, channel, maximumSize, Duration.ofSeconds(timeToLiveSeconds));
+
+        redisMessageListenerContainer.addMessageListener(sessionRegistry, new ChannelTopic(sessionRegistry.getChannel()));
+        return sessionRegistry;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.session.registry.cache.enabled", havingValue = "false")
+    public SessionRegistry springSessionBackedSessionRegistry(
+            FindByIndexNameSessionRepository<? extends Session> sessionRepository) {
+        return new SpringSessionBackedSessionRegistry<>(sessionRepository);
+    }
+
+    @Bean
+    public SessionIntrospector sessionIntrospector(RedisIndexedSessionRepository sessionRepository) {
+        return new RedisSessionIntrospector(sessionRepository.getSessionRedisOperations(),
+                RedisIndexedSessionRepository.DEFAULT_NAMESPACE);
+    }
+}
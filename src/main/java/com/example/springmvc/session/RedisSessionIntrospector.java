@@ -0,0 +1,95 @@
+package com.example.springmvc.session;
+
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.data.redis.RedisSessionMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis 세션 저장소용 SessionIntrospector
+ *
+ * - 속성 크기: HSTRLEN 을 파이프라인으로 묶어 값 자체는 Redis 밖으로 꺼내지 않는다
+ * - principal 별 세션 수: 인덱스 키(Set)를 SCAN 으로 찾고 SCARD 로 개수만 센다
+ *   → 인덱스에는 아직 정리되지 않은 만료 세션 ID 가 남아 있을 수 있으므로 근사값이다
+ */
+public class RedisSessionIntrospector implements SessionIntrospector {
+
+    private final RedisOperations<String, Object> redisOperations;
+    private final String keyPrefix;
+    private final String indexKeyPrefix;
+
+    public RedisSessionIntrospector(RedisOperations<String, Object> redisOperations, String namespace) {
+        this.redisOperations = redisOperations;
+        this.keyPrefix = namespace + ":";
+        this.indexKeyPrefix = keyPrefix + "index:" + FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME + ":";
+    }
+
+    @Override
+    public Map<String, Long> serializedAttributeSizes(String sessionId, Collection<String> attributeNames) {
+        List<String> names = new ArrayList<>(attributeNames);
+        byte[] sessionKey = raw(keyPrefix + "sessions:" + sessionId);
+
+        List<Object> sizes = redisOperations.executePipelined((RedisCallback<Object>) connection -> {
+            for (String name : names) {
+                connection.hashCommands().hStrLen(sessionKey, raw(RedisSessionMapper.ATTRIBUTE_PREFIX + name));
+            }
+            return null;
+        });
+
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            result.put(names.get(i), (Long) sizes.get(i));
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Long> sessionCountsByPrincipal(int limit) {
+        List<byte[]> indexKeys = redisOperations.execute((RedisCallback<List<byte[]>>) connection -> {
+            List<byte[]> keys = new ArrayList<>();
+            ScanOptions options = ScanOptions.scanOptions().match(indexKeyPrefix + "*").count(500).build();
+            try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+                while (cursor.hasNext() && keys.size() < limit) {
+                    keys.add(cursor.next());
+                }
+            }
+            return keys;
+        });
+        if (indexKeys == null || indexKeys.isEmpty()) {
+            return Map.of();
+        }
+
+        List<Object> counts = redisOperations.executePipelined((RedisCallback<Object>) connection -> {
+            for (byte[] key : indexKeys) {
+                connection.setCommands().sCard(key);
+            }
+            return null;
+        });
+
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < indexKeys.size(); i++) {
+            String key = new String(indexKeys.get(i), StandardCharsets.UTF_8);
+            result.put(key.substring(indexKeyPrefix.length()), (Long) counts.get(i));
+        }
+        return result;
+    }
+
+    @Override
+    public long sessionCount(String principalName) {
+        Long count = redisOperations.opsForSet().size(indexKeyPrefix + principalName);
+        return count != null ? count : 0L;
+    }
+
+    private static byte[] raw(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.springmvc.session;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 세션 내용을 역직렬화하지 않고 들여다보는 기능
+ * - 세션 저장소(redis / memory)마다 구현이 다르다
+ */
+public interface SessionIntrospector {
+
+    /**
+     * 세션 속성별 직렬화된 크기(byte)
+     * 저장소가 직렬화하지 않는 경우(memory) 빈 Map 을 반환한다.
+     */
+    Map<String, Long> serializedAttributeSizes(String sessionId, Collection<String> attributeNames);
+
+    /**
+     * principal 이름 → 세션 수 (인덱스 기준, 최대 limit 명)
+     */
+    Map<String, Long> sessionCountsByPrincipal(int limit);
+
+    /**
+     * 특정 principal 의 세션 수 (인덱스 기준)
+     */
+    long sessionCount(String principalName);
+}
@@ -0,0 +1,315 @@
+package com.example.springmvc.session;
+
+import com.example.springmvc.jfr.SessionStoreEvent;
+import com.example.springmvc.metrics.RequestTimings;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.MapSession;
+import org.springframework.session.PrincipalNameIndexResolver;
+import org.springframework.session.Session;
+import org.springframework.session.events.SessionCreatedEvent;
+import org.springframework.session.events.SessionDeletedEvent;
+import org.springframework.session.events.SessionExpiredEvent;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 프로세스 내장 세션 저장소 (Redis 없이 단일 노드 / 로컬 개발 / CI 용)
+ *
+ * [구조]
+ * - 세션 ID 해시값으로 나눈 여러 개의 ConcurrentHashMap (shard)
+ * - principal 이름 → 세션 ID 집합 인덱스 → 동시 세션 제어(FindByIndexNameSessionRepository) 지원
+ * - 만료는 TimingWheel 로 처리 → 주기적인 전체 스캔 없음
+ *
+ * [만료 스케줄링]
+ * 요청마다 접근시간이 바뀌어도 휠을 건드리지 않는다.
+ * 세션마다 휠에 걸린 타이머는 항상 하나이며, 타이머가 울렸을 때 실제 만료 시각을 다시 계산해서
+ * 아직이면 그 시각으로 다시 건다(lazy reschedule). 만료 시각이 앞당겨진 경우에만 새 타이머를 건다.
+ *
+ * [저장 방식]
+ * MapSessionRepository 와 같이 저장/조회 시 MapSession 을 복사한다.
+ * → 요청마다 세션 객체가 분리되어 동시 요청이 서로의 변경을 덮어쓰지 않는다.
+ */
+@Slf4j
+public class ShardedMapSessionRepository implements FindByIndexNameSessionRepository<MapSession>, DisposableBean {
+
+    private final ConcurrentHashMap<String, StoredSession>[] shards;
+    private final Map<String, Set<String>> principalIndex = new ConcurrentHashMap<>();
+    private final PrincipalNameIndexResolver<Session> principalNameResolver = new PrincipalNameIndexResolver<>();
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration defaultMaxInactiveInterval;
+    private final long tickMillis;
+    private final TimingWheel timingWheel;
+    private final ScheduledExecutorService ticker;
+
+    @SuppressWarnings("unchecked")
+    public ShardedMapSessionRepository(ApplicationEventPublisher eventPublisher, Duration defaultMaxInactiveInterval,
+                                       int shardCount, Duration tick) {
+        if (Integer.bitCount(shardCount) != 1) {
+            throw new IllegalArgumentException("shardCount 는 2의 거듭제곱이어야 합니다: " + shardCount);
+        }
+        this.eventPublisher = eventPublisher;
+        this.defaultMaxInactiveInterval = defaultMaxInactiveInterval;
+        this.shards = new ConcurrentHashMap[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new ConcurrentHashMap<>();
+        }
+
+        this.tickMillis = tick.toMillis();
+        this.timingWheel = new TimingWheel(System.currentTimeMillis() / tickMillis);
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-expiry-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.ticker.scheduleAtFixedRate(this::advance, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public MapSession createSession() {
+        MapSession session = new MapSession();
+        session.setMaxInactiveInterval(defaultMaxInactiveInterval);
+        return session;
+    }
+
+    @Override
+    public void save(MapSession session) {
+        SessionStoreEvent event = new SessionStoreEvent();
+        event.begin();
+        try {
+            write(session);
+        } finally {
+            event.end("memory", "save", true);
+        }
+    }
+
+    private void write(MapSession session) {
+        String id = session.getId();
+
+        // 세션 ID 가 바뀐 경우(로그인 시 세션 고정 보호) 기존 ID 정리
+        String originalId = session.getOriginalId();
+        if (!id.equals(originalId)) {
+            StoredSession renamed = shardFor(originalId).remove(originalId);
+            if (renamed != null) {
+                unindex(originalId, renamed.principalName);
+            }
+        }
+
+        MapSession copy = new MapSession(session);
+        String principalName = principalNameResolver.resolveIndexValueFor(copy);
+        long deadlineTick = toTick(deadlineMillis(copy));
+
+        StoredSession[] replaced = new StoredSession[1];
+        shardFor(id).compute(id, (key, previous) -> {
+            replaced[0] = previous;
+            StoredSession stored = new StoredSession(copy, principalName, deadlineTick);
+            if (previous != null && previous.scheduledTick <= deadlineTick) {
+                // 만료 시각이 늦춰진 경우 → 기존 타이머가 울릴 때 다시 건다
+                stored.scheduledTick = previous.scheduledTick;
+            } else {
+                // 새 세션이거나 만료 시각이 앞당겨진 경우 → 새 타이머 (기존 타이머는 울릴 때 무시됨)
+                timingWheel.schedule(id, deadlineTick);
+            }
+            return stored;
+        });
+
+        StoredSession previous = replaced[0];
+        if (previous == null) {
+            eventPublisher.publishEvent(new SessionCreatedEvent(this, copy));
+        }
+        if (previous == null || !equalsNullable(previous.principalName, principalName)) {
+            if (previous != null) {
+                unindex(id, previous.principalName);
+            }
+            index(id, principalName);
+        }
+    }
+
+    @Override
+    public MapSession findById(String id) {
+        SessionStoreEvent event = new SessionStoreEvent();
+        event.begin();
+        long start = System.nanoTime();
+        boolean found = false;
+        try {
+            StoredSession stored = shardFor(id).get(id);
+            if (stored == null) {
+                return null;
+            }
+            if (stored.session.isExpired()) {
+                expire(id, stored);
+                return null;
+            }
+            found = true;
+            return new MapSession(stored.session);
+        } finally {
+            RequestTimings.addSessionLoad(System.nanoTime() - start);
+            event.end("memory", "load", found);
+        }
+    }
+
+    @Override
+    public void deleteById(String id) {
+        StoredSession removed = shardFor(id).remove(id);
+        if (removed != null) {
+            unindex(id, removed.principalName);
+            eventPublisher.publishEvent(new SessionDeletedEvent(this, removed.session));
+        }
+    }
+
+    @Override
+    public Map<String, MapSession> findByIndexNameAndIndexValue(String indexName, String indexValue) {
+        if (!PRINCIPAL_NAME_INDEX_NAME.equals(indexName)) {
+            return Map.of();
+        }
+        Set<String> sessionIds = principalIndex.get(indexValue);
+        if (sessionIds == null) {
+            return Map.of();
+        }
+
+        Map<String, MapSession> result = new HashMap<>();
+        for (String id : sessionIds) {
+            MapSession session = findById(id);
+            if (session != null) {
+                result.put(id, session);
+            }
+        }
+        return result;
+    }
+
+    public int getSessionCount() {
+        int count = 0;
+        for (ConcurrentHashMap<String, StoredSession> shard : shards) {
+            count += shard.size();
+        }
+        return count;
+    }
+
+    public int getPrincipalIndexSize() {
+        return principalIndex.size();
+    }
+
+    public Map<String, Long> getSessionCountsByPrincipal(int limit) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Map.Entry<String, Set<String>> entry : principalIndex.entrySet()) {
+            if (counts.size() >= limit) {
+                break;
+            }
+            counts.put(entry.getKey(), (long) entry.getValue().size());
+        }
+        return counts;
+    }
+
+    public long getSessionCount(String principalName) {
+        Set<String> sessionIds = principalIndex.get(principalName);
+        return sessionIds != null ? sessionIds.size() : 0L;
+    }
+
+    @Override
+    public void destroy() {
+        ticker.shutdownNow();
+    }
+
+    private void advance() {
+        try {
+            timingWheel.advanceTo(System.currentTimeMillis() / tickMillis, this::onTimer);
+        } catch (RuntimeException e) {
+            // 예외가 전파되면 scheduleAtFixedRate 가 멈추므로 여기서 삼킨다
+            log.error("세션 만료 처리 실패", e);
+        }
+    }
+
+    private void onTimer(TimingWheel.Timer timer) {
+        String id = timer.getKey();
+        StoredSession[] expired = new StoredSession[1];
+
+        shardFor(id).computeIfPresent(id, (key, stored) -> {
+            if (stored.scheduledTick != timer.getDeadlineTick()) {
+                return stored; // 더 이른 타이머로 대체됨
+            }
+            if (stored.session.isExpired()) {
+                expired[0] = stored;
+                return null;
+            }
+            // 그 사이 접근이 있었음 → 실제 만료 시각으로 다시 건다
+            long deadlineTick = toTick(deadlineMillis(stored.session));
+            stored.scheduledTick = deadlineTick;
+            timingWheel.schedule(id, deadlineTick);
+            return stored;
+        });
+
+        if (expired[0] != null) {
+            unindex(id, expired[0].principalName);
+            eventPublisher.publishEvent(new SessionExpiredEvent(this, expired[0].session));
+        }
+    }
+
+    private void expire(String id, StoredSession stored) {
+        // 같은 객체일 때만 제거 → 그 사이 새로 저장된 세션을 지우지 않는다
+        if (shardFor(id).remove(id, stored)) {
+            unindex(id, stored.principalName);
+            eventPublisher.publishEvent(new SessionExpiredEvent(this, stored.session));
+        }
+    }
+
+    private void index(String id, String principalName) {
+        if (principalName != null) {
+            principalIndex.computeIfAbsent(principalName, key -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    private void unindex(String id, String principalName) {
+        if (principalName == null) {
+            return;
+        }
+        principalIndex.computeIfPresent(principalName, (key, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private ConcurrentHashMap<String, StoredSession> shardFor(String id) {
+        int hash = id.hashCode();
+        return shards[(hash ^ (hash >>> 16)) & (shards.length - 1)];
+    }
+
+    private long deadlineMillis(Session session) {
+        Duration maxInactive = session.getMaxInactiveInterval();
+        if (maxInactive.isNegative()) {
+            return Long.MAX_VALUE - tickMillis; // 만료 없음 → 휠 범위 밖으로 보내 가끔만 확인
+        }
+        return session.getLastAccessedTime().toEpochMilli() + maxInactive.toMillis();
+    }
+
+    private long toTick(long epochMillis) {
+        // 만료 시각은 올림: 현재 tick(내림)과 비교하므로 만료 시각보다 먼저 울리지 않는다
+        return (epochMillis + tickMillis - 1) / tickMillis;
+    }
+
+    private static boolean equalsNullable(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    private static final class StoredSession {
+
+        private final MapSession session;
+        private final String principalName;
+        private long scheduledTick; // shard 의 compute 안에서만 읽고 쓴다
+
+        private StoredSession(MapSession session, String principalName, long scheduledTick) {
+            this.session = session;
+            this.principalName = principalName;
+            this.scheduledTick = scheduledTick;
+        }
+    }
+}
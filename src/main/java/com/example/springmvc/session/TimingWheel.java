@@ -0,0 +1,140 @@
+package com.example.springmvc.session;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 계층형 타이밍 휠 (Hierarchical Timing Wheel)
+ *
+ * [왜 필요한가]
+ * 주기적으로 전체 세션을 훑어서 만료를 찾으면 세션 수 N 에 비례하는 비용이 매번 든다.
+ * 타이밍 휠은 만료 시각별로 슬롯에 나눠 담아 두고, 시계가 한 칸(tick) 움직일 때
+ * 그 칸에 들어 있는 항목만 꺼낸다. → 등록 O(1), tick 당 비용은 그 시점에 만료될 항목 수에 비례
+ *
+ * [구조]
+ * - 3단계 휠, 단계마다 64칸
+ *   - 0단계: 1 tick 단위 (64 tick 이내)
+ *   - 1단계: 64 tick 단위 (4,096 tick 이내)
+ *   - 2단계: 4,096 tick 단위 (262,144 tick 이내, tick=1초면 약 3일)
+ * - 상위 단계 칸이 돌아오면 그 칸의 항목을 한 단계 아래로 다시 나눠 담는다(cascade).
+ * - 범위를 넘는 항목은 2단계 가장 먼 칸에 넣고, 꺼낼 때 다시 등록된다.
+ *
+ * [동시성]
+ * 등록(schedule)과 tick 진행(advanceTo)은 모두 이 객체의 락으로 보호한다.
+ * 세션 저장소는 새 세션 생성 시와 만료 확인 시에만 등록하므로 요청 경로에서 경합이 거의 없다.
+ */
+public class TimingWheel {
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 3;
+    private static final long MAX_SPAN = 1L << (WHEEL_BITS * LEVELS);
+
+    private final List<List<Timer>> slots;
+    private long currentTick;
+
+    public TimingWheel(long startTick) {
+        this.currentTick = startTick;
+        this.slots = new ArrayList<>(LEVELS * WHEEL_SIZE);
+        for (int i = 0; i < LEVELS * WHEEL_SIZE; i++) {
+            slots.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * @param key          만료 대상 (세션 ID)
+     * @param deadlineTick 만료 tick
+     */
+    public synchronized void schedule(String key, long deadlineTick) {
+        // 현재 칸은 이미 꺼냈으므로 지난 항목은 다음 tick 에 꺼낸다
+        insert(new Timer(key, deadlineTick), currentTick + 1);
+    }
+
+    /**
+     * 지정한 tick 까지 시계를 진행하면서 만료된 항목을 expired 로 넘긴다.
+     * 콜백은 락 밖에서 호출하므로 콜백 안에서 다시 schedule() 해도 된다.
+     */
+    public void advanceTo(long targetTick, Consumer<Timer> expired) {
+        List<Timer> due = new ArrayList<>();
+        synchronized (this) {
+            while (currentTick < targetTick) {
+                currentTick++;
+                cascade(1);
+                List<Timer> slot = slots.get(slotIndex(0, currentTick));
+                due.addAll(slot);
+                slot.clear();
+            }
+        }
+        due.forEach(expired);
+    }
+
+    public synchronized long getCurrentTick() {
+        return currentTick;
+    }
+
+    private void cascade(int level) {
+        if (level >= LEVELS) {
+            return;
+        }
+        long unit = 1L << (WHEEL_BITS * level);
+        if ((currentTick & (unit - 1)) != 0) {
+            return;
+        }
+        // 상위 단계부터 먼저 내려야 이번 칸으로 떨어질 항목이 빠지지 않는다
+        cascade(level + 1);
+
+        List<Timer> slot = slots.get(slotIndex(level, currentTick));
+        if (slot.isEmpty()) {
+            return;
+        }
+        List<Timer> timers = new ArrayList<>(slot);
+        slot.clear();
+        // cascade 는 현재 칸을 꺼내기 전에 일어나므로 현재 tick 칸에 넣어도 이번에 꺼내진다
+        timers.forEach(timer -> insert(timer, currentTick));
+    }
+
+    private void insert(Timer timer, long earliestTick) {
+        long delta = timer.deadlineTick - currentTick;
+        if (delta < WHEEL_SIZE) {
+            long tick = Math.max(timer.deadlineTick, earliestTick);
+            slots.get(slotIndex(0, tick)).add(timer);
+            return;
+        }
+        for (int level = 1; level < LEVELS; level++) {
+            if (delta < 1L << (WHEEL_BITS * (level + 1))) {
+                slots.get(slotIndex(level, timer.deadlineTick)).add(timer);
+                return;
+            }
+        }
+        // 범위를 넘는 항목 → 가장 먼 칸에 두고, 꺼낼 때 다시 확인
+        slots.get(slotIndex(LEVELS - 1, currentTick + MAX_SPAN - 1)).add(timer);
+    }
+
+    private static int slotIndex(int level, long tick) {
+        return level * WHEEL_SIZE + (int) ((tick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+    }
+
+    /**
+     * 휠에 등록된 항목
+     */
+    public static final class Timer {
+
+        private final String key;
+        private final long deadlineTick;
+
+        private Timer(String key, long deadlineTick) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public long getDeadlineTick() {
+            return deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package com.example.springmvc.warmup;
+
+import com.example.springmvc.domain.member.Member;
+import com.example.springmvc.domain.member.MemberRepository;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.MessageSource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 시작 직후 워밍업 (준비 완료(readiness) 전에 실행)
+ *
+ * [왜 필요한가]
+ * 배포 직후 첫 요청들이 유독 느린 이유는 대부분 처음 한 번만 하는 일 때문이다.
+ * - Thymeleaf: 템플릿을 처음 요청될 때 파싱해서 캐시
+ * - Hibernate Validator: 폼 클래스의 제약 메타데이터를 처음 검증할 때 생성
+ * - MessageSource: 메시지 번들을 로케일별로 처음 찾을 때 읽음
+ * - BCrypt / 컨트롤러 경로: 클래스 로딩, 프록시 / 핸들러 매핑 캐시 같은 첫 호출 비용
+ *
+ * [준비 완료 시점]
+ * 스프링 부트는 ApplicationRunner 가 모두 끝난 뒤에 readiness 를 ACCEPTING_TRAFFIC 으로 바꾼다.
+ * → 이 러너가 끝날 때까지 /actuator/health/readiness 는 OUT_OF_SERVICE 이고, 로드밸런서가 트래픽을 보내지 않는다.
+ * 웹 서버는 이미 떠 있으므로 마지막 단계에서 자기 자신에게 HTTP 요청을 보내 컨트롤러 ~ 뷰 경로를 데운다.
+ *
+ * [JIT 에 대해]
+ * HTTP 단계의 기본 반복 수(app.warmup.http.iterations=50, 경로 6개 → 약 300 요청)는 C2 컴파일을 노린 값이 아니다.
+ * 요청마다 한 번 불리는 컨트롤러 / 필터 메서드가 C2 문턱(Tier4InvocationThreshold=5000, Tier4CompileThreshold=15000)에
+ * 닿으려면 경로마다 수천 ~ 만 회가 필요하고, 그만큼 준비 완료가 수십 초 늦어진다.
+ * 이 단계가 하는 일은 첫 요청에만 드는 비용(클래스 로딩, 템플릿 / 메시지 / 핸들러 캐시)과 C1 컴파일까지다.
+ * C2 까지 데우려면 iterations 와 timeout-seconds 를 함께 늘린다.
+ *
+ * [설정] app.warmup.*
+ * 단계마다 실패해도 경고만 남기고 다음 단계로 넘어간다 (워밍업 때문에 시작이 실패하지 않는다).
+ * 전체 시간이 timeout 을 넘으면 남은 단계를 건너뛴다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final String TEMPLATE_SUFFIX = ".html";
+    private static final Pattern CSRF_INPUT = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+
+    private final ApplicationContext applicationContext;
+    private final ITemplateEngine templateEngine;
+    private final Validator validator;
+    private final MessageSource messageSource;
+    private final PasswordEncoder passwordEncoder;
+    private final MemberRepository memberRepository;
+
+    private final String templatePrefix;
+    private final List<String> validationClasses;
+    private final List<String> messageBasenames;
+    private final List<Locale> locales;
+    private final int bcryptRounds;
+    private final List<String> httpPaths;
+    private final int httpIterations;
+    private final String httpLoginId;
+    private final Duration timeout;
+
+    public WarmupRunner(ApplicationContext applicationContext, ITemplateEngine templateEngine, Validator validator,
+                        MessageSource messageSource, PasswordEncoder passwordEncoder,
+                        MemberRepository memberRepository,
+                        @Value("${spring.thymeleaf.prefix:classpath:/templates/}") String templatePrefix,
+                        @Value("${app.warmup.validation-classes}") List<String> validationClasses,
+                        @Value("${spring.messages.basename:messages}") List<String> messageBasenames,
+                        @Value("${app.warmup.locales:ko,en}") List<Locale> locales,
+                        @Value("${app.warmup.bcrypt-rounds:2}") int bcryptRounds,
+                        @Value("${app.warmup.http.paths}") List<String> httpPaths,
+                        @Value("${app.warmup.http.iterations:50}") int httpIterations,
+                        @Value("${app.warmup.http.login-id:}") String httpLoginId,
+                        @Value("${app.warmup.timeout-seconds:60}") long timeoutSeconds) {
+        this.applicationContext = applicationContext;
+        this.templateEngine = templateEngine;
+        this.validator = validator;
+        this.messageSource = messageSource;
+        this.passwordEncoder = passwordEncoder;
+        this.memberRepository = memberRepository;
+        this.templatePrefix = templatePrefix;
+        this.validationClasses = validationClasses;
+        this.messageBasenames = messageBasenames;
+        this.locales = locales;
+        this.bcryptRounds = bcryptRounds;
+        this.httpPaths = httpPaths;
+        this.httpIterations = httpIterations;
+        this.httpLoginId = httpLoginId;
+        this.timeout = Duration.ofSeconds(timeoutSeconds);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+
+        step("templates", deadline, this::warmTemplates);
+        step("validators", deadline, this::warmValidators);
+        step("messages", deadline, this::warmMessages);
+        step("bcrypt", deadline, this::warmPasswordEncoder);
+        step("http", deadline, () -> warmHandlers(deadline));
+
+        log.info("워밍업 완료 {}ms", Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    /**
+     * 템플릿을 빈 컨텍스트로 한 번씩 처리한다.
+     * 파싱 결과는 처리 전에 캐시되므로, 모델 값이 없어 처리 중 예외가 나도 파싱 캐시는 남는다.
+     */
+    private int warmTemplates() throws IOException {
+        String pattern = templatePrefix + "**/*" + TEMPLATE_SUFFIX;
+        int count = 0;
+        for (Resource resource : applicationContext.getResources(pattern)) {
+            String url = resource.getURL().toString();
+            String root = templatePrefix.substring(templatePrefix.indexOf(':') + 1);
+            int index = url.lastIndexOf(root);
+            if (index < 0) {
+                continue;
+            }
+            String templateName = url.substring(index + root.length(), url.length() - TEMPLATE_SUFFIX.length());
+            try {
+                templateEngine.process(templateName, new Context(Locale.getDefault()), Writer.nullWriter());
+            } catch (RuntimeException e) {
+                log.debug("워밍업 템플릿 처리 실패 (파싱은 캐시됨) template={}: {}", templateName, e.getMessage());
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 빈 객체를 검증 → 제약 메타데이터, ConstraintValidator, 메시지 보간기 초기화
+     */
+    private int warmValidators() throws ReflectiveOperationException {
+        ClassLoader classLoader = applicationContext.getClassLoader();
+        for (String className : validationClasses) {
+            Class<?> type = ClassUtils.forName(className, classLoader);
+            validator.validate(type.getDeclaredConstructor().newInstance());
+        }
+        return validationClasses.size();
+    }
+
+    /**
+     * 메시지 파일의 모든 코드를 로케일별로 한 번씩 찾는다 → 번들 로드 + MessageFormat 캐시
+     */
+    private int warmMessages() throws IOException {
+        int count = 0;
+        for (String basename : messageBasenames) {
+            Properties properties = PropertiesLoaderUtils.loadProperties(
+                    new ClassPathResource(basename.trim().replace('.', '/') + ".properties"));
+            for (String code : properties.stringPropertyNames()) {
+                for (Locale locale : locales) {
+                    messageSource.getMessage(code, null, code, locale);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private int warmPasswordEncoder() {
+        String encoded = passwordEncoder.encode("warmup-password");
+        for (int i = 0; i < bcryptRounds; i++) {
+            passwordEncoder.matches("warmup-password", encoded);
+        }
+        return bcryptRounds;
+    }
+
+    /**
+     * 자기 자신에게 GET 요청 → 필터 체인, 컨트롤러, 뷰 렌더링 경로를 JIT 가 컴파일하도록 한다
+     * 쿠키를 유지해서 세션은 하나만 만든다 (세션 저장소에 워밍업 세션이 쌓이지 않도록)
+     *
+     * /form/items 처럼 인증이 필요한 경로는 로그인하지 않으면 /login 리다이렉트(302)만 데우게 된다.
+     * → login-id 가 있으면 워밍업 전용 계정으로 폼 로그인을 하고, 2xx 가 아닌 응답은 경로마다 한 번씩 경고로 남긴다
+     * 끝나면 로그아웃해서 워밍업 세션을 지운다
+     */
+    private int warmHandlers(long deadline) throws IOException, InterruptedException {
+        if (!(applicationContext instanceof WebServerApplicationContext webContext) || httpPaths.isEmpty()) {
+            return 0;
+        }
+        String baseUrl = "http://localhost:" + webContext.getWebServer().getPort();
+        HttpClient client = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+        boolean loggedIn = StringUtils.hasText(httpLoginId) && login(client, baseUrl);
+
+        Set<String> failedPaths = new HashSet<>();
+        int count = 0;
+        for (int i = 0; i < httpIterations && System.nanoTime() < deadline; i++) {
+            for (String path : httpPaths) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                        .timeout(Duration.ofSeconds(5))
+                        .GET()
+                        .build();
+                int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                if ((status < 200 || status >= 300) && failedPaths.add(path)) {
+                    log.warn("워밍업 요청 응답이 2xx 가 아님 path={}, status={}", path, status);
+                }
+                count++;
+            }
+        }
+        if (loggedIn) {
+            logout(client, baseUrl);
+        }
+        return count;
+    }
+
+    /**
+     * 워밍업 전용 계정으로 폼 로그인 (GET /login 의 CSRF 토큰 → POST /login)
+     *
+     * 동시 세션 제한(maximumSessions=1) 때문에 실제 사용자 계정으로 로그인하면 그 사용자의 세션이 만료된다.
+     * → 시작할 때마다 login-id 로 전용 계정을 만들고, 비밀번호는 매번 새로 만든 임의 값이라 밖에서는 로그인할 수 없다.
+     * 같은 loginId 의 회원이 이미 있으면(실제 계정일 수 있다) 로그인하지 않는다.
+     * @return 로그인 성공 여부 (성공하면 /home 으로, 실패하면 /login?error 로 리다이렉트된다)
+     */
+    private boolean login(HttpClient client, String baseUrl) throws IOException, InterruptedException {
+        if (memberRepository.findByLoginId(httpLoginId).isPresent()) {
+            log.warn("워밍업 로그인 생략 - 이미 있는 회원 loginId={} (워밍업 전용 loginId 를 지정할 것)", httpLoginId);
+            return false;
+        }
+        String password = UUID.randomUUID().toString();
+        Member member = new Member();
+        member.setLoginId(httpLoginId);
+        member.setName("워밍업");
+        member.setPassword(passwordEncoder.encode(password));
+        memberRepository.save(member);
+
+        String csrf = csrfToken(client, baseUrl);
+        if (csrf == null) {
+            log.warn("워밍업 로그인 생략 - 로그인 폼에서 CSRF 토큰을 찾지 못함");
+            return false;
+        }
+        String form = "_csrf=" + encode(csrf) + "&loginId=" + encode(httpLoginId) + "&password=" + encode(password);
+        HttpResponse<Void> response = client.send(post(baseUrl + "/login", form), HttpResponse.BodyHandlers.discarding());
+        String location = response.headers().firstValue("Location").orElse("");
+        if (response.statusCode() != 302 || location.contains("/login")) {
+            log.warn("워밍업 로그인 실패 loginId={}, status={}, location={} - 인증이 필요한 경로는 리다이렉트만 데운다",
+                    httpLoginId, response.statusCode(), location);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 로그아웃 (POST /logout) → 워밍업 세션을 세션 저장소에서 지운다
+     */
+    private void logout(HttpClient client, String baseUrl) throws IOException, InterruptedException {
+        String csrf = csrfToken(client, baseUrl); // 로그인하면서 CSRF 토큰이 바뀌었으므로 다시 받는다
+        if (csrf == null) {
+            log.warn("워밍업 로그아웃 생략 - CSRF 토큰을 찾지 못함 (세션은 만료 시간에 지워진다)");
+            return;
+        }
+        client.send(post(baseUrl + "/logout", "_csrf=" + encode(csrf)), HttpResponse.BodyHandlers.discarding());
+    }
+
+    private static String csrfToken(HttpClient client, String baseUrl) throws IOException, InterruptedException {
+        HttpRequest loginPage = HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+        Matcher csrf = CSRF_INPUT.matcher(client.send(loginPage, HttpResponse.BodyHandlers.ofString()).body());
+        return csrf.find() ? csrf.group(1) : null;
+    }
+
+    private static HttpRequest post(String url, String form) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(5))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private void step(String name, long deadline, WarmupStep step) {
+        if (System.nanoTime() >= deadline) {
+            log.warn("워밍업 시간 초과 ({}s) - {} 단계 생략", timeout.toSeconds(), name);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            int count = step.run();
+            log.info("워밍업 {}: {}건, {}ms", name, count, Duration.ofNanos(System.nanoTime() - start).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("워밍업 {} 단계 중단", name);
+        } catch (Exception e) {
+            log.warn("워밍업 {} 단계 실패", name, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface WarmupStep {
+        int run() throws Exception;
+    }
+}
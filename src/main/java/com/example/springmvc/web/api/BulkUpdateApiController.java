@@ -0,0 +1,59 @@
+package com.example.springmvc.web.api;
+
+import com.example.springmvc.domain.item.BulkUpdateJob;
+import com.example.springmvc.domain.item.ItemBulkUpdater;
+import com.example.springmvc.domain.item.ItemChange;
+import com.example.springmvc.domain.item.ItemFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * 상품 일괄 변경 API (JSON)
+ *
+ * - POST /api/items/bulk-updates        → 작업 등록 (202 + Location), 변경 내용이 잘못되면 400
+ * - GET  /api/items/bulk-updates/{jobId} → 진행 상황 (status, total, processed, updated, progress)
+ *
+ * 작업은 백그라운드에서 병렬로 실행되고, 그동안 상품 조회는 막히지 않는다 (ItemBulkUpdater)
+ */
+@RestController
+@RequestMapping("/api/items/bulk-updates")
+@RequiredArgsConstructor
+public class BulkUpdateApiController {
+
+    private final ItemBulkUpdater itemBulkUpdater;
+
+    @PostMapping
+    public ResponseEntity<?> start(@Validated @RequestBody BulkUpdateRequest request) {
+        ItemChange change;
+        try {
+            change = new ItemChange(request.getPricePercent(), request.getPrice(),
+                    request.getQuantity(), request.getQuantityDelta());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+        ItemFilter filter = new ItemFilter(request.getItemTypes(), request.getRegion(), request.getOpen(),
+                request.getDeliveryCodes());
+
+        BulkUpdateJob job = itemBulkUpdater.start(filter, change);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{jobId}").buildAndExpand(job.getId()).toUri();
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<BulkUpdateJob> job(@PathVariable Long jobId) {
+        BulkUpdateJob job = itemBulkUpdater.findJob(jobId);
+        return job != null ? ResponseEntity.ok(job) : ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.springmvc.web.api;
+
+import com.example.springmvc.domain.item.ItemType;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+/**
+ * 상품 일괄 변경 요청 (JSON)
+ *
+ * 대상 조건 (비우면 전체): itemTypes, region, open, deliveryCodes
+ * 변경 내용 (하나 이상): pricePercent | price, quantity | quantityDelta
+ *
+ * 예) FOOD 가격 5% 인상: {"itemTypes": ["FOOD"], "pricePercent": 5}
+ * 예) JEJU 등록 상품 수량 0: {"region": "JEJU", "quantity": 0}
+ */
+@Data
+public class BulkUpdateRequest {
+
+    private Set<ItemType> itemTypes;
+    private String region;
+    private Boolean open;
+    private Set<String> deliveryCodes;
+
+    @DecimalMin("-100")
+    @DecimalMax("1000")
+    private BigDecimal pricePercent;
+
+    @Min(0)
+    private Integer price;
+
+    @Min(0)
+    private Integer quantity;
+
+    private Integer quantityDelta;
+}
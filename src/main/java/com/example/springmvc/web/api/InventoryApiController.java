@@ -0,0 +1,80 @@
+package com.example.springmvc.web.api;
+
+import com.example.springmvc.domain.item.InventoryReservations;
+import com.example.springmvc.domain.item.Reservation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+/**
+ * 재고 예약 API (JSON)
+ *
+ * - GET    /api/items/{itemId}/stock                → 재고 현황
+ * - POST   /api/items/{itemId}/reservations         → 예약 (201, 수량 부족 409, 상품 없음 404)
+ * - GET    /api/reservations/{reservationId}         → 예약 조회
+ * - POST   /api/reservations/{reservationId}/confirm → 확정 (판매 완료)
+ * - DELETE /api/reservations/{reservationId}         → 해제 (수량 복구)
+ *
+ * 확정 / 해제되지 않은 예약은 ttl 이 지나면 자동으로 해제된다.
+ * 수량 변경은 InventoryReservations 가 모아서 저장소에 반영하므로 상품 화면에는 잠시 후 보인다.
+ */
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class InventoryApiController {
+
+    private final InventoryReservations inventoryReservations;
+
+    @GetMapping("/items/{itemId}/stock")
+    public ResponseEntity<StockInfo> stock(@PathVariable Long itemId) {
+        int[] stock = inventoryReservations.stockOfItem(itemId);
+        if (stock == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(new StockInfo(itemId, stock[0], stock[1]));
+    }
+
+    @PostMapping("/items/{itemId}/reservations")
+    public ResponseEntity<Reservation> reserve(@PathVariable Long itemId,
+                                               @Validated @RequestBody ReservationRequest request) {
+        if (inventoryReservations.stockOfItem(itemId) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        Duration ttl = request.getTtlSeconds() != null ? Duration.ofSeconds(request.getTtlSeconds()) : null;
+        Reservation reservation = inventoryReservations.reserve(itemId, request.getQuantity(), ttl);
+        if (reservation == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(reservation);
+    }
+
+    @GetMapping("/reservations/{reservationId}")
+    public ResponseEntity<Reservation> reservation(@PathVariable Long reservationId) {
+        Reservation reservation = inventoryReservations.findReservation(reservationId);
+        return reservation != null ? ResponseEntity.ok(reservation) : ResponseEntity.notFound().build();
+    }
+
+    @PostMapping("/reservations/{reservationId}/confirm")
+    public ResponseEntity<Void> confirm(@PathVariable Long reservationId) {
+        return inventoryReservations.confirm(reservationId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    @DeleteMapping("/reservations/{reservationId}")
+    public ResponseEntity<Void> release(@PathVariable Long reservationId) {
+        return inventoryReservations.release(reservationId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.springmvc.web.api;
+
+import com.example.springmvc.domain.item.ItemAggregate;
+import com.example.springmvc.domain.item.ItemAggregates;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 상품 집계 API (JSON) - 대시보드용
+ *
+ * - GET /api/items/aggregates → 전체 / 종류별 / 지역별 / 판매 여부별 상품 수, 재고 금액, 평균 가격
+ *
+ * 저장소를 훑지 않고 ItemAggregates 가 유지하는 누산기 값만 읽는다.
+ */
+@RestController
+@RequestMapping("/api/items/aggregates")
+@RequiredArgsConstructor
+public class ItemAggregatesApiController {
+
+    private final ItemAggregates itemAggregates;
+
+    @GetMapping
+    public ItemAggregatesResponse aggregates() {
+        Map<String, ItemAggregate> byOpen = new LinkedHashMap<>();
+        byOpen.put("true", itemAggregates.getByOpen(true));
+        byOpen.put("false", itemAggregates.getByOpen(false));
+        return new ItemAggregatesResponse(itemAggregates.getTotal(), itemAggregates.getByItemType(),
+                itemAggregates.getByRegion(), byOpen);
+    }
+}
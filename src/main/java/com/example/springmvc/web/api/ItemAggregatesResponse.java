@@ -0,0 +1,24 @@
+package com.example.springmvc.web.api;
+
+import com.example.springmvc.domain.item.ItemAggregate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * 상품 집계 (JSON)
+ * - total: 전체
+ * - byItemType: 상품 종류별 (종류 없음은 NONE)
+ * - byRegion: 등록 지역별 (여러 지역 상품은 지역마다 포함)
+ * - byOpen: 판매 여부별 (true / false)
+ */
+@Data
+@AllArgsConstructor
+public class ItemAggregatesResponse {
+
+    private ItemAggregate total;
+    private Map<String, ItemAggregate> byItemType;
+    private Map<String, ItemAggregate> byRegion;
+    private Map<String, ItemAggregate> byOpen;
+}
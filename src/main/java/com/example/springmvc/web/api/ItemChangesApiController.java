@@ -0,0 +1,44 @@
+package com.example.springmvc.web.api;
+
+import com.example.springmvc.domain.item.ItemChangeLog;
+import com.example.springmvc.domain.item.ItemDelta;
+import com.example.springmvc.domain.item.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 상품 증분 동기화 API (JSON) - 모바일 / POS 용
+ *
+ * - GET /api/items/changes          → 전체 스냅샷 + version
+ * - GET /api/items/changes?since=V  → V 이후 바뀐 상품만 + 새 version
+ *
+ * version 은 "epoch:순번" 문자열이다 (ItemChangeLog) - 클라이언트는 해석하지 않고 그대로 돌려보낸다.
+ * V 가 변경 기록에서 이미 밀려났거나 epoch 가 다르면(재시작 / 다른 서버) 전체 스냅샷으로 대신한다.
+ */
+@RestController
+@RequestMapping("/api/items/changes")
+@RequiredArgsConstructor
+public class ItemChangesApiController {
+
+    private final ItemRepository itemRepository;
+    private final ItemChangeLog itemChangeLog;
+
+    @GetMapping
+    public ItemChangesResponse changes(@RequestParam(required = false) String since) {
+        if (since != null) {
+            ItemDelta delta = itemChangeLog.changesSince(since);
+            if (delta != null) {
+                return new ItemChangesResponse(itemChangeLog.versionOf(delta.getVersion()), false,
+                        delta.getItems(), delta.getDeletedIds());
+            }
+        }
+        // 순번을 먼저 읽는다 → 스냅샷이 그보다 새 변경을 포함해도 다음 요청에서 같은 값으로 덮일 뿐 빠지는 변경은 없다
+        long version = itemChangeLog.getCommittedSequence();
+        return new ItemChangesResponse(itemChangeLog.versionOf(version), true, itemRepository.findAll(), List.of());
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.springmvc.web.api;
+
+import com.example.springmvc.domain.item.Item;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 상품 증분 동기화 응답 (JSON)
+ * - version: 다음 요청의 since 로 보낼 값 ("epoch:순번")
+ * - snapshot: true 면 items 가 전체 목록 → 클라이언트는 가진 목록을 통째로 바꾼다 (deletedIds 는 비어 있음)
+ * - items: 추가 / 수정된 상품 (snapshot 이면 전체)
+ * - deletedIds: 삭제된 상품 ID
+ */
+@Data
+@AllArgsConstructor
+public class ItemChangesResponse {
+
+    private String version;
+    private boolean snapshot;
+    private List<Item> items;
+    private List<Long> deletedIds;
+}
@@ -0,0 +1,156 @@
+package com.example.springmvc.web.api;
+
+import com.example.springmvc.domain.item.ItemSnapshot;
+import com.example.springmvc.domain.item.ItemSnapshotWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 상품 전체 스냅샷 다운로드 (재무팀 야간 다운로드용)
+ *
+ * - GET /api/items/snapshot              → CSV (text/csv)
+ * - GET /api/items/snapshot?format=binary → 바이너리 (형식은 ItemSnapshotWriter 참고)
+ *
+ * [전송]
+ * ItemSnapshotWriter 가 미리 써 둔 파일을 그대로 보낸다 (요청 경로에서 조회 / 직렬화 없음).
+ * - Tomcat 이 sendfile 을 지원하면(NIO, TLS 아님) 파일 경로만 넘기고 커널이 보낸다 → 힙 / 복사 없음
+ *   Tomcat 은 이 메서드가 끝난 뒤 경로로 파일을 연다. 그 사이 파일이 지워지지 않는 것은
+ *   ItemSnapshotWriter 의 보존 시간(app.item.snapshot.retention-seconds) 덕분이다.
+ * - 아니면 FileChannel.transferTo 로 응답 스트림에 흘려보낸다 (작은 버퍼 하나만 사용)
+ *   보내는 동안 스냅샷의 다운로드 참조를 잡아 두므로 보존 시간이 지나도 끝날 때까지 지우지 않는다.
+ *
+ * [Range]
+ * bytes=a-b, bytes=a-, bytes=-n 한 구간만 지원 (여러 구간은 무시하고 전체를 보낸다)
+ * ETag 는 스냅샷 순번 + 형식 → If-Range 가 다르면(그 사이 새 스냅샷) 전체를 보낸다.
+ */
+@RestController
+@RequestMapping("/api/items/snapshot")
+@RequiredArgsConstructor
+public class ItemSnapshotApiController {
+
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    private final ItemSnapshotWriter itemSnapshotWriter;
+
+    @GetMapping
+    public void snapshot(@RequestParam(defaultValue = "csv") String format,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        boolean binary = "binary".equals(format);
+        if (!binary && !"csv".equals(format)) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "format 은 csv 또는 binary");
+            return;
+        }
+        ItemSnapshot snapshot = itemSnapshotWriter.getLatest();
+        if (snapshot == null) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "5");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "아직 스냅샷이 없습니다");
+            return;
+        }
+
+        Path file = binary ? snapshot.getBinaryFile() : snapshot.getCsvFile();
+        snapshot.beginDownload();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            String etag = "\"" + snapshot.getVersion() + "-" + snapshot.getCreatedAt() + (binary ? "-bin" : "-csv") + "\"";
+
+            response.setContentType(binary ? "application/octet-stream" : "text/csv;charset=UTF-8");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"items-"
+                    + snapshot.getVersion() + (binary ? ".bin\"" : ".csv\""));
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setDateHeader(HttpHeaders.LAST_MODIFIED, snapshot.getCreatedAt());
+
+            long start = 0;
+            long end = length; // 끝(제외)
+            String range = request.getHeader(HttpHeaders.RANGE);
+            String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+            if (range != null && (ifRange == null || ifRange.equals(etag))) {
+                long[] bounds = parseRange(range, length);
+                if (bounds == null) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                if (bounds.length == 2) {
+                    start = bounds[0];
+                    end = bounds[1];
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length);
+                }
+            }
+            response.setContentLengthLong(end - start);
+            if ("HEAD".equals(request.getMethod())) {
+                return;
+            }
+
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+                request.setAttribute(SENDFILE_FILENAME_ATTR, file.toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START_ATTR, start);
+                request.setAttribute(SENDFILE_END_ATTR, end);
+                return;
+            }
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position < end) {
+                position += channel.transferTo(position, end - position, out);
+            }
+        } catch (NoSuchFileException e) {
+            // 보존 시간보다 오래 붙들고 있던 스냅샷이라 이미 지워진 경우 → 다시 받으면 된다
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "스냅샷이 바뀌었습니다. 다시 요청하세요");
+        } finally {
+            snapshot.endDownload();
+        }
+    }
+
+    /**
+     * @return 한 구간이면 {start, end(제외)}, 무시할 Range(형식 오류, 여러 구간)면 빈 배열, 만족할 수 없으면 null
+     */
+    private static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return new long[0];
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                // bytes=-n: 마지막 n 바이트
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || length == 0) {
+                    return null;
+                }
+                return new long[]{Math.max(0, length - suffix), length};
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? length : Math.min(Long.parseLong(last) + 1, length);
+            if (start >= length || end <= start) {
+                return null;
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.springmvc.web.api;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+/**
+ * 재고 예약 요청 (JSON)
+ * - ttlSeconds: 비우면 기본값(app.inventory.reservation.default-ttl-seconds)
+ */
+@Data
+public class ReservationRequest {
+
+    @NotNull
+    @Min(1)
+    private Integer quantity;
+
+    @Min(1)
+    private Long ttlSeconds;
+}
@@ -0,0 +1,18 @@
+package com.example.springmvc.web.api;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 상품 재고 현황 (JSON)
+ * - available: 지금 예약 / 판매할 수 있는 수량
+ * - reserved: 예약 중(확정 / 해제 / 만료 전)인 수량
+ */
+@Data
+@AllArgsConstructor
+public class StockInfo {
+
+    private Long itemId;
+    private int available;
+    private int reserved;
+}
@@ -0,0 +1,32 @@
+package com.example.springmvc.web.idempotency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * 멱등 키(IdempotencyInterceptor) 적용 대상
+ * - POST /form/items/add (ItemController.addItem)
+ * - POST /validation/v4/items/add (ValidationItemControllerV4.addItem)
+ */
+@Configuration(proxyBeanMethods = false)
+public class IdempotencyConfig implements WebMvcConfigurer {
+
+    private final IdempotencyInterceptor idempotencyInterceptor;
+
+    public IdempotencyConfig(@Value("${app.idempotency.maximum-size:100000}") long maximumSize,
+                             @Value("${app.idempotency.time-to-live-minutes:60}") long timeToLiveMinutes,
+                             @Value("${app.idempotency.wait-timeout-millis:10000}") long waitTimeoutMillis) {
+        this.idempotencyInterceptor = new IdempotencyInterceptor(maximumSize, Duration.ofMinutes(timeToLiveMinutes),
+                Duration.ofMillis(waitTimeoutMillis));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(idempotencyInterceptor)
+                .addPathPatterns("/form/items/add", "/validation/v4/items/add");
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.springmvc.web.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 멱등 키로 등록 POST 재시도 흡수
+ *
+ * [왜 필요한가]
+ * 등록 POST 가 타임아웃 난 뒤 클라이언트가 다시 보내면 같은 상품이 또 만들어진다.
+ * 요청에 Idempotency-Key 헤더 또는 idempotencyKey 폼 파라미터(addForm 의 hidden 필드)가 있으면
+ * 같은 키의 두 번째 요청부터는 컨트롤러(바인딩 / 검증 / save)를 실행하지 않고 처음 요청의 결과로 보낸다.
+ *
+ * [결과 = 처음 요청의 리다이렉트 주소]
+ * 등록 성공은 PRG 리다이렉트(상품 상세, 상품 ID 포함)로 끝나므로 그 Location 을 기억했다가 그대로 돌려준다.
+ * 검증 실패(폼 다시 렌더링)나 예외로 끝나면 기억하지 않는다 → 같은 키로 다시 보내면 처음부터 다시 처리된다.
+ *
+ * [동시 중복]
+ * 키마다 CompletableFuture 를 putIfAbsent 로 먼저 넣은 요청 하나만 컨트롤러를 실행한다.
+ * 나머지는 그 결과를 wait-timeout 동안 기다렸다가 같은 곳으로 리다이렉트한다 (시간 안에 안 끝나면 409).
+ *
+ * [범위 / 보관]
+ * - 키는 사용자(로그인 이름, 없으면 세션 ID) + 요청 URI 별로 따로 본다 → 다른 사용자의 키와 섞이지 않는다
+ * - 로그인도 세션도 없는 요청은 멱등 처리를 하지 않는다 (모두 같은 범위가 되어 남의 결과로 리다이렉트될 수 있으므로)
+ * - Caffeine 캐시: 최대 개수 + 만료 시간 → 메모리 상한 고정 (노드마다 따로, 서버 재시작 시 초기화)
+ */
+@Slf4j
+public class IdempotencyInterceptor implements HandlerInterceptor {
+
+    public static final String HEADER_NAME = "Idempotency-Key";
+    public static final String PARAMETER_NAME = "idempotencyKey";
+    public static final String REPLAYED_HEADER_NAME = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 128;
+    private static final String CLAIM_ATTR = IdempotencyInterceptor.class.getName() + ".claim";
+
+    private final Cache<String, CompletableFuture<String>> results;
+    private final long waitTimeoutMillis;
+
+    public IdempotencyInterceptor(long maximumSize, Duration timeToLive, Duration waitTimeout) {
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .build();
+        this.waitTimeoutMillis = waitTimeout.toMillis();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (!"POST".equals(request.getMethod())) {
+            return true;
+        }
+        String key = idempotencyKey(request);
+        if (key == null) {
+            return true; // 키 없는 요청은 예전처럼 처리
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Idempotency-Key 가 너무 깁니다");
+            return false;
+        }
+
+        String scope = scope(request);
+        if (scope == null) {
+            return true; // 누구의 키인지 구분할 수 없다 → 남의 결과를 돌려주지 않도록 그냥 처리
+        }
+        String cacheKey = scope + '\n' + request.getRequestURI() + '\n' + key;
+        while (true) {
+            CompletableFuture<String> claim = new CompletableFuture<>();
+            CompletableFuture<String> existing = results.asMap().putIfAbsent(cacheKey, claim);
+            if (existing == null) {
+                request.setAttribute(CLAIM_ATTR, new Claim(cacheKey, claim)); // 이 요청이 처리한다
+                return true;
+            }
+
+            String location;
+            try {
+                location = existing.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                response.sendError(HttpServletResponse.SC_CONFLICT, "같은 Idempotency-Key 요청을 처리하는 중입니다");
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                return false;
+            } catch (ExecutionException e) {
+                location = null; // 발생하지 않음 (실패는 null 로 완료)
+            }
+            if (location != null) {
+                response.setHeader(REPLAYED_HEADER_NAME, "true");
+                response.sendRedirect(location);
+                return false;
+            }
+            // 앞선 요청이 성공하지 못했음 (검증 실패 등) → 다시 차지해서 이 요청이 처리
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Claim claim = (Claim) request.getAttribute(CLAIM_ATTR);
+        if (claim == null) {
+            return;
+        }
+        String location = response.getHeader(HttpHeaders.LOCATION);
+        boolean created = ex == null && response.getStatus() / 100 == 3 && location != null;
+        if (!created) {
+            results.asMap().remove(claim.cacheKey, claim.result);
+            location = null;
+        }
+        claim.result.complete(location); // 기다리던 중복 요청을 깨운다
+    }
+
+    private static String idempotencyKey(HttpServletRequest request) {
+        String key = request.getHeader(HEADER_NAME);
+        if (key == null || key.isBlank()) {
+            key = request.getParameter(PARAMETER_NAME);
+        }
+        return key == null || key.isBlank() ? null : key.trim();
+    }
+
+    /**
+     * 키를 구분하는 범위 - 로그인 이름, 없으면 세션 ID, 둘 다 없으면 null (멱등 처리 안 함)
+     */
+    private static String scope(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return "user:" + principal.getName();
+        }
+        HttpSession session = request.getSession(false);
+        return session != null ? "session:" + session.getId() : null;
+    }
+
+    private static final class Claim {
+
+        private final String cacheKey;
+        private final CompletableFuture<String> result;
+
+        private Claim(String cacheKey, CompletableFuture<String> result) {
+            this.cacheKey = cacheKey;
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.example.springmvc.web.item;
+
+import com.example.springmvc.domain.item.ItemChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 상품 변경 SSE 방송 (/form/items/stream)
+ *
+ * [왜 필요한가]
+ * 직원들이 새 재고를 보려고 /form/items 를 계속 새로고침 → 매번 전체 조회 + 템플릿 렌더링.
+ * 목록은 한 번만 그리고, 이후에는 바뀐 상품만 SSE 로 받아서 행을 고친다 (form/liveItems).
+ *
+ * [구조]
+ * - ItemChangedEvent 리스너(쓰는 스레드)는 메시지를 만들어 큐에 넣고 방송 스레드를 깨우기만 한다
+ * - 방송 스레드(item-change-fanout) 하나가 큐를 비우면서 같은 상품은 최신 것만 남기고(coalescing)
+ *   구독자마다의 버퍼에 옮겨 담는다 → 구독자가 수천 명이어도 쓰는 쪽 비용은 구독자 수와 무관
+ * - 실제 전송(소켓 쓰기)은 전송 스레드 풀이 한다. 구독자마다 동시에 하나의 전송 작업만 돈다.
+ *   SseEmitter.send 는 느린 클라이언트에서 막힐 수 있으므로 방송 스레드가 직접 쓰지 않는다.
+ *
+ * [느린 구독자]
+ * - 구독자 버퍼는 상품 ID → 최신 메시지 맵이다. 보내기 전에 같은 상품이 또 바뀌면 덮어쓴다.
+ * - 버퍼의 상품 수가 buffer-size 를 넘으면 버퍼를 비우고 reset 이벤트 하나만 보낸다
+ *   → 화면은 목록을 새로 불러온다 (밀린 변경을 끝없이 쌓지 않는다)
+ *
+ * [연결 유지]
+ * heartbeat-seconds 마다 보낼 것이 없는 구독자에게 주석 한 줄을 보낸다
+ * (프록시의 유휴 연결 끊김 방지 + 끊긴 클라이언트를 쓰기 실패로 찾아낸다)
+ */
+@Slf4j
+@Component
+public class ItemChangeBroadcaster implements DisposableBean {
+
+    private final ConcurrentLinkedQueue<ItemChangeMessage> incoming = new ConcurrentLinkedQueue<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final LongAdder resetCount = new LongAdder();
+
+    private final int maxSubscribers;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final long heartbeatNanos;
+    private final Thread fanOutThread;
+    private final ExecutorService senders;
+    private volatile boolean running = true;
+
+    public ItemChangeBroadcaster(@Value("${app.item.stream.max-subscribers:5000}") int maxSubscribers,
+                                 @Value("${app.item.stream.buffer-size:256}") int bufferSize,
+                                 @Value("${app.item.stream.timeout-minutes:30}") long timeoutMinutes,
+                                 @Value("${app.item.stream.heartbeat-seconds:15}") long heartbeatSeconds,
+                                 @Value("${app.item.stream.sender-threads:4}") int senderThreads) {
+        this.maxSubscribers = maxSubscribers;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = Duration.ofMinutes(timeoutMinutes).toMillis();
+        this.heartbeatNanos = Duration.ofSeconds(heartbeatSeconds).toNanos();
+
+        AtomicInteger senderIndex = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "item-change-sender-" + senderIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.fanOutThread = new Thread(this::fanOut, "item-change-fanout");
+        this.fanOutThread.setDaemon(true);
+        this.fanOutThread.start();
+    }
+
+    /**
+     * 구독 - 구독자가 max-subscribers 이상이면 null (동시에 들어오면 조금 넘을 수 있다)
+     */
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(() -> {
+            subscriber.close();
+            emitter.complete();
+        });
+        emitter.onError(error -> subscriber.close());
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    @EventListener
+    public void onItemChanged(ItemChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        incoming.add(ItemChangeMessage.from(event, event.getSequence()));
+        LockSupport.unpark(fanOutThread);
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * 버퍼가 넘쳐 reset 으로 대신한 횟수
+     */
+    public long getResetCount() {
+        return resetCount.sum();
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        LockSupport.unpark(fanOutThread);
+        senders.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.close();
+            subscriber.emitter.complete();
+        }
+    }
+
+    private void fanOut() {
+        long nextHeartbeat = System.nanoTime() + heartbeatNanos;
+        while (running) {
+            LockSupport.parkNanos(this, heartbeatNanos);
+            try {
+                Map<Long, ItemChangeMessage> batch = drainIncoming();
+                if (!batch.isEmpty()) {
+                    for (Subscriber subscriber : subscribers) {
+                        subscriber.offer(batch.values());
+                    }
+                }
+                long now = System.nanoTime();
+                if (now - nextHeartbeat >= 0) {
+                    nextHeartbeat = now + heartbeatNanos;
+                    for (Subscriber subscriber : subscribers) {
+                        subscriber.heartbeat();
+                    }
+                }
+            } catch (RuntimeException e) {
+                // 방송 스레드가 죽으면 이후 변경이 전달되지 않으므로 여기서 삼킨다
+                log.error("상품 변경 방송 실패", e);
+            }
+        }
+    }
+
+    private Map<Long, ItemChangeMessage> drainIncoming() {
+        Map<Long, ItemChangeMessage> batch = new LinkedHashMap<>();
+        ItemChangeMessage message;
+        while ((message = incoming.poll()) != null) {
+            batch.merge(message.getId(), message, ItemChangeBroadcaster::newer);
+        }
+        return batch;
+    }
+
+    private static ItemChangeMessage newer(ItemChangeMessage a, ItemChangeMessage b) {
+        return b.getVersion() > a.getVersion() ? b : a;
+    }
+
+    /**
+     * 구독자 하나
+     * pending / overflowed / heartbeatDue 는 this 락으로 보호 (방송 스레드와 전송 스레드 하나만 잡는다)
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Map<Long, ItemChangeMessage> pending = new LinkedHashMap<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private boolean overflowed;
+        private boolean heartbeatDue;
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void offer(Collection<ItemChangeMessage> messages) {
+            synchronized (this) {
+                if (!overflowed) {
+                    for (ItemChangeMessage message : messages) {
+                        pending.merge(message.getId(), message, ItemChangeBroadcaster::newer);
+                    }
+                    if (pending.size() > bufferSize) {
+                        pending.clear();
+                        overflowed = true;
+                        resetCount.increment();
+                    }
+                }
+            }
+            scheduleDrain();
+        }
+
+        private void heartbeat() {
+            synchronized (this) {
+                heartbeatDue = true;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (closed || !draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                senders.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false); // 종료 중
+            }
+        }
+
+        private void drain() {
+            try {
+                while (!closed) {
+                    List<ItemChangeMessage> batch;
+                    boolean reset;
+                    boolean heartbeat;
+                    synchronized (this) {
+                        batch = new ArrayList<>(pending.values());
+                        pending.clear();
+                        reset = overflowed;
+                        overflowed = false;
+                        heartbeat = heartbeatDue;
+                        heartbeatDue = false;
+                    }
+                    if (batch.isEmpty() && !reset && !heartbeat) {
+                        break;
+                    }
+                    send(batch, reset);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // 클라이언트가 끊었거나 이미 완료된 emitter → 구독 해제 (완료 처리는 컨테이너가 한다)
+                close();
+            } finally {
+                draining.set(false);
+            }
+            // 루프를 빠져나온 직후 들어온 변경은 그때의 scheduleDrain 이 CAS 에 실패했으므로 여기서 다시 건다
+            if (hasWork()) {
+                scheduleDrain();
+            }
+        }
+
+        private void send(List<ItemChangeMessage> batch, boolean reset) throws IOException {
+            if (reset) {
+                emitter.send(SseEmitter.event().name("reset").data("overflow"));
+                return; // 화면이 목록을 새로 불러오므로 reset 이후 쌓인 변경은 보낼 필요가 없다
+            }
+            if (batch.isEmpty()) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+                return;
+            }
+            for (ItemChangeMessage message : batch) {
+                emitter.send(SseEmitter.event()
+                        .id(Long.toString(message.getVersion()))
+                        .name("item")
+                        .data(message, MediaType.APPLICATION_JSON));
+            }
+        }
+
+        private synchronized boolean hasWork() {
+            return !pending.isEmpty() || overflowed || heartbeatDue;
+        }
+
+        private void close() {
+            closed = true;
+            subscribers.remove(this);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.springmvc.web.item;
+
+import com.example.springmvc.domain.item.Item;
+import com.example.springmvc.domain.item.ItemChangedEvent;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 상품 변경 SSE 메시지 (JSON) - 실시간 목록(form/liveItems)이 행을 고칠 때 쓰는 값만 담는다
+ * - type: CREATED / UPDATED / QUANTITY / DELETED
+ * - version: 변경 순번(ItemChangeLog) - 같은 상품이면 큰 값이 최신 (화면은 더 작은 값이 늦게 와도 무시한다)
+ * - DELETED 이면 id 외의 값은 null
+ */
+@Data
+@AllArgsConstructor
+public class ItemChangeMessage {
+
+    private String type;
+    private long version;
+    private Long id;
+    private String itemName;
+    private Integer price;
+    private Integer quantity;
+
+    public static ItemChangeMessage from(ItemChangedEvent event, long version) {
+        Item item = event.getCurrent();
+        if (item == null) {
+            return new ItemChangeMessage(event.getType().name(), version, event.getItemId(), null, null, null);
+        }
+        return new ItemChangeMessage(event.getType().name(), version, item.getId(), item.getItemName(),
+                item.getPrice(), item.getQuantity());
+    }
+}
@@ -4,6 +4,7 @@ import com.example.springmvc.domain.item.DeliveryCode;
 import com.example.springmvc.domain.item.Item;
 import com.example.springmvc.domain.item.ItemRepository;
 import com.example.springmvc.domain.item.ItemType;
+import com.example.springmvc.logging.LogSampler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
@@ -28,6 +29,11 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class ItemController {
 
+    /**
+     * 상품 등록마다 찍던 확인용 로그 → 초당 10건까지만 (DEBUG 면 전부)
+     */
+    private static final LogSampler ADD_ITEM_LOG = LogSampler.perSecond(10);
+
     private final ItemRepository itemRepository;
 
     /**
@@ -113,9 +119,11 @@ public class ItemController {
      */
     @PostMapping("/add")
     public String addItem(@ModelAttribute Item item, RedirectAttributes redirectAttributes) {
-        log.info("item.open={}", item.getOpen());       // 단일 체크박스 확인
-        log.info("item.regions={}", item.getRegions()); // 멀티 체크박스 확인
-        log.info("item.itemType={}", item.getItemType()); // 라디오 버튼 확인
+        if (log.isDebugEnabled() || ADD_ITEM_LOG.tryAcquire()) {
+            log.info("item.open={}", item.getOpen());       // 단일 체크박스 확인
+            log.info("item.regions={}", item.getRegions()); // 멀티 체크박스 확인
+            log.info("item.itemType={}", item.getItemType()); // 라디오 버튼 확인
+        }
 
         Item savedItem = itemRepository.save(item);
         redirectAttributes.addAttribute("itemId", savedItem.getId());
@@ -138,10 +146,22 @@ public class ItemController {
     /**
      * [강의 24강] 상품 수정 - POST
      * 수정된 폼 데이터를 받아 업데이트 후 상세 페이지로 리다이렉트
+     * - displayedQuantity: 폼을 열 때 보여 준 수량 (hidden) → 수량은 이 값과의 차이만 반영된다
      */
     @PostMapping("/{itemId}/edit")
-    public String edit(@PathVariable Long itemId, @ModelAttribute Item item) {
-        itemRepository.update(itemId, item);
+    public String edit(@PathVariable Long itemId, @ModelAttribute Item item,
+                       @RequestParam(required = false) Integer displayedQuantity) {
+        itemRepository.update(itemId, item, displayedQuantity);
         return "redirect:/form/items/{itemId}";
     }
+
+    /**
+     * 상품 삭제 - POST
+     * 삭제 후 목록으로 리다이렉트 (PRG), 이미 없는 상품이어도 목록으로 보낸다
+     */
+    @PostMapping("/{itemId}/delete")
+    public String delete(@PathVariable Long itemId) {
+        itemRepository.deleteById(itemId);
+        return "redirect:/form/items";
+    }
 }
@@ -0,0 +1,52 @@
+package com.example.springmvc.web.item;
+
+import com.example.springmvc.domain.item.ItemChangeLog;
+import com.example.springmvc.domain.item.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 실시간 상품 목록
+ * - GET /form/items/live   → 목록을 한 번 그리고 SSE 로 행을 고치는 화면 (form/liveItems)
+ * - GET /form/items/stream → 상품 변경 SSE (event: item / reset), 구독자가 너무 많으면 503
+ *
+ * 상세 / 등록 / 수정은 ItemController 가 그대로 처리한다.
+ *
+ * 화면에는 목록을 읽기 직전의 변경 순번(changeVersion, "epoch:순번")을 함께 넣는다.
+ * → SSE 가 연결될 때마다 /api/items/changes?since= 로 그 사이 놓친 변경을 받아 온다
+ */
+@Controller
+@RequestMapping("/form/items")
+@RequiredArgsConstructor
+public class ItemStreamController {
+
+    private final ItemRepository itemRepository;
+    private final ItemChangeLog itemChangeLog;
+    private final ItemChangeBroadcaster itemChangeBroadcaster;
+
+    @GetMapping("/live")
+    public String liveItems(Model model) {
+        // 순번을 먼저 읽는다 (ItemChangesApiController 와 같은 이유) → 목록이 더 새로워도 놓치는 변경은 없다
+        long sequence = itemChangeLog.getCommittedSequence();
+        model.addAttribute("changeSequence", sequence);
+        model.addAttribute("changeVersion", itemChangeLog.versionOf(sequence));
+        model.addAttribute("items", itemRepository.findAll());
+        return "form/liveItems";
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream() {
+        SseEmitter emitter = itemChangeBroadcaster.subscribe();
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+}
@@ -3,6 +3,7 @@ package com.example.springmvc.web.member;
 import com.example.springmvc.domain.member.Member;
 import com.example.springmvc.domain.member.MemberRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
@@ -20,6 +21,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 public class MemberController {
 
     private final MemberRepository memberRepository;
+    private final PasswordEncoder passwordEncoder;
 
     @GetMapping("/add")
     public String addForm(@ModelAttribute("member") Member member) {
@@ -34,6 +36,8 @@ public class MemberController {
             return "members/addMemberForm";
         }
 
+        // 평문 비밀번호 → BCrypt 해시로 변환 후 저장 (TestDataInit과 동일한 인코더 사용)
+        member.setPassword(passwordEncoder.encode(member.getPassword()));
         memberRepository.save(member);
         return "redirect:/home";
     }
@@ -0,0 +1,30 @@
+package com.example.springmvc.web.session;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * GET /session-info 응답
+ * - 속성 값은 담지 않는다 (이름과 직렬화된 크기만)
+ */
+@Data
+public class SessionInfo {
+
+    private String id;
+    private Instant creationTime;
+    private Instant lastAccessedTime;
+    private int maxInactiveIntervalSeconds; // 세션의 유효 시간 (초)
+    private boolean isNew;
+    private List<Attribute> attributes;
+
+    @Data
+    @AllArgsConstructor
+    public static class Attribute {
+
+        private String name;
+        private Long serializedSize; // 저장소가 직렬화하지 않거나 아직 저장 전이면 null
+    }
+}
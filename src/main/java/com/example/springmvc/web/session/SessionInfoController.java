@@ -1,38 +1,103 @@
 package com.example.springmvc.web.session;
 
+import com.example.springmvc.session.SessionIntrospector;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
-import lombok.extern.slf4j.Slf4j;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.Date;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
- * 세션 정보와 타임아웃 확인
+ * 세션 정보와 타임아웃 확인 (JSON)
+ *
+ * [기존 방식의 문제]
+ * 속성마다 session.getAttribute() 로 값을 꺼내 로그로 찍었다.
+ * → 값을 전부 역직렬화하고, SecurityContext 같은 큰 객체를 매 호출마다 toString() 하며 로그에 남긴다.
+ *
+ * [지금 방식]
+ * - 메타데이터(ID, 생성/접근 시간, 유효 시간)와 속성 "이름"만 읽는다 → getAttribute() 호출 없음
+ * - 속성별 크기는 SessionIntrospector 가 저장소에서 직접 센다 (Redis: HSTRLEN, 값은 전송하지 않음)
+ *   → 마지막으로 저장된 값 기준이므로 이번 요청에서 바뀐 속성은 크기가 다를 수 있다
+ *
+ * [관리자용]
+ * principal 별 세션 수 - 세션을 읽지 않고 principal 인덱스의 크기만 센다.
+ * app.session.introspection.admin-login-ids 에 등록된 loginId 만 호출할 수 있다.
  */
-@Slf4j
 @RestController
+@RequiredArgsConstructor
 public class SessionInfoController {
 
+    private final SessionIntrospector sessionIntrospector;
+
+    @Value("${app.session.introspection.admin-login-ids:}")
+    private Set<String> adminLoginIds;
+
+    @Value("${app.session.introspection.max-principals:1000}")
+    private int maxPrincipals;
+
     @GetMapping("/session-info")
-    public String sessionInfo(HttpServletRequest request) {
+    public ResponseEntity<SessionInfo> sessionInfo(HttpServletRequest request,
+                                                   @RequestParam(defaultValue = "true") boolean sizes) {
 
         HttpSession session = request.getSession(false);
         if (session == null) {
-            return "세션이 없습니다.";
+            return ResponseEntity.noContent().build();
+        }
+
+        List<String> names = Collections.list(session.getAttributeNames());
+        Map<String, Long> serializedSizes = sizes
+                ? sessionIntrospector.serializedAttributeSizes(session.getId(), names)
+                : Map.of();
+
+        List<SessionInfo.Attribute> attributes = new ArrayList<>(names.size());
+        for (String name : names) {
+            attributes.add(new SessionInfo.Attribute(name, serializedSizes.get(name)));
         }
 
-        // 세션 데이터 출력
-        session.getAttributeNames().asIterator()
-                .forEachRemaining(name -> log.info("session name={}, value={}", name, session.getAttribute(name)));
+        SessionInfo info = new SessionInfo();
+        info.setId(session.getId());
+        info.setCreationTime(Instant.ofEpochMilli(session.getCreationTime()));
+        info.setLastAccessedTime(Instant.ofEpochMilli(session.getLastAccessedTime()));
+        info.setMaxInactiveIntervalSeconds(session.getMaxInactiveInterval());
+        info.setNew(session.isNew());
+        info.setAttributes(attributes);
+        return ResponseEntity.ok(info);
+    }
+
+    /**
+     * principal 이름 → 세션 수 (최대 max-principals 명)
+     */
+    @GetMapping("/session-info/principals")
+    public ResponseEntity<Map<String, Long>> principals(Authentication authentication) {
+        if (!isAdmin(authentication)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(sessionIntrospector.sessionCountsByPrincipal(maxPrincipals));
+    }
 
-        log.info("sessionId={}", session.getId());
-        log.info("getMaxInactiveInterval={}", session.getMaxInactiveInterval()); // 세션의 유효 시간 (초)
-        log.info("creationTime={}", new Date(session.getCreationTime()));        // 세션 생성일시
-        log.info("lastAccessedTime={}", new Date(session.getLastAccessedTime())); // 세션과 연결된 사용자가 최근에 서버에 접근한 시간
-        log.info("isNew={}", session.isNew());                                   // 새로 생성된 세션인지 여부
+    @GetMapping("/session-info/principals/{principalName}")
+    public ResponseEntity<Map<String, Long>> principal(@PathVariable String principalName,
+                                                       Authentication authentication) {
+        if (!isAdmin(authentication)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(Map.of(principalName, sessionIntrospector.sessionCount(principalName)));
+    }
 
-        return "세션 출력 완료 - 로그를 확인하세요";
+    private boolean isAdmin(Authentication authentication) {
+        return authentication != null && adminLoginIds.contains(authentication.getName());
     }
 }
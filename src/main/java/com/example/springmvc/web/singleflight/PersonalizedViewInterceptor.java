@@ -0,0 +1,31 @@
+package com.example.springmvc.web.singleflight;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.util.Set;
+
+/**
+ * 개인화 뷰 표시 - 이 뷰로 그린 결과는 SingleFlightRenderFilter 가 다른 요청에 나눠 주지 않는다
+ * (예: loginHome 은 로그인한 회원 이름을 보여준다)
+ *
+ * 경로 설정을 잘못해서 개인화 화면이 대상에 들어가도 다른 사용자에게 새지 않도록 하는 안전장치
+ */
+public class PersonalizedViewInterceptor implements HandlerInterceptor {
+
+    private final Set<String> personalizedViews;
+
+    public PersonalizedViewInterceptor(Set<String> personalizedViews) {
+        this.personalizedViews = personalizedViews;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        if (modelAndView != null && personalizedViews.contains(modelAndView.getViewName())) {
+            request.setAttribute(SingleFlightRenderFilter.NOT_SHAREABLE_ATTR, Boolean.TRUE);
+        }
+    }
+}
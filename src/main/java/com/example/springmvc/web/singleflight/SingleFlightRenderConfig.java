@@ -0,0 +1,65 @@
+package com.example.springmvc.web.singleflight;
+
+import com.example.springmvc.domain.item.ItemChangeLog;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.LocaleResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 같은 GET 화면 동시 요청 합치기 설정 (app.render-coalescing.enabled=true 일 때만)
+ *
+ * [필터 순서]
+ * Spring Security 필터 체인(-100) 뒤 → 인증 / 인가를 통과한 요청만 합쳐진다
+ *
+ * 데이터 버전은 상품 변경 순번(ItemChangeLog) → 대상 화면은 상품 데이터만 보여주는 화면이어야 한다
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.render-coalescing.enabled", havingValue = "true")
+public class SingleFlightRenderConfig implements WebMvcConfigurer {
+
+    private final Set<String> personalizedViews;
+
+    public SingleFlightRenderConfig(
+            @Value("${app.render-coalescing.personalized-views:loginHome}") Set<String> personalizedViews) {
+        this.personalizedViews = personalizedViews;
+    }
+
+    @Bean
+    public FilterRegistrationBean<SingleFlightRenderFilter> singleFlightRenderFilter(
+            LocaleResolver localeResolver,
+            ItemChangeLog itemChangeLog,
+            @Value("${app.render-coalescing.paths:/form/items}") List<String> paths,
+            @Value("${app.render-coalescing.wait-timeout-millis:2000}") long waitTimeoutMillis) {
+        SingleFlightRenderFilter filter = new SingleFlightRenderFilter(paths, localeResolver,
+                itemChangeLog::getCommittedSequence, waitTimeoutMillis);
+        FilterRegistrationBean<SingleFlightRenderFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(0);
+        return registration;
+    }
+
+    @Bean
+    public MeterBinder singleFlightRenderMetrics(FilterRegistrationBean<SingleFlightRenderFilter> singleFlightRenderFilter) {
+        SingleFlightRenderFilter filter = singleFlightRenderFilter.getFilter();
+        return registry -> {
+            FunctionCounter.builder("app.render.coalescing", filter, SingleFlightRenderFilter::getLeaderCount)
+                    .tag("role", "leader").description("직접 렌더링한 요청 수").register(registry);
+            FunctionCounter.builder("app.render.coalescing", filter, SingleFlightRenderFilter::getFollowerCount)
+                    .tag("role", "follower").description("다른 요청의 렌더링 결과를 받은 요청 수").register(registry);
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new PersonalizedViewInterceptor(personalizedViews));
+    }
+}
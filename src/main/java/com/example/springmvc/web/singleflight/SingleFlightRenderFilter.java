@@ -0,0 +1,181 @@
+package com.example.springmvc.web.singleflight;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.LocaleResolver;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 같은 GET 화면 동시 요청 합치기 (single-flight)
+ *
+ * [왜 필요한가]
+ * 인기 상품 상세나 /form/items 목록에 수백 명이 동시에 들어오면 요청마다 저장소를 읽고 같은 템플릿을 그린다.
+ * 같은 화면을 그리는 중인 요청이 있으면 나중 요청은 기다렸다가 그 결과(바이트)를 그대로 받는다.
+ * → 동시에 몇 명이 오든 한 번만 조회 + 렌더링 (끝난 결과를 보관하지는 않는다 - 캐시가 아님)
+ *
+ * [같은 화면 = 키]
+ * 요청 경로 + 쿼리 (→ 컨트롤러와 뷰가 정해진다) + 로케일 + 데이터 버전(상품 변경 순번)
+ * 데이터 버전이 키에 들어가므로, 상품이 바뀐 뒤 들어온 요청은 바뀌기 전에 시작된 렌더링을 받지 않는다.
+ *
+ * [개인화 화면 제외]
+ * - app.render-coalescing.paths 에 적은 경로만 대상 (opt-in), "/" 와 "/home" 은 적어도 제외
+ * - 렌더링 결과가 개인화 뷰(loginHome 등, PersonalizedViewInterceptor)이면 나누지 않는다
+ * - 200 text/html 이 아니거나 Set-Cookie 가 붙은 응답은 나누지 않는다
+ * 나누지 않기로 한 경우 기다리던 요청은 각자 처리한다.
+ *
+ * Spring Security 필터 뒤에서 실행되므로 기다리는 요청도 각자 인가를 통과한 뒤에만 결과를 받는다.
+ */
+@Slf4j
+public class SingleFlightRenderFilter extends OncePerRequestFilter {
+
+    public static final String COALESCED_HEADER_NAME = "X-Render-Coalesced";
+
+    static final String NOT_SHAREABLE_ATTR = SingleFlightRenderFilter.class.getName() + ".notShareable";
+
+    private static final Set<String> EXCLUDED_PATHS = Set.of("/", "/home");
+
+    private final Map<String, CompletableFuture<RenderedPage>> inFlight = new ConcurrentHashMap<>();
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<String> paths;
+    private final LocaleResolver localeResolver;
+    private final LongSupplier dataVersion;
+    private final long waitTimeoutMillis;
+
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder followers = new LongAdder();
+
+    public SingleFlightRenderFilter(List<String> paths, LocaleResolver localeResolver, LongSupplier dataVersion,
+                                    long waitTimeoutMillis) {
+        this.paths = paths;
+        this.localeResolver = localeResolver;
+        this.dataVersion = dataVersion;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (EXCLUDED_PATHS.contains(path)) {
+            return true;
+        }
+        for (String pattern : paths) {
+            if (pathMatcher.match(pattern, path)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = key(request);
+        CompletableFuture<RenderedPage> flight = new CompletableFuture<>();
+        CompletableFuture<RenderedPage> existing = inFlight.putIfAbsent(key, flight);
+
+        if (existing != null) {
+            RenderedPage page = await(existing);
+            if (page != null) {
+                followers.increment();
+                page.writeTo(response);
+                return;
+            }
+            filterChain.doFilter(request, response); // 나눌 수 없는 결과였거나 너무 오래 걸림 → 직접 처리
+            return;
+        }
+
+        leaders.increment();
+        RenderedPage page = null;
+        try {
+            ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+            filterChain.doFilter(request, wrapper);
+            if (isShareable(request, wrapper)) {
+                page = new RenderedPage(wrapper.getContentType(), wrapper.getContentAsByteArray());
+            }
+            wrapper.copyBodyToResponse();
+        } finally {
+            inFlight.remove(key, flight);
+            flight.complete(page);
+        }
+    }
+
+    public long getLeaderCount() {
+        return leaders.sum();
+    }
+
+    public long getFollowerCount() {
+        return followers.sum();
+    }
+
+    private String key(HttpServletRequest request) {
+        Locale locale = localeResolver.resolveLocale(request);
+        String query = request.getQueryString();
+        return request.getRequestURI() + (query != null ? '?' + query : "")
+                + '\n' + locale.toLanguageTag() + '\n' + dataVersion.getAsLong();
+    }
+
+    private RenderedPage await(CompletableFuture<RenderedPage> flight) {
+        try {
+            return flight.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static boolean isShareable(HttpServletRequest request, ContentCachingResponseWrapper response) {
+        if (request.isAsyncStarted() || request.getAttribute(NOT_SHAREABLE_ATTR) != null) {
+            return false;
+        }
+        String contentType = response.getContentType();
+        return response.getStatus() == HttpServletResponse.SC_OK
+                && contentType != null && contentType.startsWith("text/html")
+                && response.getHeader(HttpHeaders.SET_COOKIE) == null;
+    }
+
+    /**
+     * 나눠 줄 렌더링 결과 (불변)
+     */
+    private static final class RenderedPage {
+
+        private final String contentType;
+        private final byte[] body;
+
+        private RenderedPage(String contentType, byte[] body) {
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        private void writeTo(HttpServletResponse response) throws IOException {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(contentType);
+            response.setContentLength(body.length);
+            response.setHeader(COALESCED_HEADER_NAME, "true");
+            response.getOutputStream().write(body);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.springmvc.web.validation;
 
+import com.example.springmvc.logging.LogSampler;
 import com.example.springmvc.web.validation.form.ItemSaveForm;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.validation.BindingResult;
@@ -28,17 +29,24 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/validation/api/items")
 public class ValidationItemApiController {
 
+    private static final LogSampler ERROR_LOG = LogSampler.perSecond(10);
+
     @PostMapping("/add")
     public Object addItem(@Validated @RequestBody ItemSaveForm form, BindingResult bindingResult) {
 
-        log.info("API 컨트롤러 호출");
+        // 요청마다 찍히는 로그 → DEBUG 로 내리고, 검증 오류는 초당 10건까지만 요약해서 남긴다
+        log.debug("API 컨트롤러 호출");
 
         if (bindingResult.hasErrors()) {
-            log.info("검증 오류 발생 errors={}", bindingResult);
+            if (log.isDebugEnabled()) {
+                log.debug("검증 오류 발생 errors={}", bindingResult);
+            } else if (ERROR_LOG.tryAcquire()) {
+                log.info("검증 오류 발생 errorCount={}", bindingResult.getErrorCount());
+            }
             return bindingResult.getAllErrors();
         }
 
-        log.info("성공 로직 실행");
+        log.debug("성공 로직 실행");
         return form;
     }
 }
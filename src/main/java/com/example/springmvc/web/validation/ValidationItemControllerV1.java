@@ -112,7 +112,8 @@ public class ValidationItemControllerV1 {
     }
 
     @PostMapping("/{itemId}/edit")
-    public String edit(@PathVariable Long itemId, @ModelAttribute Item item, Model model) {
+    public String edit(@PathVariable Long itemId, @ModelAttribute Item item, Model model,
+                       @RequestParam(required = false) Integer displayedQuantity) {
 
         // 검증 오류 결과를 담는 Map
         Map<String, String> errors = new HashMap<>();
@@ -139,7 +140,7 @@ public class ValidationItemControllerV1 {
             return "validation/v1/editForm";
         }
 
-        itemRepository.update(itemId, item);
+        itemRepository.update(itemId, item, displayedQuantity);
         return "redirect:/validation/v1/items/{itemId}";
     }
 }
@@ -116,7 +116,8 @@ public class ValidationItemControllerV2 {
 
     @PostMapping("/{itemId}/edit")
     public String edit(@PathVariable Long itemId, @ModelAttribute Item item,
-                       BindingResult bindingResult) {
+                       BindingResult bindingResult,
+                       @RequestParam(required = false) Integer displayedQuantity) {
 
         if (!StringUtils.hasText(item.getItemName())) {
             bindingResult.addError(new FieldError("item", "itemName", "상품 이름은 필수입니다."));
@@ -140,7 +141,7 @@ public class ValidationItemControllerV2 {
             return "validation/v2/editForm";
         }
 
-        itemRepository.update(itemId, item);
+        itemRepository.update(itemId, item, displayedQuantity);
         return "redirect:/validation/v2/items/{itemId}";
     }
 }
@@ -84,7 +84,8 @@ public class ValidationItemControllerV3 {
 
     @PostMapping("/{itemId}/edit")
     public String edit(@PathVariable Long itemId, @Validated @ModelAttribute Item item,
-                       BindingResult bindingResult) {
+                       BindingResult bindingResult,
+                       @RequestParam(required = false) Integer displayedQuantity) {
 
         // 글로벌 오류
         if (item.getPrice() != null && item.getQuantity() != null) {
@@ -99,7 +100,7 @@ public class ValidationItemControllerV3 {
             return "validation/v3/editForm";
         }
 
-        itemRepository.update(itemId, item);
+        itemRepository.update(itemId, item, displayedQuantity);
         return "redirect:/validation/v3/items/{itemId}";
     }
 }
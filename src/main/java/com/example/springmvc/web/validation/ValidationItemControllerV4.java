@@ -2,6 +2,7 @@ package com.example.springmvc.web.validation;
 
 import com.example.springmvc.domain.item.Item;
 import com.example.springmvc.domain.item.ItemRepository;
+import com.example.springmvc.logging.LogSampler;
 import com.example.springmvc.web.validation.form.ItemSaveForm;
 import com.example.springmvc.web.validation.form.ItemUpdateForm;
 import lombok.RequiredArgsConstructor;
@@ -27,6 +28,11 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ValidationItemControllerV4 {
 
+    /**
+     * 검증 실패 로그는 초당 10건까지만, BindingResult 전체는 DEBUG 일 때만 찍는다
+     */
+    private static final LogSampler ERROR_LOG = LogSampler.perSecond(10);
+
     private final ItemRepository itemRepository;
 
     @GetMapping
@@ -68,7 +74,7 @@ public class ValidationItemControllerV4 {
         }
 
         if (bindingResult.hasErrors()) {
-            log.info("errors = {}", bindingResult);
+            logErrors(bindingResult);
             return "validation/v4/addForm";
         }
 
@@ -99,7 +105,8 @@ public class ValidationItemControllerV4 {
     @PostMapping("/{itemId}/edit")
     public String edit(@PathVariable Long itemId,
                        @Validated @ModelAttribute("item") ItemUpdateForm form,
-                       BindingResult bindingResult) {
+                       BindingResult bindingResult,
+                       @RequestParam(required = false) Integer displayedQuantity) {
 
         // 글로벌 오류 (복합 룰)
         if (form.getPrice() != null && form.getQuantity() != null) {
@@ -110,7 +117,7 @@ public class ValidationItemControllerV4 {
         }
 
         if (bindingResult.hasErrors()) {
-            log.info("errors = {}", bindingResult);
+            logErrors(bindingResult);
             return "validation/v4/editForm";
         }
 
@@ -120,7 +127,16 @@ public class ValidationItemControllerV4 {
         itemParam.setPrice(form.getPrice());
         itemParam.setQuantity(form.getQuantity());
 
-        itemRepository.update(itemId, itemParam);
+        itemRepository.update(itemId, itemParam, displayedQuantity);
         return "redirect:/validation/v4/items/{itemId}";
     }
+
+    private static void logErrors(BindingResult bindingResult) {
+        if (log.isDebugEnabled()) {
+            log.debug("errors = {}", bindingResult);
+        } else if (ERROR_LOG.tryAcquire()) {
+            log.info("errors: object={}, fieldErrors={}, globalErrors={}", bindingResult.getObjectName(),
+                    bindingResult.getFieldErrorCount(), bindingResult.getGlobalErrorCount());
+        }
+    }
 }
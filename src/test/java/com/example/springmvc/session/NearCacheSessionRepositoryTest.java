@@ -0,0 +1,217 @@
+package com.example.springmvc.session;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.core.session.SessionInformation;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.MapSession;
+import org.springframework.session.MapSessionRepository;
+import org.springframework.session.Session;
+import org.springframework.session.security.SpringSessionBackedSessionRegistry;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * NearCacheSessionRepository - 두 노드(A, B)가 하나의 가짜 Redis 를 같이 쓰는 상황
+ *
+ * - FakeRedis: 세션을 복사본으로 저장하는 메모리 저장소 (Redis 처럼 노드 간에 객체를 공유하지 않는다)
+ * - FakePubSub: convertAndSend 를 구독 중인 모든 노드의 onMessage 로 바로 전달 (발행한 노드 포함)
+ */
+class NearCacheSessionRepositoryTest {
+
+    private static final String CHANNEL = "test:session:invalidate";
+    private static final Duration TOUCH_INTERVAL = Duration.ofSeconds(60);
+
+    private FakeRedis redis;
+    private NearCacheSessionRepository<MapSession> nodeA;
+    private NearCacheSessionRepository<MapSession> nodeB;
+
+    @BeforeEach
+    void setUp() {
+        redis = new FakeRedis();
+        FakePubSub pubSub = new FakePubSub();
+        nodeA = pubSub.subscribe(newNode(pubSub));
+        nodeB = pubSub.subscribe(newNode(pubSub));
+    }
+
+    @Test
+    void 다른_노드가_속성을_바꾸면_버전이_낮은_L1_항목을_버린다() {
+        String id = createSession(nodeA, Map.of("cart", 1));
+
+        assertThat(nodeB.findById(id).<Integer>getAttribute("cart")).isEqualTo(1);
+        assertThat(nodeB.findById(id).<Integer>getAttribute("cart")).isEqualTo(1);
+        assertThat(redis.finds).isEqualTo(1); // 두 번째 조회는 B 의 L1
+
+        NearCacheSessionRepository.NearCacheSession session = nodeA.findById(id);
+        session.setAttribute("cart", 2);
+        nodeA.save(session);
+        assertThat(redis.get(id).<Long>getAttribute(NearCacheSessionRepository.VERSION_ATTR)).isEqualTo(2L);
+
+        int findsBefore = redis.finds;
+        assertThat(nodeB.findById(id).<Integer>getAttribute("cart")).isEqualTo(2);
+        assertThat(redis.finds).isEqualTo(findsBefore + 1); // 무효화되어 Redis 에서 다시 읽음
+    }
+
+    @Test
+    void 늦게_도착한_낮은_버전의_무효화_메시지는_무시한다() {
+        String id = createSession(nodeA, Map.of("cart", 1));
+        NearCacheSessionRepository.NearCacheSession session = nodeA.findById(id);
+        session.setAttribute("cart", 2);
+        nodeA.save(session); // 버전 2
+
+        nodeB.findById(id);
+        int findsBefore = redis.finds;
+
+        nodeB.onMessage(message(id + ":1"), null);
+
+        assertThat(nodeB.findById(id).<Integer>getAttribute("cart")).isEqualTo(2);
+        assertThat(redis.finds).isEqualTo(findsBefore); // 여전히 L1
+    }
+
+    @Test
+    void 접근시간만_바뀌면_touchInterval_이_지나기_전까지_Redis_에_쓰지_않는다() {
+        String id = createSession(nodeA, Map.of());
+        Instant persisted = redis.get(id).getLastAccessedTime();
+        int savesBefore = redis.saves;
+
+        NearCacheSessionRepository.NearCacheSession session = nodeA.findById(id);
+        session.setLastAccessedTime(persisted.plusSeconds(10));
+        nodeA.save(session);
+        assertThat(redis.saves).isEqualTo(savesBefore);
+        assertThat(redis.get(id).getLastAccessedTime()).isEqualTo(persisted);
+
+        session = nodeA.findById(id);
+        assertThat(session.getLastAccessedTime()).isEqualTo(persisted.plusSeconds(10)); // L1 에는 반영
+        session.setLastAccessedTime(persisted.plus(TOUCH_INTERVAL).plusSeconds(1));
+        nodeA.save(session);
+        assertThat(redis.saves).isEqualTo(savesBefore + 1);
+        assertThat(redis.get(id).getLastAccessedTime()).isEqualTo(persisted.plus(TOUCH_INTERVAL).plusSeconds(1));
+    }
+
+    @Test
+    void 속성이_바뀌면_touchInterval_과_상관없이_바로_쓴다() {
+        String id = createSession(nodeA, Map.of());
+        int savesBefore = redis.saves;
+
+        NearCacheSessionRepository.NearCacheSession session = nodeA.findById(id);
+        session.setAttribute("cart", 1);
+        nodeA.save(session);
+
+        assertThat(redis.saves).isEqualTo(savesBefore + 1);
+        assertThat(redis.get(id).<Integer>getAttribute("cart")).isEqualTo(1);
+    }
+
+    /**
+     * maximumSessions(1): B 노드의 새 로그인이 기존 세션을 만료 처리 (SpringSessionBackedSessionInformation.expireNow)
+     * → A 노드의 ConcurrentSessionFilter 가 다음 요청에서 만료를 봐야 한다
+     */
+    @Test
+    void 다른_노드에서_만료시킨_세션은_이_노드에서도_만료로_보인다() {
+        String id = createSession(nodeA, Map.of(FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME, "test"));
+        SpringSessionBackedSessionRegistry<NearCacheSessionRepository.NearCacheSession> registryA =
+                new SpringSessionBackedSessionRegistry<>(nodeA);
+        SpringSessionBackedSessionRegistry<NearCacheSessionRepository.NearCacheSession> registryB =
+                new SpringSessionBackedSessionRegistry<>(nodeB);
+        assertThat(registryA.getSessionInformation(id).isExpired()).isFalse(); // A 의 L1 에 올라가 있다
+
+        List<SessionInformation> sessions = registryB.getAllSessions("test", false);
+        assertThat(sessions).extracting(SessionInformation::getSessionId).containsExactly(id);
+        sessions.get(0).expireNow();
+
+        assertThat(registryA.getSessionInformation(id).isExpired()).isTrue();
+    }
+
+    private NearCacheSessionRepository<MapSession> newNode(StringRedisTemplate pubSub) {
+        return new NearCacheSessionRepository<>(redis, pubSub, CHANNEL, 100, Duration.ofMinutes(5), TOUCH_INTERVAL);
+    }
+
+    private static String createSession(NearCacheSessionRepository<MapSession> node, Map<String, Object> attributes) {
+        NearCacheSessionRepository.NearCacheSession session = node.createSession();
+        attributes.forEach(session::setAttribute);
+        node.save(session);
+        return session.getId();
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 메모리 세션 저장소 + principal 인덱스 (조회 / 저장 횟수 기록)
+     */
+    private static final class FakeRedis implements FindByIndexNameSessionRepository<MapSession> {
+
+        private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+        private final MapSessionRepository store = new MapSessionRepository(sessions);
+        private int finds;
+        private int saves;
+
+        @Override
+        public MapSession createSession() {
+            return store.createSession();
+        }
+
+        @Override
+        public void save(MapSession session) {
+            saves++;
+            store.save(session);
+        }
+
+        @Override
+        public MapSession findById(String id) {
+            finds++;
+            return store.findById(id);
+        }
+
+        @Override
+        public void deleteById(String id) {
+            store.deleteById(id);
+        }
+
+        @Override
+        public Map<String, MapSession> findByIndexNameAndIndexValue(String indexName, String indexValue) {
+            Map<String, MapSession> found = new HashMap<>();
+            sessions.forEach((id, session) -> {
+                if (indexValue.equals(session.getAttribute(indexName))) {
+                    found.put(id, new MapSession(session));
+                }
+            });
+            return found;
+        }
+
+        private MapSession get(String id) {
+            return new MapSession(sessions.get(id));
+        }
+    }
+
+    /**
+     * Redis Pub/Sub 대신 - 발행하면 구독한 노드 모두에 바로 전달
+     */
+    private static final class FakePubSub extends StringRedisTemplate {
+
+        private final List<NearCacheSessionRepository<?>> subscribers = new CopyOnWriteArrayList<>();
+
+        private NearCacheSessionRepository<MapSession> subscribe(NearCacheSessionRepository<MapSession> node) {
+            subscribers.add(node);
+            return node;
+        }
+
+        @Override
+        public Long convertAndSend(String channel, Object message) {
+            DefaultMessage delivered = message(message.toString());
+            subscribers.forEach(subscriber -> subscriber.onMessage(delivered, null));
+            return (long) subscribers.size();
+        }
+    }
+}
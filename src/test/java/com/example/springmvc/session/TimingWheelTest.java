@@ -0,0 +1,128 @@
+package com.example.springmvc.session;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TimingWheel - 한 tick 씩 진행하면서 각 항목이 몇 tick 에 꺼내지는지 기록한다
+ *
+ * - 0단계: 64 tick 이내, 1단계: 4,096 tick 이내, 2단계: 262,144 tick 이내, 그 밖은 가장 먼 칸에 두었다가 다시 등록
+ * - 시작 tick 은 실제 사용처처럼 64 / 4,096 의 배수가 아닌 값으로 둔다 (cascade 경계가 어긋나는 경우)
+ */
+class TimingWheelTest {
+
+    private static final long START = 1_700_000_037L;
+
+    @Test
+    void 단계마다_정확히_만료_tick_에_꺼낸다() {
+        TimingWheel wheel = new TimingWheel(START);
+        wheel.schedule("level0", START + 10);
+        wheel.schedule("level1", START + 100);
+        wheel.schedule("level1-edge", START + 4_095);
+        wheel.schedule("level2", START + 5_000);
+        wheel.schedule("level2-edge", START + 262_143);
+
+        Map<String, Long> fired = advance(wheel, START + 262_143);
+
+        assertThat(fired).containsExactly(
+                Map.entry("level0", START + 10),
+                Map.entry("level1", START + 100),
+                Map.entry("level1-edge", START + 4_095),
+                Map.entry("level2", START + 5_000),
+                Map.entry("level2-edge", START + 262_143));
+    }
+
+    @Test
+    void cascade_경계_바로_앞뒤의_항목도_제때_꺼낸다() {
+        long start = 4_096L * 100 - 3; // 3 tick 뒤에 1, 2단계 cascade 가 동시에 일어난다
+        TimingWheel wheel = new TimingWheel(start);
+        wheel.schedule("before", start + 2);
+        wheel.schedule("at", start + 3);
+        wheel.schedule("after", start + 4);
+        wheel.schedule("next-level1", start + 3 + 64);
+        wheel.schedule("next-level2", start + 3 + 4_096);
+
+        Map<String, Long> fired = advance(wheel, start + 3 + 4_096);
+
+        assertThat(fired).containsExactly(
+                Map.entry("before", start + 2),
+                Map.entry("at", start + 3),
+                Map.entry("after", start + 4),
+                Map.entry("next-level1", start + 3 + 64),
+                Map.entry("next-level2", start + 3 + 4_096));
+    }
+
+    @Test
+    void 범위를_넘는_항목은_다시_등록되어_만료_tick_에_꺼낸다() {
+        TimingWheel wheel = new TimingWheel(START);
+        wheel.schedule("far", START + 300_000);
+
+        Map<String, Long> fired = advance(wheel, START + 300_000);
+
+        assertThat(fired).containsExactly(Map.entry("far", START + 300_000));
+    }
+
+    @Test
+    void 이미_지난_만료_tick_은_다음_tick_에_꺼낸다() {
+        TimingWheel wheel = new TimingWheel(START);
+        advance(wheel, START + 50);
+
+        wheel.schedule("late", START + 20);
+        Map<String, Long> fired = advance(wheel, START + 60);
+
+        assertThat(fired).containsExactly(Map.entry("late", START + 51));
+    }
+
+    /**
+     * 세션 저장소의 lazy reschedule - 타이머가 울렸을 때 그 사이 접근이 있었으면 실제 만료 시각으로 다시 건다
+     */
+    @Test
+    void 콜백_안에서_다시_건_타이머는_새_만료_tick_에_다시_꺼낸다() {
+        TimingWheel wheel = new TimingWheel(START);
+        wheel.schedule("session", START + 30);
+        List<Long> deadlines = new ArrayList<>(List.of(START + 30 + 70, START + 30 + 70 + 5_000));
+
+        List<Long> firedTicks = new ArrayList<>();
+        for (long tick = START + 1; tick <= START + 6_000; tick++) {
+            long now = tick;
+            wheel.advanceTo(tick, timer -> {
+                firedTicks.add(now);
+                assertThat(timer.getDeadlineTick()).isLessThanOrEqualTo(now);
+                if (!deadlines.isEmpty()) {
+                    wheel.schedule(timer.getKey(), deadlines.remove(0));
+                }
+            });
+        }
+
+        assertThat(firedTicks).containsExactly(START + 30, START + 100, START + 5_100);
+    }
+
+    @Test
+    void 한_번에_여러_tick_을_진행해도_빠짐없이_꺼낸다() {
+        TimingWheel wheel = new TimingWheel(START);
+        for (int i = 1; i <= 10_000; i += 7) {
+            wheel.schedule("t" + i, START + i);
+        }
+
+        List<String> fired = new ArrayList<>();
+        wheel.advanceTo(START + 10_000, timer -> fired.add(timer.getKey()));
+
+        assertThat(fired).hasSize((10_000 + 6) / 7);
+        assertThat(wheel.getCurrentTick()).isEqualTo(START + 10_000);
+    }
+
+    private static Map<String, Long> advance(TimingWheel wheel, long targetTick) {
+        Map<String, Long> fired = new LinkedHashMap<>();
+        for (long tick = wheel.getCurrentTick() + 1; tick <= targetTick; tick++) {
+            long now = tick;
+            wheel.advanceTo(tick, timer -> fired.put(timer.getKey(), now));
+        }
+        return fired;
+    }
+}